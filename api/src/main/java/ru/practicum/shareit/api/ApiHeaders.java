@@ -0,0 +1,14 @@
+package ru.practicum.shareit.api;
+
+/**
+ * Заголовки запросов, общие для шлюза и сервера.
+ */
+public final class ApiHeaders {
+    /**
+     * Идентификатор пользователя, от имени которого выполняется запрос.
+     */
+    public static final String USER_ID = "X-Sharer-User-Id";
+
+    private ApiHeaders() {
+    }
+}
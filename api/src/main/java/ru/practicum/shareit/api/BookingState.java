@@ -0,0 +1,54 @@
+package ru.practicum.shareit.api;
+
+import java.util.Optional;
+
+/**
+ * Значение параметра state запроса списка бронирований. Шлюз проверяет параметр по этому перечислению,
+ * сервер по нему же выбирает запрос к базе, поэтому набор допустимых значений у них не расходится.
+ */
+public enum BookingState {
+    /**
+     * Все.
+     */
+    ALL,
+    /**
+     * Текущие.
+     */
+    CURRENT,
+    /**
+     * Завершенные.
+     */
+    PAST,
+    /**
+     * Будущие.
+     */
+    FUTURE,
+    /**
+     * Ожидающие подтверждения.
+     */
+    WAITING,
+    /**
+     * Отклоненные.
+     */
+    REJECTED;
+
+    private static final BookingState[] VALUES = values();
+
+    /**
+     * Разбор параметра state без учета регистра. CANCELED - прежнее название REJECTED.
+     *
+     * @param stringState Значение параметра из запроса.
+     * @return Значение state или пустой Optional, если параметр не распознан.
+     */
+    public static Optional<BookingState> from(String stringState) {
+        for (BookingState state : VALUES) {
+            if (state.name().equalsIgnoreCase(stringState)) {
+                return Optional.of(state);
+            }
+        }
+        if ("CANCELED".equalsIgnoreCase(stringState)) {
+            return Optional.of(REJECTED);
+        }
+        return Optional.empty();
+    }
+}
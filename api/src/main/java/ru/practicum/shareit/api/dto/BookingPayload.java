@@ -0,0 +1,16 @@
+package ru.practicum.shareit.api.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.FutureOrPresent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Тело запроса бронирования вещи.
+ *
+ * @param itemId Идентификатор вещи.
+ * @param start  Время начала бронирования.
+ * @param end    Время окончания бронирования.
+ */
+public record BookingPayload(long itemId, @FutureOrPresent LocalDateTime start, @Future LocalDateTime end) {
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Тело запроса добавления отзыва о вещи.
+ *
+ * @param text Текст отзыва.
+ */
+public record CommentPayload(@NotBlank String text) {
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Тело запроса создания и обновления вещи.
+ *
+ * @param name        Название вещи.
+ * @param description Описание вещи.
+ * @param available   Доступность вещи для бронирования.
+ * @param requestId   Идентификатор запроса, в ответ на который добавлена вещь.
+ */
+public record ItemPayload(@NotBlank String name, @NotBlank String description, @NotNull Boolean available,
+                          Long requestId) {
+
+    public ItemPayload(String name, String description, Boolean available) {
+        this(name, description, available, null);
+    }
+}
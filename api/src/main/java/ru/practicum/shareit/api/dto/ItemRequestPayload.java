@@ -0,0 +1,11 @@
+package ru.practicum.shareit.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Тело запроса создания запроса вещи.
+ *
+ * @param description Описание нужной вещи.
+ */
+public record ItemRequestPayload(@NotBlank String description) {
+}
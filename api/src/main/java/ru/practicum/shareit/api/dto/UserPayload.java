@@ -0,0 +1,14 @@
+package ru.practicum.shareit.api.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Тело запроса создания и обновления пользователя. Шлюз проверяет его при создании,
+ * сервер читает тот же тип, поэтому набор полей у них не расходится.
+ *
+ * @param name  Имя пользователя.
+ * @param email Электронная почта пользователя.
+ */
+public record UserPayload(@NotBlank String name, @NotBlank @Email String email) {
+}
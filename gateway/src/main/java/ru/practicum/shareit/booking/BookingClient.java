@@ -11,8 +11,8 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
-import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.api.BookingState;
+import ru.practicum.shareit.api.dto.BookingPayload;
 import ru.practicum.shareit.client.BaseClient;
 
 
@@ -22,12 +22,14 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         @Value("${shareit.gateway.cbor-transport:false}") boolean cborTransport) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
                         .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .build(),
+                cborTransport
         );
     }
 
@@ -43,8 +45,12 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createBooking(BookingDto bookingDto, Long userId) {
-        return post("", userId, bookingDto);
+    public ResponseEntity<Object> createBooking(BookingPayload bookingDto, Long userId) {
+        return createBooking(bookingDto, userId, null);
+    }
+
+    public ResponseEntity<Object> createBooking(BookingPayload bookingDto, Long userId, String idempotencyKey) {
+        return postIdempotent("", userId, idempotencyKey, bookingDto);
     }
 
     public ResponseEntity<Object> updateBooking(Long bookingId, Long userId, Boolean approved) {
@@ -60,6 +66,36 @@ public class BookingClient extends BaseClient {
         return get("/owner?state=" + state.name(), bookerId);
     }
 
+    /**
+     * Бронирования пользователя только с полями из параметра fields. Ответ сервера передается без разбора.
+     */
+    public ResponseEntity<Object> getBookingFields(Long userId, BookingState state, String fields) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "fields", fields
+        );
+        return getRaw("?state={state}&fields={fields}", userId, parameters);
+    }
+
+    /**
+     * Бронирования вещей владельца только с полями из параметра fields. Ответ сервера передается без разбора.
+     */
+    public ResponseEntity<Object> getOwnerBookingFields(Long userId, BookingState state, String fields) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "fields", fields
+        );
+        return getRaw("/owner?state={state}&fields={fields}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getBookingStateCounts(Long userId) {
+        return get("/states", userId);
+    }
+
+    public ResponseEntity<Object> getOwnerBookingStateCounts(Long userId) {
+        return get("/owner/states", userId);
+    }
+
     public ResponseEntity<Object> approveOrRejectBooking(Long userId, Long bookingId, Boolean approved) {
         return patch("/" + bookingId + "?approved=" + approved, userId);
     }
@@ -10,8 +10,10 @@ import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.api.ApiHeaders;
+import ru.practicum.shareit.api.BookingState;
+import ru.practicum.shareit.api.dto.BookingPayload;
+import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.exception.InvalidRequestException;
 
 
@@ -24,29 +26,35 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public ResponseEntity<Object> getBookings(@RequestHeader(ApiHeaders.USER_ID) Long userId,
                                               @RequestParam(name = "state", defaultValue = "all") String stateParam,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(name = "fields", required = false) String fields) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
         log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
+        if (fields != null) {
+            return bookingClient.getBookingFields(userId, state, fields);
+        }
         return bookingClient.getBookings(userId, state, from, size);
     }
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                           @RequestBody @Valid BookingDto bookingDto) {
+    public ResponseEntity<Object> bookItem(@RequestHeader(ApiHeaders.USER_ID) Long userId,
+                                           @RequestHeader(value = BaseClient.IDEMPOTENCY_KEY_HEADER, required = false)
+                                           String idempotencyKey,
+                                           @RequestBody @Valid BookingPayload bookingDto) {
         log.info("Creating booking {}, userId={}", bookingDto, userId);
-        if (!bookingDto.getEnd().isAfter(bookingDto.getStart())) {
+        if (!bookingDto.end().isAfter(bookingDto.start())) {
             throw new InvalidRequestException("End date must be after start date");
         }
-        return bookingClient.createBooking(bookingDto, userId);
+        return bookingClient.createBooking(bookingDto, userId, idempotencyKey);
     }
 
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> update(@PathVariable(value = "bookingId") Long bookingId,
-                                         @RequestHeader(value = "X-Sharer-User-Id") Long userId,
+                                         @RequestHeader(value = ApiHeaders.USER_ID) Long userId,
                                          @RequestParam(value = "approved") Boolean approved) {
         log.info("Запрос на обновление статуса бронирования.");
         final ResponseEntity<Object> booking = bookingClient.updateBooking(bookingId, userId, approved);
@@ -56,7 +64,7 @@ public class BookingController {
 
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public ResponseEntity<Object> getBooking(@RequestHeader(ApiHeaders.USER_ID) Long userId,
                                              @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBookingById(userId, bookingId);
@@ -64,10 +72,26 @@ public class BookingController {
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getAllBookingsAllItemsByOwner(
-            @RequestHeader("X-Sharer-User-Id") Long userId,
-            @RequestParam(name = "state", defaultValue = "all") String stateParam) {
+            @RequestHeader(ApiHeaders.USER_ID) Long userId,
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @RequestParam(name = "fields", required = false) String fields) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        if (fields != null) {
+            return bookingClient.getOwnerBookingFields(userId, state, fields);
+        }
         return bookingClient.getAllBookingsByOwner(userId, state);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/states")
+    public ResponseEntity<Object> getBookingStateCounts(@RequestHeader(ApiHeaders.USER_ID) Long userId) {
+        log.info("Get booking counts by state, userId={}", userId);
+        return bookingClient.getBookingStateCounts(userId);
+    }
+
+    @GetMapping("/owner/states")
+    public ResponseEntity<Object> getOwnerBookingStateCounts(@RequestHeader(ApiHeaders.USER_ID) Long userId) {
+        log.info("Get owner booking counts by state, userId={}", userId);
+        return bookingClient.getOwnerBookingStateCounts(userId);
+    }
+}
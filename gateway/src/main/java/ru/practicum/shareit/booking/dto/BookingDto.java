@@ -1,24 +0,0 @@
-package ru.practicum.shareit.booking.dto;
-
-import java.time.LocalDateTime;
-
-import jakarta.validation.constraints.Future;
-import jakarta.validation.constraints.FutureOrPresent;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import org.springframework.validation.annotation.Validated;
-
-@Data
-@Builder
-@Validated
-@NoArgsConstructor
-@AllArgsConstructor
-public class BookingDto {
-	private long itemId;
-	@FutureOrPresent
-	private LocalDateTime start;
-	@Future
-	private LocalDateTime end;
-}
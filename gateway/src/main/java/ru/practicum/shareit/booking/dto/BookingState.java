@@ -1,39 +0,0 @@
-package ru.practicum.shareit.booking.dto;
-
-import java.util.Optional;
-
-public enum BookingState {
-    /**
-     * Все
-     */
-    ALL,
-    /**
-     * Текущие
-     */
-    CURRENT,
-    /**
-     * Будущие
-     */
-    FUTURE,
-    /**
-     * Завершенные
-     */
-    PAST,
-    /**
-     * Отклоненные
-     */
-    REJECTED,
-    /**
-     * Ожидающие подтверждения
-     */
-    WAITING;
-
-    public static Optional<BookingState> from(String stringState) {
-        for (BookingState state : values()) {
-            if (state.name().equalsIgnoreCase(stringState)) {
-                return Optional.of(state);
-            }
-        }
-        return Optional.empty();
-    }
-}
@@ -6,17 +6,34 @@ import java.util.Map;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.api.ApiHeaders;
 
 public class BaseClient {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final List<MediaType> CBOR_ACCEPT = List.of(MediaType.APPLICATION_CBOR,
+            MediaType.parseMediaType("application/json;q=0.9"));
     protected final RestTemplate rest;
+    private final boolean cborTransport;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, false);
+    }
+
+    /**
+     * @param cborTransport Запрашивать у сервера ответы в CBOR. Ответ разбирается в дерево объектов
+     *                      и отдается клиенту шлюза в JSON; эндпоинты, которые сервер отдает только в JSON,
+     *                      отвечают в JSON. Ответы {@link #getRaw} передаются клиенту без изменений
+     *                      и всегда запрашиваются в JSON.
+     */
+    public BaseClient(RestTemplate rest, boolean cborTransport) {
         this.rest = rest;
+        this.cborTransport = cborTransport;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -31,6 +48,36 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    /**
+     * GET-запрос, ответ которого передается клиенту без изменений: тело сервера не разбирается в дерево объектов
+     * и не сериализуется в JSON повторно, шлюз только копирует байты и тип содержимого.
+     */
+    protected ResponseEntity<Object> getRaw(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        HttpEntity<Void> requestEntity = new HttpEntity<>(defaultHeaders(userId));
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, HttpMethod.GET, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, HttpMethod.GET, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return rawResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        return rawResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+
+    private static ResponseEntity<Object> rawResponse(HttpStatusCode status, @Nullable HttpHeaders headers,
+                                                      @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+        MediaType contentType = headers == null ? null : headers.getContentType();
+        if (contentType != null) {
+            responseBuilder.contentType(contentType);
+        }
+        return responseBuilder.body(body);
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -43,6 +90,14 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
+    /**
+     * POST-запрос с заголовком Idempotency-Key: сервер вернет сохраненный ответ на повтор запроса с тем же ключом.
+     */
+    protected <T> ResponseEntity<Object> postIdempotent(String path, Long userId, @Nullable String idempotencyKey,
+                                                        T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, null, body, idempotencyKey);
+    }
+
     protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
@@ -80,7 +135,20 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return makeAndSendRequest(method, path, userId, parameters, body, null);
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                          @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                          @Nullable String idempotencyKey) {
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cborTransport) {
+            headers.setAccept(CBOR_ACCEPT);
+        }
+        if (idempotencyKey != null) {
+            headers.set(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
 
         ResponseEntity<Object> shareitServerResponse;
         try {
@@ -90,6 +158,10 @@ public class BaseClient {
                 shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
             }
         } catch (HttpStatusCodeException e) {
+            HttpHeaders errorHeaders = e.getResponseHeaders();
+            if (errorHeaders != null && MediaType.APPLICATION_CBOR.isCompatibleWith(errorHeaders.getContentType())) {
+                return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAs(Object.class));
+            }
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
         }
         return prepareGatewayResponse(shareitServerResponse);
@@ -100,12 +172,20 @@ public class BaseClient {
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
-            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+            headers.set(ApiHeaders.USER_ID, String.valueOf(userId));
         }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+    private ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+        if (cborTransport) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.remove(HttpHeaders.TRANSFER_ENCODING);
+            return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+        }
         if (response.getStatusCode().is2xxSuccessful()) {
             return response;
         }
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Конвертер CBOR для обмена с сервером. Он попадает в RestTemplate клиентов через общий список конвертеров,
+ * а из конвертеров контроллеров шлюза исключается: внешний API отвечает только в JSON.
+ * Запрашивать ответы сервера в CBOR клиенты начинают по свойству shareit.gateway.cbor-transport.
+ */
+@Configuration
+public class CborTransportConfig implements WebMvcConfigurer {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.export;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.api.ApiHeaders;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Клиент выгрузки: ответ сервера копируется в ответ шлюза по мере получения, без разбора и буферизации.
+ * Распаковка gzip в HTTP-клиенте отключена, поэтому сжатый ответ сервера передается клиенту как есть.
+ */
+@Service
+public class ExportClient {
+    private static final String API_PREFIX = "/export";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final RestTemplate rest;
+
+    @Autowired
+    public ExportClient(@Value("${shareit-server.url}") String url, RestTemplateBuilder builder) {
+        this.rest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(url + API_PREFIX))
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(
+                        HttpClients.custom().disableContentCompression().build()))
+                .errorHandler(new PassThroughErrorHandler())
+                .build();
+    }
+
+    public void exportBookings(Long userId, Long since, @Nullable String acceptEncoding,
+                               HttpServletResponse response) {
+        export("/bookings?since={since}", userId, since, acceptEncoding, response);
+    }
+
+    public void exportItems(Long userId, Long since, @Nullable String acceptEncoding, HttpServletResponse response) {
+        export("/items?since={since}", userId, since, acceptEncoding, response);
+    }
+
+    private void export(String path, Long userId, Long since, @Nullable String acceptEncoding,
+                        HttpServletResponse response) {
+        rest.execute(path, HttpMethod.GET,
+                request -> {
+                    request.getHeaders().set(ApiHeaders.USER_ID, String.valueOf(userId));
+                    if (acceptEncoding != null) {
+                        request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+                    }
+                },
+                serverResponse -> {
+                    copy(serverResponse, response);
+                    return null;
+                },
+                Map.of("since", since));
+    }
+
+    private static void copy(ClientHttpResponse serverResponse, HttpServletResponse response) throws IOException {
+        response.setStatus(serverResponse.getStatusCode().value());
+        HttpHeaders headers = serverResponse.getHeaders();
+        if (headers.getContentType() != null) {
+            response.setContentType(headers.getContentType().toString());
+        }
+        String contentEncoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        }
+        InputStream in = serverResponse.getBody();
+        OutputStream out = response.getOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            out.flush();
+        }
+    }
+
+    /**
+     * Ошибки сервера не превращаются в исключения: статус и тело ошибки передаются клиенту без изменений.
+     */
+    private static class PassThroughErrorHandler implements ResponseErrorHandler {
+        @Override
+        public boolean hasError(ClientHttpResponse response) {
+            return false;
+        }
+
+        @Override
+        public void handleError(ClientHttpResponse response) {
+        }
+    }
+}
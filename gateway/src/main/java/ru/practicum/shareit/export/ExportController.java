@@ -0,0 +1,44 @@
+package ru.practicum.shareit.export;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import ru.practicum.shareit.api.ApiHeaders;
+
+
+@Slf4j
+@RequiredArgsConstructor
+@Controller
+@RequestMapping(path = "/export")
+@Validated
+public class ExportController {
+    private final ExportClient exportClient;
+
+    @GetMapping("/bookings")
+    public void exportBookings(@RequestHeader(ApiHeaders.USER_ID) Long userId,
+                               @PositiveOrZero @RequestParam(name = "since", defaultValue = "0") Long since,
+                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                               String acceptEncoding,
+                               HttpServletResponse response) {
+        log.info("Запрос на выгрузку бронирований пользователя с id = {} с id > {}", userId, since);
+        exportClient.exportBookings(userId, since, acceptEncoding, response);
+    }
+
+    @GetMapping("/items")
+    public void exportItems(@RequestHeader(ApiHeaders.USER_ID) Long userId,
+                            @PositiveOrZero @RequestParam(name = "since", defaultValue = "0") Long since,
+                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                            String acceptEncoding,
+                            HttpServletResponse response) {
+        log.info("Запрос на выгрузку вещей пользователя с id = {} с id > {}", userId, since);
+        exportClient.exportItems(userId, since, acceptEncoding, response);
+    }
+}
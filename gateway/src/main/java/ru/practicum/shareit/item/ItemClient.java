@@ -8,8 +8,8 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
-import ru.practicum.shareit.item.dto.CommentDto;
-import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.api.dto.CommentPayload;
+import ru.practicum.shareit.api.dto.ItemPayload;
 
 import java.util.Map;
 
@@ -18,18 +18,23 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String url, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String url, RestTemplateBuilder builder,
+                      @Value("${shareit.gateway.cbor-transport:false}") boolean cborTransport) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(url + API_PREFIX))
                 .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build());
+                .build(), cborTransport);
     }
 
-    public ResponseEntity<Object> createItem(Long ownerId, ItemDto itemDto) {
-        return post("", ownerId, itemDto);
+    public ResponseEntity<Object> createItem(Long ownerId, ItemPayload itemDto) {
+        return createItem(ownerId, null, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(Long itemId, Long userId, ItemDto newItemDto) {
+    public ResponseEntity<Object> createItem(Long ownerId, String idempotencyKey, ItemPayload itemDto) {
+        return postIdempotent("", ownerId, idempotencyKey, itemDto);
+    }
+
+    public ResponseEntity<Object> updateItem(Long itemId, Long userId, ItemPayload newItemDto) {
         return patch("/%d".formatted(itemId), userId, newItemDto);
     }
 
@@ -38,15 +43,26 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getItemById(Long itemId, Long userId) {
-        return get("/%d".formatted(itemId), userId);
+        return getRaw("/%d".formatted(itemId), userId, null);
     }
 
     public ResponseEntity<Object> getBySearch(Long userId, String text) {
         Map<String, Object> param = Map.of("text", text);
-        return get("/search?text={text}", userId, param);
+        return getRaw("/search?text={text}", userId, param);
     }
 
-    public ResponseEntity<Object> createComment(CommentDto createDto, Long itemId, Long userId) {
+    public ResponseEntity<Object> createComment(CommentPayload createDto, Long itemId, Long userId) {
         return post("/%d/comment".formatted(itemId), userId, createDto);
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<Object> getComments(Long itemId, Long userId, String cursor, Integer size) {
+        if (cursor == null) {
+            return getRaw("/%d/comments?size={size}".formatted(itemId), userId, Map.of("size", size));
+        }
+        Map<String, Object> parameters = Map.of(
+                "cursor", cursor,
+                "size", size
+        );
+        return getRaw("/%d/comments?cursor={cursor}&size={size}".formatted(itemId), userId, parameters);
+    }
+}
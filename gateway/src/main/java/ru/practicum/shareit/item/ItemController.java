@@ -1,35 +1,43 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-import ru.practicum.shareit.item.dto.CommentDto;
-import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.api.ApiHeaders;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.api.dto.CommentPayload;
+import ru.practicum.shareit.api.dto.ItemPayload;
 
 
 @Slf4j
 @RequiredArgsConstructor
 @Controller
 @RequestMapping(path = "/items")
+@Validated
 public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@Valid @RequestBody ItemDto itemDto,
-                                             @RequestHeader(value = "X-Sharer-User-Id") Long ownerId) {
+    public ResponseEntity<Object> createItem(@Valid @RequestBody ItemPayload itemDto,
+                                             @RequestHeader(value = ApiHeaders.USER_ID) Long ownerId,
+                                             @RequestHeader(value = BaseClient.IDEMPOTENCY_KEY_HEADER, required = false)
+                                             String idempotencyKey) {
         log.info("Запрос на создание вещи.");
-        final ResponseEntity<Object> item = itemClient.createItem(ownerId, itemDto);
+        final ResponseEntity<Object> item = itemClient.createItem(ownerId, idempotencyKey, itemDto);
         log.info("Вещь создана.");
         return item;
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@Valid @RequestBody ItemDto newItemDto,
+    public ResponseEntity<Object> update(@Valid @RequestBody ItemPayload newItemDto,
                                          @PathVariable(value = "itemId") Long itemId,
-                                         @RequestHeader(value = "X-Sharer-User-Id") Long ownerId) {
+                                         @RequestHeader(value = ApiHeaders.USER_ID) Long ownerId) {
         log.info("Запрос на обновление вещи с id {}", itemId);
         final ResponseEntity<Object> item = itemClient.updateItem(itemId, ownerId, newItemDto);
         log.info("Обновлена вещь с id {}", itemId);
@@ -37,7 +45,7 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItems(@RequestHeader(value = "X-Sharer-User-Id") Long ownerId) {
+    public ResponseEntity<Object> getAllItems(@RequestHeader(value = ApiHeaders.USER_ID) Long ownerId) {
         log.info("Запрос на получение всех вещей пользователя.");
         final ResponseEntity<Object> item = itemClient.getAllItemsByUserId(ownerId);
         log.info("Получены все вещи пользователя.");
@@ -46,7 +54,7 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ResponseEntity<Object> getItemById(@PathVariable(value = "itemId") Long itemId,
-                                              @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+                                              @RequestHeader(value = ApiHeaders.USER_ID) Long userId) {
         log.info("Запрос на получение вещи с id = {}", itemId);
         final ResponseEntity<Object> item = itemClient.getItemById(itemId, userId);
         log.info("Получена вещь с id = {}", itemId);
@@ -55,17 +63,27 @@ public class ItemController {
 
     @GetMapping("/search")
     public ResponseEntity<Object> getBySearch(@RequestParam(value = "text") String text,
-                                              @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+                                              @RequestHeader(value = ApiHeaders.USER_ID) Long userId) {
         log.info("Запрос на получение вещи, содержащей в названии или описании текст: {}", text);
         final ResponseEntity<Object> item = itemClient.getBySearch(userId, text);
         log.info("Завершен поиск вещи, содержащей текст: {}", text);
         return item;
     }
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@PathVariable(name = "itemId") Long itemId,
+                                              @RequestParam(name = "cursor", required = false) String cursor,
+                                              @Positive @Max(100) @RequestParam(name = "size", defaultValue = "20")
+                                              Integer size,
+                                              @RequestHeader(value = ApiHeaders.USER_ID) Long userId) {
+        log.info("Запрос на получение отзывов о вещи с id = {}", itemId);
+        return itemClient.getComments(itemId, userId, cursor, size);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@Valid @RequestBody CommentDto commentDto,
+    public ResponseEntity<Object> createComment(@Valid @RequestBody CommentPayload commentDto,
                                                 @PathVariable(name = "itemId") Long itemId,
-                                                @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+                                                @RequestHeader(value = ApiHeaders.USER_ID) Long userId) {
         log.info("Запрос на добавления отзыва для вещи с id = {}", itemId);
         final ResponseEntity<Object> comment = itemClient.createComment(commentDto, itemId, userId);
         log.info("Добавлен отзыв на вещь с id = {}", itemId);
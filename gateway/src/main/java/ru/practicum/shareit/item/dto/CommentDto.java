@@ -1,16 +0,0 @@
-package ru.practicum.shareit.item.dto;
-
-import jakarta.validation.constraints.NotBlank;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-
-@Setter
-@Getter
-@NoArgsConstructor
-@AllArgsConstructor
-public class CommentDto {
-    @NotBlank
-    private String text;
-}
\ No newline at end of file
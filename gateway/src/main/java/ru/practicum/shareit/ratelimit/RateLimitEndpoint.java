@@ -0,0 +1,30 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Эндпоинт actuator /actuator/ratelimit с пользователями, чаще всего превышающими лимит запросов.
+ * Число отклонений по пользователям не выводится тегом метрики, чтобы не плодить временные ряды
+ * на каждого пользователя; в метриках остается общий счетчик shareit.rate-limit.rejected.
+ */
+@Component
+@Endpoint(id = "ratelimit")
+public class RateLimitEndpoint {
+    private static final int TOP_SIZE = 20;
+    private final RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    public RateLimitEndpoint(RateLimitFilter rateLimitFilter) {
+        this.rateLimitFilter = rateLimitFilter;
+    }
+
+    @ReadOperation
+    public Map<Long, Long> topRejected() {
+        return rateLimitFilter.getStore().topRejected(TOP_SIZE);
+    }
+}
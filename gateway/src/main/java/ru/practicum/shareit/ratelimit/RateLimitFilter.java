@@ -0,0 +1,96 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.api.ApiHeaders;
+import ru.practicum.shareit.exception.ErrorResponse;
+
+import java.io.IOException;
+
+/**
+ * Ограничение частоты запросов каждого пользователя по заголовку X-Sharer-User-Id.
+ * Запросы сверх лимита отклоняются со статусом 429 до обращения к серверу,
+ * поэтому один пользователь не может занять всю пропускную способность.
+ * Тело ответа пишется вручную, поэтому ErrorResponse отдельно регистрируется для сериализации в native-образе.
+ */
+@Slf4j
+@Component
+@RegisterReflectionForBinding(ErrorResponse.class)
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String USER_ID_REQUEST_HEADER = ApiHeaders.USER_ID;
+    private final boolean enabled;
+    private final TokenBucketStore store;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+
+    @Autowired
+    public RateLimitFilter(@Value("${shareit.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${shareit.rate-limit.capacity:100}") int capacity,
+                           @Value("${shareit.rate-limit.refill-per-second:50}") int refillPerSecond,
+                           @Value("${shareit.rate-limit.max-users:65536}") int maxUsers,
+                           ObjectMapper objectMapper, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = enabled;
+        this.store = new TokenBucketStore(capacity, refillPerSecond, maxUsers,
+                () -> System.nanoTime() / 1_000_000);
+        this.objectMapper = objectMapper;
+        this.rejected = meterRegistry.getIfAvailable(SimpleMeterRegistry::new)
+                .counter("shareit.rate-limit.rejected");
+    }
+
+    public TokenBucketStore getStore() {
+        return store;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long userId = parseUserId(request.getHeader(USER_ID_REQUEST_HEADER));
+        if (userId == null || store.tryAcquire(userId)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        log.debug("Превышен лимит запросов пользователя с id = " + userId);
+        rejected.increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("Слишком много запросов.",
+                "Превышен лимит запросов пользователя с id = " + userId));
+    }
+
+    /**
+     * Некорректный заголовок не ограничивается здесь: запрос отклонит проверка в контроллере.
+     */
+    private static Long parseUserId(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Хранилище корзин токенов по идентификатору пользователя без блокировок.
+ * Таблица фиксированного размера разбита на группы по WAYS ячеек; пользователь попадает в группу по хешу.
+ * Состояние корзины - одно число long: время последнего пополнения в миллисекундах и запас в тысячных долях
+ * токена, поэтому списание токена - одна операция compareAndSet.
+ * Когда группа заполнена, новый пользователь вытесняет корзину, дольше всех не пополнявшуюся.
+ * Идентификатор пользователя задает клиент, поэтому новая корзина не выдается полной: в ней столько
+ * токенов, сколько накопилось бы с последнего вытеснения в группе. Вытесненный пользователь при возврате
+ * получает не больше, чем если бы его корзина осталась в таблице, а перебор идентификаторов одной группы
+ * дает не больше скорости пополнения. В группе без вытеснений новая корзина полна.
+ * Память не зависит от числа пользователей: 26 байт на ячейку, около 1,7 МБ на 65536 ячеек.
+ * При одновременном вытеснении и списании по той же ячейке возможна погрешность в один запрос.
+ * Если два потока одновременно заняли для нового пользователя разные ячейки группы, остается ячейка
+ * с меньшим номером, а вторая освобождается.
+ * Время в состоянии корзины отсчитывается от создания хранилища и поэтому неотрицательно при любых часах.
+ */
+public class TokenBucketStore {
+    private static final int WAYS = 4;
+    private static final long MILLI = 1000;
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    private final AtomicLongArray keys;
+    private final AtomicLongArray states;
+    private final AtomicLongArray rejections;
+    /**
+     * Время последнего вытеснения в группе плюс один, 0 - вытеснений не было.
+     */
+    private final AtomicLongArray evictions;
+    private final int setMask;
+    private final long capacity;
+    private final long refillPerSecond;
+    private final LongSupplier clockMillis;
+    private final long origin;
+
+    /**
+     * @param capacity        Размер корзины - допустимый всплеск запросов.
+     * @param refillPerSecond Скорость пополнения, токенов в секунду.
+     * @param maxUsers        Число ячеек таблицы; округляется вверх до степени двойки.
+     * @param clockMillis     Монотонные часы в миллисекундах.
+     */
+    public TokenBucketStore(int capacity, int refillPerSecond, int maxUsers, LongSupplier clockMillis) {
+        if (capacity <= 0 || capacity * MILLI > TOKEN_MASK) {
+            throw new IllegalArgumentException("Размер корзины должен быть от 1 до " + TOKEN_MASK / MILLI);
+        }
+        if (refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Скорость пополнения корзины должна быть положительной.");
+        }
+        int slots = Integer.highestOneBit(Math.max(WAYS, maxUsers) - 1) << 1;
+        this.keys = new AtomicLongArray(slots);
+        this.states = new AtomicLongArray(slots);
+        this.rejections = new AtomicLongArray(slots);
+        this.evictions = new AtomicLongArray(slots / WAYS);
+        this.setMask = slots / WAYS - 1;
+        this.capacity = capacity * MILLI;
+        this.refillPerSecond = refillPerSecond;
+        this.clockMillis = clockMillis;
+        this.origin = clockMillis.getAsLong();
+    }
+
+    /**
+     * Списание одного токена из корзины пользователя.
+     *
+     * @param userId Идентификатор пользователя.
+     * @return true, если запрос укладывается в лимит.
+     */
+    public boolean tryAcquire(long userId) {
+        long key = userId + 1;
+        long now = clockMillis.getAsLong() - origin;
+        int slot = slotFor(key, now);
+        while (true) {
+            long state = states.get(slot);
+            if (keys.get(slot) != key) {
+                slot = slotFor(key, now);
+                continue;
+            }
+            long last = state >>> TOKEN_BITS;
+            // Тысячные доли токена за миллисекунду численно равны токенам в секунду.
+            long tokens = Math.min(capacity, (state & TOKEN_MASK) + Math.max(0, now - last) * refillPerSecond);
+            if (tokens < MILLI) {
+                rejections.incrementAndGet(slot);
+                return false;
+            }
+            if (states.compareAndSet(slot, state, now << TOKEN_BITS | (tokens - MILLI))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Пользователи с наибольшим числом отклоненных запросов.
+     *
+     * @param limit Количество пользователей.
+     * @return Идентификаторы пользователей и число отклоненных запросов по убыванию.
+     */
+    public Map<Long, Long> topRejected(int limit) {
+        List<long[]> entries = new ArrayList<>();
+        for (int slot = 0; slot < keys.length(); slot++) {
+            long key = keys.get(slot);
+            long rejected = rejections.get(slot);
+            if (key != 0 && rejected > 0) {
+                entries.add(new long[]{key - 1, rejected});
+            }
+        }
+        entries.sort(Comparator.comparingLong((long[] entry) -> entry[1]).reversed());
+        Map<Long, Long> top = new LinkedHashMap<>();
+        entries.stream().limit(limit).forEach(entry -> top.put(entry[0], entry[1]));
+        return top;
+    }
+
+    private int slotFor(long key, long now) {
+        int set = Long.hashCode(key * 0x9E3779B97F4A7C15L) & setMask;
+        int base = set * WAYS;
+        while (true) {
+            for (int way = 0; way < WAYS; way++) {
+                if (keys.get(base + way) == key) {
+                    return base + way;
+                }
+            }
+            int slot = -1;
+            long evicted = evictions.get(set);
+            for (int way = 0; way < WAYS && slot < 0; way++) {
+                if (keys.get(base + way) == 0 && keys.compareAndSet(base + way, 0, key)) {
+                    slot = base + way;
+                }
+            }
+            if (slot < 0) {
+                int victim = base;
+                for (int way = 1; way < WAYS; way++) {
+                    if (states.get(base + way) >>> TOKEN_BITS < states.get(victim) >>> TOKEN_BITS) {
+                        victim = base + way;
+                    }
+                }
+                long victimKey = keys.get(victim);
+                if (victimKey == key || !keys.compareAndSet(victim, victimKey, key)) {
+                    continue;
+                }
+                slot = victim;
+                evictions.accumulateAndGet(set, now + 1, Math::max);
+            }
+            return deduplicate(base, claim(slot, now, evicted), key);
+        }
+    }
+
+    /**
+     * Проверка, не занял ли параллельный поток для того же пользователя другую ячейку группы.
+     * Из двух ячеек остается ячейка с меньшим номером, поэтому оба потока приходят к одной корзине.
+     */
+    private int deduplicate(int base, int slot, long key) {
+        for (int other = base; other < slot; other++) {
+            if (keys.get(other) == key) {
+                keys.compareAndSet(slot, key, 0);
+                return other;
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Занятие ячейки новой корзиной с запасом, накопленным с последнего вытеснения в группе.
+     *
+     * @param evicted Время последнего вытеснения в группе до занятия ячейки плюс один, 0 - вытеснений не было.
+     */
+    private int claim(int slot, long now, long evicted) {
+        // Параллельный поток мог записать вытеснение с более поздним временем.
+        long tokens = evicted == 0 ? capacity : Math.min(capacity, Math.max(0, now - evicted + 1) * refillPerSecond);
+        states.set(slot, now << TOKEN_BITS | tokens);
+        rejections.set(slot, 0);
+        return slot;
+    }
+}
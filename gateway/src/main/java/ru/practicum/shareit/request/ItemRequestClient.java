@@ -7,21 +7,25 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.api.dto.ItemRequestPayload;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.Map;
+
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String url, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String url, RestTemplateBuilder builder,
+                             @Value("${shareit.gateway.cbor-transport:false}") boolean cborTransport) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(url + API_PREFIX))
                 .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build());
+                .build(), cborTransport);
     }
 
-    public ResponseEntity<Object> createItemRequest(Long userId, ItemRequestDto itemRequestDto) {
+    public ResponseEntity<Object> createItemRequest(Long userId, ItemRequestPayload itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
@@ -33,6 +37,17 @@ public class ItemRequestClient extends BaseClient {
         return get("/all", userId);
     }
 
+    public ResponseEntity<Object> getFeed(Long userId, String cursor, Integer size) {
+        if (cursor == null) {
+            return get("/feed?size={size}", userId, Map.of("size", size));
+        }
+        Map<String, Object> parameters = Map.of(
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/feed?cursor={cursor}&size={size}", userId, parameters);
+    }
+
     public ResponseEntity<Object> getItemRequestById(Long requestId, Long userId) {
         return get("/" + requestId, userId);
     }
@@ -1,22 +1,28 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.api.ApiHeaders;
+import ru.practicum.shareit.api.dto.ItemRequestPayload;
 
 @Slf4j
 @RequiredArgsConstructor
 @Controller
+@Validated
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
-                                                    @RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+    public ResponseEntity<Object> createItemRequest(@Valid @RequestBody ItemRequestPayload itemRequestDto,
+                                                    @RequestHeader(value = ApiHeaders.USER_ID) Long userId) {
         log.info("Попытка создания запроса вещи пользователем с id = {}", userId);
         final ResponseEntity<Object> itemRequest = itemRequestClient.createItemRequest(userId, itemRequestDto);
         log.info("Создан запрос вещи пользователем с id = {}", userId);
@@ -24,7 +30,7 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemRequestsByUserId(@RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+    public ResponseEntity<Object> getItemRequestsByUserId(@RequestHeader(value = ApiHeaders.USER_ID) Long userId) {
         log.info("Попытка получение запросов вещей пользователя с id = {}", userId);
         final ResponseEntity<Object> itemRequests = itemRequestClient.getAllItemRequestsByUserId(userId);
         log.info("Получен список запросов вещей пользователя с id = {}", userId);
@@ -32,15 +38,24 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getItemRequestsByOtherUsers(@RequestHeader(value = "X-Sharer-User-Id") Long userId) {
+    public ResponseEntity<Object> getItemRequestsByOtherUsers(@RequestHeader(value = ApiHeaders.USER_ID) Long userId) {
         log.info("Попытка получения списка запросов, созданных другими пользователями.");
         final ResponseEntity<Object> itemRequests = itemRequestClient.getItemRequestsByOtherUsers(userId);
         log.info("Получен список запросов вещей всех пользователей, кроме пользователя с id = {}", userId);
         return itemRequests;
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<Object> getFeed(@RequestHeader(value = ApiHeaders.USER_ID) Long userId,
+                                          @RequestParam(name = "cursor", required = false) String cursor,
+                                          @Positive @Max(100) @RequestParam(name = "size", defaultValue = "20")
+                                          Integer size) {
+        log.info("Попытка получения ленты запросов пользователем с id = {}", userId);
+        return itemRequestClient.getFeed(userId, cursor, size);
+    }
+
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequestById(@RequestHeader(value = "X-Sharer-User-Id") Long userId,
+    public ResponseEntity<Object> getItemRequestById(@RequestHeader(value = ApiHeaders.USER_ID) Long userId,
                                                      @PathVariable(name = "requestId") Long requestId) {
         log.info("Попытка получения запроса с id = {}", requestId);
         final ResponseEntity<Object> itemRequest = itemRequestClient.getItemRequestById(requestId, userId);
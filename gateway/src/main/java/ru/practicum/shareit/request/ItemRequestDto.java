@@ -1,15 +0,0 @@
-package ru.practicum.shareit.request;
-
-import jakarta.validation.constraints.NotBlank;
-import lombok.*;
-import org.springframework.validation.annotation.Validated;
-
-@Data
-@Builder
-@Validated
-@NoArgsConstructor
-@AllArgsConstructor
-public class ItemRequestDto {
-    @NotBlank
-    private String description;
-}
\ No newline at end of file
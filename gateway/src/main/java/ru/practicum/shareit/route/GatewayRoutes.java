@@ -0,0 +1,168 @@
+package ru.practicum.shareit.route;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import ru.practicum.shareit.api.ApiHeaders;
+import ru.practicum.shareit.api.BookingState;
+import ru.practicum.shareit.exception.ErrorResponse;
+import ru.practicum.shareit.exception.InvalidRequestException;
+
+/**
+ * Облегченный вариант маршрутизации запросов на чтение на функциональных эндпоинтах.
+ * Включается свойством shareit.gateway.functional-routes=true и обслуживает перечисленные ниже GET-запросы
+ * вместо контроллеров; изменяющие запросы по-прежнему проходят через контроллеры.
+ * Адреса сервера разбираются один раз при старте, ответ сервера передается без разбора JSON,
+ * а проверки сведены к описанным в API: известное значение state, from >= 0 и size > 0.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.gateway.functional-routes", havingValue = "true")
+public class GatewayRoutes {
+    private static final String USER_ID_REQUEST_HEADER = ApiHeaders.USER_ID;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ServerRelay relay;
+    private final UriComponents bookings;
+    private final UriComponents bookingById;
+    private final UriComponents ownerBookings;
+    private final UriComponents bookingFields;
+    private final UriComponents ownerBookingFields;
+    private final UriComponents bookingStates;
+    private final UriComponents ownerBookingStates;
+    private final UriComponents itemById;
+    private final UriComponents itemSearch;
+    private final UriComponents itemComments;
+    private final UriComponents itemCommentsAfter;
+    private final UriComponents ownRequests;
+    private final UriComponents otherRequests;
+    private final UriComponents requestFeed;
+    private final UriComponents requestFeedAfter;
+    private final UriComponents requestById;
+
+    public GatewayRoutes(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+        this.relay = new ServerRelay(builder);
+        this.bookings = compile(serverUrl, "/bookings?state={state}&from={from}&size={size}");
+        this.bookingById = compile(serverUrl, "/bookings/{bookingId}");
+        this.ownerBookings = compile(serverUrl, "/bookings/owner?state={state}");
+        this.bookingFields = compile(serverUrl, "/bookings?state={state}&fields={fields}");
+        this.ownerBookingFields = compile(serverUrl, "/bookings/owner?state={state}&fields={fields}");
+        this.bookingStates = compile(serverUrl, "/bookings/states");
+        this.ownerBookingStates = compile(serverUrl, "/bookings/owner/states");
+        this.itemById = compile(serverUrl, "/items/{itemId}");
+        this.itemSearch = compile(serverUrl, "/items/search?text={text}");
+        this.itemComments = compile(serverUrl, "/items/{itemId}/comments?size={size}");
+        this.itemCommentsAfter = compile(serverUrl, "/items/{itemId}/comments?cursor={cursor}&size={size}");
+        this.ownRequests = compile(serverUrl, "/requests");
+        this.otherRequests = compile(serverUrl, "/requests/all");
+        this.requestFeed = compile(serverUrl, "/requests/feed?size={size}");
+        this.requestFeedAfter = compile(serverUrl, "/requests/feed?cursor={cursor}&size={size}");
+        this.requestById = compile(serverUrl, "/requests/{requestId}");
+    }
+
+    @Bean
+    public ServerRelay serverRelay() {
+        return relay;
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> readRoutes() {
+        return RouterFunctions.route()
+                .GET("/bookings", request -> {
+                    long userId = userId(request);
+                    String state = state(request);
+                    int from = intParam(request, "from", 0, 0, Integer.MAX_VALUE);
+                    int size = intParam(request, "size", 10, 1, Integer.MAX_VALUE);
+                    return request.param("fields")
+                            .map(fields -> relay.get(bookingFields, userId, state, fields))
+                            .orElseGet(() -> relay.get(bookings, userId, state, from, size));
+                })
+                .GET("/bookings/owner", request -> {
+                    long userId = userId(request);
+                    String state = state(request);
+                    return request.param("fields")
+                            .map(fields -> relay.get(ownerBookingFields, userId, state, fields))
+                            .orElseGet(() -> relay.get(ownerBookings, userId, state));
+                })
+                .GET("/bookings/states", request -> relay.get(bookingStates, userId(request)))
+                .GET("/bookings/owner/states", request -> relay.get(ownerBookingStates, userId(request)))
+                .GET("/bookings/{bookingId}", request -> relay.get(bookingById, userId(request),
+                        id(request, "bookingId")))
+                .GET("/items/search", request -> relay.get(itemSearch, userId(request),
+                        request.param("text").orElseThrow(() -> new InvalidRequestException("Missing text"))))
+                .GET("/items/{itemId}/comments", request -> {
+                    long userId = userId(request);
+                    long itemId = id(request, "itemId");
+                    int size = intParam(request, "size", 20, 1, MAX_PAGE_SIZE);
+                    return request.param("cursor")
+                            .map(cursor -> relay.get(itemCommentsAfter, userId, itemId, cursor, size))
+                            .orElseGet(() -> relay.get(itemComments, userId, itemId, size));
+                })
+                .GET("/items/{itemId}", request -> relay.get(itemById, userId(request), id(request, "itemId")))
+                .GET("/requests", request -> relay.get(ownRequests, userId(request)))
+                .GET("/requests/all", request -> relay.get(otherRequests, userId(request)))
+                .GET("/requests/feed", request -> {
+                    long userId = userId(request);
+                    int size = intParam(request, "size", 20, 1, MAX_PAGE_SIZE);
+                    return request.param("cursor")
+                            .map(cursor -> relay.get(requestFeedAfter, userId, cursor, size))
+                            .orElseGet(() -> relay.get(requestFeed, userId, size));
+                })
+                .GET("/requests/{requestId}", request -> relay.get(requestById, userId(request),
+                        id(request, "requestId")))
+                .onError(InvalidRequestException.class, (e, request) -> ServerResponse.status(HttpStatus.BAD_REQUEST)
+                        .body(new ErrorResponse("Некорректный тип запроса", e.getMessage())))
+                .build();
+    }
+
+    private static UriComponents compile(String serverUrl, String path) {
+        return UriComponentsBuilder.fromUriString(serverUrl + path).encode().build();
+    }
+
+    private static long userId(ServerRequest request) {
+        String header = request.headers().firstHeader(USER_ID_REQUEST_HEADER);
+        if (header == null) {
+            throw new InvalidRequestException("Required header '" + USER_ID_REQUEST_HEADER + "' is not present.");
+        }
+        return parseLong(header, USER_ID_REQUEST_HEADER);
+    }
+
+    private static long id(ServerRequest request, String name) {
+        return parseLong(request.pathVariable(name), name);
+    }
+
+    private static String state(ServerRequest request) {
+        String stateParam = request.param("state").orElse("all");
+        return BookingState.from(stateParam)
+                .orElseThrow(() -> new InvalidRequestException("Unknown state: " + stateParam))
+                .name();
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue, int min, int max) {
+        String value = request.param(name).orElse(null);
+        if (value == null) {
+            return defaultValue;
+        }
+        long parsed = parseLong(value, name);
+        if (parsed < min || parsed > max) {
+            throw new InvalidRequestException(name + ": must be between " + min + " and " + max);
+        }
+        return (int) parsed;
+    }
+
+    private static long parseLong(String value, String name) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException(name + ": must be a number");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.route;
+
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.function.ServerResponse;
+import org.springframework.web.util.UriComponents;
+import ru.practicum.shareit.api.ApiHeaders;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Передача запроса на чтение серверу ShareIt без разбора ответа.
+ * Тело ответа сервера возвращается клиенту как есть вместе со статусом и Content-Type,
+ * поэтому JSON не разбирается в объекты и не сериализуется повторно.
+ */
+public class ServerRelay {
+    private static final String USER_ID_REQUEST_HEADER = ApiHeaders.USER_ID;
+
+    /**
+     * Общие для всех запросов заголовки; неизменяемы и копируются в каждый запрос.
+     */
+    private static final HttpHeaders DEFAULT_HEADERS;
+
+    static {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        DEFAULT_HEADERS = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    /**
+     * Ответы с ошибкой передаются клиенту так же, как успешные.
+     */
+    private static final ResponseErrorHandler RELAY_ERRORS = new ResponseErrorHandler() {
+        @Override
+        public boolean hasError(ClientHttpResponse response) {
+            return false;
+        }
+
+        @Override
+        public void handleError(ClientHttpResponse response) {
+        }
+    };
+
+    private final RestTemplate rest;
+
+    public ServerRelay(RestTemplateBuilder builder) {
+        this.rest = builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                .errorHandler(RELAY_ERRORS)
+                .build();
+    }
+
+    RestTemplate getRestTemplate() {
+        return rest;
+    }
+
+    /**
+     * GET-запрос к серверу.
+     *
+     * @param template     Заранее разобранный шаблон адреса, см. {@link GatewayRoutes}.
+     * @param userId       Идентификатор пользователя для заголовка X-Sharer-User-Id.
+     * @param uriVariables Значения переменных шаблона по порядку.
+     * @return Ответ сервера без изменений.
+     */
+    public ServerResponse get(UriComponents template, long userId, Object... uriVariables) {
+        String userIdHeader = Long.toString(userId);
+        return rest.execute(template.expand(uriVariables).toUri(), HttpMethod.GET,
+                request -> {
+                    request.getHeaders().addAll(DEFAULT_HEADERS);
+                    request.getHeaders().set(USER_ID_REQUEST_HEADER, userIdHeader);
+                },
+                ServerRelay::toServerResponse);
+    }
+
+    private static ServerResponse toServerResponse(ClientHttpResponse response) throws IOException {
+        byte[] body = StreamUtils.copyToByteArray(response.getBody());
+        ServerResponse.BodyBuilder builder = ServerResponse.status(response.getStatusCode());
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType != null) {
+            builder.contentType(contentType);
+        }
+        return body.length == 0 ? builder.build() : builder.body(body);
+    }
+}
@@ -7,7 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.api.dto.UserPayload;
 
 @Controller
 @RequestMapping(path = "/users")
@@ -18,7 +18,7 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@Valid @RequestBody UserDto userDto) {
+    public ResponseEntity<Object> create(@Valid @RequestBody UserPayload userDto) {
         log.info("Запрос на создание пользователя.");
         final ResponseEntity<Object> user = userClient.create(userDto);
         log.info("Новый пользователь создан.");
@@ -40,7 +40,7 @@ public class UserController {
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@RequestBody UserDto userDto,
+    public ResponseEntity<Object> update(@RequestBody UserPayload userDto,
                                          @PathVariable(value = "userId") Long userId) {
         log.info("Запрос на обновление пользователя с id = {}", userId);
         final ResponseEntity<Object> user = userClient.update(userId, userDto);
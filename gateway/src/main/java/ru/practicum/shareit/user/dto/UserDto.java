@@ -1,26 +0,0 @@
-package ru.practicum.shareit.user.dto;
-
-import jakarta.validation.constraints.Email;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import org.springframework.validation.annotation.Validated;
-
-@Data
-@Builder
-@Validated
-@NoArgsConstructor
-@AllArgsConstructor
-public class UserDto {
-    private Long id;
-    @NotNull
-    @NotBlank
-    private String name;
-    @Email
-    @NotNull
-    @NotBlank
-    private String email;
-}
\ No newline at end of file
@@ -11,10 +11,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.client.MockRestServiceServer;
-import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.api.BookingState;
+import ru.practicum.shareit.api.dto.BookingPayload;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
@@ -36,17 +38,14 @@ class BookingClientTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    private BookingDto bookingDto;
+    private BookingPayload bookingDto;
     private String bookingBody;
 
     @BeforeEach
     @SneakyThrows
     void setUp() {
-        bookingDto = BookingDto.builder()
-                .itemId(1L)
-                .start(LocalDateTime.now().plusHours(1))
-                .end(LocalDateTime.now().plusHours(2))
-                .build();
+        bookingDto = new BookingPayload(1L, LocalDateTime.now().plusHours(1),
+                LocalDateTime.now().plusHours(2));
         bookingBody = objectMapper.writeValueAsString(bookingDto);
     }
 
@@ -86,6 +85,24 @@ class BookingClientTest {
         assertEquals(responseBody, bookingBody);
     }
 
+    @Test
+    @SneakyThrows
+    void createBooking_withIdempotencyKey_forwardsHeader() {
+        Long userId = 1L;
+
+        mockServer.expect(requestTo(serverUrl))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("Idempotency-Key", "booking-1"))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .body(bookingBody)
+                        .contentType(MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> responseEntity = bookingClient.createBooking(bookingDto, userId, "booking-1");
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        mockServer.verify();
+    }
+
     @Test
     @SneakyThrows
     void updateBooking() {
@@ -133,12 +150,31 @@ class BookingClientTest {
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
     }
 
+    @Test
+    @SneakyThrows
+    void getOwnerBookingFields_forwardsFieldsAndRelaysBody() {
+        Long userId = 1L;
+        String page = "[{\"id\":1,\"status\":\"WAITING\"}]";
+
+        mockServer.expect(requestTo(serverUrl + "/owner?state=FUTURE&fields=id%2Cstatus"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .body(page)
+                        .contentType(MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> responseEntity = bookingClient.getOwnerBookingFields(userId, BookingState.FUTURE,
+                "id,status");
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(page, new String((byte[]) responseEntity.getBody(), StandardCharsets.UTF_8));
+    }
+
     @Test
     @SneakyThrows
     void createBooking_whenInvalid_thenReturnError() {
         Long userId = 1L;
 
-        bookingDto.setEnd(LocalDateTime.now().minusHours(1));
+        bookingDto = new BookingPayload(bookingDto.itemId(), bookingDto.start(), LocalDateTime.now().minusHours(1));
 
         mockServer.expect(requestTo(serverUrl))
                 .andExpect(method(HttpMethod.POST))
@@ -180,4 +216,22 @@ class BookingClientTest {
 
         assertEquals("Unknown state: " + unknownState, exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getBookingStateCounts() {
+        Long userId = 1L;
+
+        mockServer.expect(requestTo(serverUrl + "/states"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .body("{\"ALL\":1,\"CURRENT\":0,\"PAST\":0,\"FUTURE\":1,\"WAITING\":1,\"REJECTED\":0}")
+                        .contentType(MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> responseEntity = bookingClient.getBookingStateCounts(userId);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(1, ((Map<?, ?>) responseEntity.getBody()).get("FUTURE"));
+    }
+}
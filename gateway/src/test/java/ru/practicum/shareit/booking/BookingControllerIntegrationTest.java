@@ -11,7 +11,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
-import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.api.dto.BookingPayload;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 
 import java.time.LocalDateTime;
@@ -20,6 +20,7 @@ import java.time.temporal.ChronoUnit;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -46,11 +47,11 @@ class BookingControllerIntegrationTest {
     @SneakyThrows
     @Test
     void bookItem_whenValidRequest_thenReturnStatusIsOk() {
-        BookingDto bookingDto = new BookingDto(1L, LocalDateTime.now().plusDays(1),
+        BookingPayload bookingDto = new BookingPayload(1L, LocalDateTime.now().plusDays(1),
                 LocalDateTime.now().plusDays(2)
         );
 
-        when(bookingClient.createBooking(any(BookingDto.class), any(Long.class)))
+        when(bookingClient.createBooking(any(BookingPayload.class), any(Long.class), isNull()))
                 .thenReturn(ResponseEntity.ok().build());
 
         mockMvc.perform(post("/bookings")
@@ -67,9 +68,9 @@ class BookingControllerIntegrationTest {
         LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
         LocalDateTime end = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS);
 
-        BookingDto requestDto = new BookingDto(1L, start, end);
+        BookingPayload requestDto = new BookingPayload(1L, start, end);
 
-        when(bookingClient.createBooking(any(BookingDto.class), any(Long.class)))
+        when(bookingClient.createBooking(any(BookingPayload.class), any(Long.class), isNull()))
                 .thenReturn(ResponseEntity.status(HttpStatus.CREATED).body(requestDto));
 
         mockMvc.perform(post("/bookings")
@@ -91,7 +92,7 @@ class BookingControllerIntegrationTest {
         LocalDateTime start = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS);
         LocalDateTime end = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
 
-        BookingDto requestDto = new BookingDto(1L, start, end);
+        BookingPayload requestDto = new BookingPayload(1L, start, end);
 
         mockMvc.perform(post("/bookings")
                         .header("X-Sharer-User-Id", 1L)
@@ -105,7 +106,7 @@ class BookingControllerIntegrationTest {
     @SneakyThrows
     @Test
     void bookItem_whenEndIsBeforeStart_thenReturnStatusIsBadRequest() {
-        BookingDto requestDto = new BookingDto(1L,
+        BookingPayload requestDto = new BookingPayload(1L,
                 LocalDateTime.now().plusDays(1),
                 LocalDateTime.now().plusDays(0)
         );
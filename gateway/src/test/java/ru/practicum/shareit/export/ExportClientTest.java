@@ -0,0 +1,74 @@
+package ru.practicum.shareit.export;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.api.ApiHeaders;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+/**
+ * Класс для тестирования методов ExportClient.
+ */
+@RestClientTest(ExportClient.class)
+class ExportClientTest {
+    private final String serverUrl = "http://localhost:9090/export";
+
+    @Autowired
+    private ExportClient exportClient;
+
+    @Autowired
+    private MockRestServiceServer mockServer;
+
+    @SneakyThrows
+    @Test
+    void exportBookings_CopiesBodyAndHeaders() {
+        String body = "{\"id\":6}\n{\"id\":7}\n";
+        mockServer.expect(requestTo(serverUrl + "/bookings?since=5"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(header(ApiHeaders.USER_ID, "1"))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                        .body(body));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        exportClient.exportBookings(1L, 5L, "gzip", response);
+
+        mockServer.verify();
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals("application/x-ndjson", response.getContentType());
+        assertEquals(body, response.getContentAsString());
+    }
+
+    @SneakyThrows
+    @Test
+    void exportItems_ServerError_PassedThrough() {
+        String body = "{\"error\":\"Ошибка валидации.\"}";
+        mockServer.expect(requestTo(serverUrl + "/items?since=0"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        exportClient.exportItems(1L, 0L, null, response);
+
+        mockServer.verify();
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatus());
+        assertEquals(body, response.getContentAsString(StandardCharsets.UTF_8));
+    }
+}
@@ -11,8 +11,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.client.MockRestServiceServer;
-import ru.practicum.shareit.item.dto.CommentDto;
-import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.api.dto.CommentPayload;
+import ru.practicum.shareit.api.dto.ItemPayload;
+
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
@@ -34,9 +36,9 @@ class ItemClientTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    private final ItemDto newItemDto = new ItemDto("name", "description", true);
-    private final ItemDto updateItemDto = new ItemDto("name2", "description2", true);
-    private final CommentDto newCommentDto = new CommentDto("text");
+    private final ItemPayload newItemDto = new ItemPayload("name", "description", true);
+    private final ItemPayload updateItemDto = new ItemPayload("name2", "description2", true);
+    private final CommentPayload newCommentDto = new CommentPayload("text");
 
     private String body;
     private String updateBody;
@@ -120,9 +122,10 @@ class ItemClientTest {
                         .contentType(MediaType.APPLICATION_JSON));
 
         ResponseEntity<Object> responseEntity = itemClient.getItemById(itemId, userId);
-        String responseBody = objectMapper.writeValueAsString(responseEntity.getBody());
+        String responseBody = new String((byte[]) responseEntity.getBody(), StandardCharsets.UTF_8);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, responseEntity.getHeaders().getContentType());
         assertEquals(body, responseBody);
     }
 
@@ -140,7 +143,7 @@ class ItemClientTest {
                         .contentType(MediaType.APPLICATION_JSON));
 
         ResponseEntity<Object> responseEntity = itemClient.getBySearch(userId, search);
-        String responseBody = objectMapper.writeValueAsString(responseEntity.getBody());
+        String responseBody = new String((byte[]) responseEntity.getBody(), StandardCharsets.UTF_8);
 
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertEquals("[" + body + "]", responseBody);
@@ -166,6 +169,26 @@ class ItemClientTest {
         assertEquals(body, responseBody);
     }
 
+    @Test
+    @SneakyThrows
+    void getComments() {
+        Long userId = 1L;
+        Long itemId = 1L;
+        String page = "{\"comments\":[],\"nextCursor\":null}";
+
+        mockServer.expect(requestTo(serverUrl + "/%d/comments?cursor=abc&size=5".formatted(itemId)))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", userId.toString()))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .body(page)
+                        .contentType(MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> responseEntity = itemClient.getComments(itemId, userId, "abc", 5);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(page, new String((byte[]) responseEntity.getBody(), StandardCharsets.UTF_8));
+    }
+
     @Test
     @SneakyThrows
     void create_whenBadRequest_thenReturnError() {
@@ -206,7 +229,7 @@ class ItemClientTest {
     void createComment_whenCommentInvalid_thenReturnError() {
         Long userId = 1L;
         Long itemId = 1L;
-        CommentDto invalidCommentDto = new CommentDto(""); // Некорректный комментарий
+        CommentPayload invalidCommentDto = new CommentPayload(""); // Некорректный комментарий
 
         mockServer.expect(requestTo(serverUrl + "/%d/comment".formatted(itemId)))
                 .andExpect(method(HttpMethod.POST))
@@ -255,6 +278,9 @@ class ItemClientTest {
 
         assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
         assertNotNull(responseEntity.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, responseEntity.getHeaders().getContentType());
+        assertEquals("{\"error\":\"Пользователь не найден\", \"message\":\"Нет элемента с таким ID\"}",
+                new String((byte[]) responseEntity.getBody(), StandardCharsets.UTF_8));
     }
 
     @Test
@@ -10,13 +10,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
-import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.api.dto.ItemPayload;
+import ru.practicum.shareit.api.dto.CommentPayload;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -36,9 +38,9 @@ class ItemControllerIntegrationTest {
     @SneakyThrows
     @Test
     void createItem_whenValidRequest_thenReturnStatusIsCreated() {
-        ItemDto itemDto = new ItemDto("Item Name", "Item Description", true);
+        ItemPayload itemDto = new ItemPayload("Item Name", "Item Description", true);
 
-        when(itemClient.createItem(any(Long.class), any(ItemDto.class)))
+        when(itemClient.createItem(any(Long.class), isNull(), any(ItemPayload.class)))
                 .thenReturn(ResponseEntity.status(HttpStatus.CREATED).body(itemDto));
 
         mockMvc.perform(post("/items")
@@ -53,7 +55,7 @@ class ItemControllerIntegrationTest {
     @SneakyThrows
     @Test
     void createItem_whenInvalidRequest_thenReturnStatusIsBadRequest() {
-        ItemDto itemDto = new ItemDto("", "Item Description", true);
+        ItemPayload itemDto = new ItemPayload("", "Item Description", true);
 
         mockMvc.perform(post("/items")
                         .header("X-Sharer-User-Id", 1L)
@@ -65,9 +67,9 @@ class ItemControllerIntegrationTest {
     @SneakyThrows
     @Test
     void updateItem_whenValidRequest_thenReturnStatusIsOk() {
-        ItemDto newItemDto = new ItemDto("Updated Item Name", "Updated Item Description", true);
+        ItemPayload newItemDto = new ItemPayload("Updated Item Name", "Updated Item Description", true);
 
-        when(itemClient.updateItem(eq(1L), eq(1L), any(ItemDto.class)))
+        when(itemClient.updateItem(eq(1L), eq(1L), any(ItemPayload.class)))
                 .thenReturn(ResponseEntity.ok(newItemDto));
 
         mockMvc.perform(patch("/items/{itemId}", 1L)
@@ -84,7 +86,7 @@ class ItemControllerIntegrationTest {
     @Test
     void getAllItems_whenValidRequest_thenReturnStatusIsOk() {
         when(itemClient.getAllItemsByUserId(1L))
-                .thenReturn(ResponseEntity.ok(List.of(new ItemDto("Item Name", "Item Description",
+                .thenReturn(ResponseEntity.ok(List.of(new ItemPayload("Item Name", "Item Description",
                         true))));
 
         mockMvc.perform(get("/items")
@@ -98,7 +100,7 @@ class ItemControllerIntegrationTest {
     @SneakyThrows
     @Test
     void getItemById_whenValidRequest_thenReturnStatusIsOk() {
-        ItemDto itemDto = new ItemDto("Item Name", "Item Description", true);
+        ItemPayload itemDto = new ItemPayload("Item Name", "Item Description", true);
 
         when(itemClient.getItemById(eq(1L), any(Long.class)))
                 .thenReturn(ResponseEntity.ok(itemDto));
@@ -110,11 +112,26 @@ class ItemControllerIntegrationTest {
                 .andExpect(jsonPath("$.name").value("Item Name"));
     }
 
+    @SneakyThrows
+    @Test
+    void getItemById_whenServerBodyRelayed_thenBytesReturnedUnchanged() {
+        byte[] serverBody = "{\"id\":1,\"name\":\"Item Name\",\"comments\":[]}".getBytes(StandardCharsets.UTF_8);
+
+        when(itemClient.getItemById(eq(1L), any(Long.class)))
+                .thenReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(serverBody));
+
+        mockMvc.perform(get("/items/{itemId}", 1L)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(serverBody));
+    }
+
     @SneakyThrows
     @Test
     void searchItems_whenValidRequest_thenReturnStatusIsOk() {
         when(itemClient.getBySearch(1L, "search text"))
-                .thenReturn(ResponseEntity.ok(List.of(new ItemDto("Item Name", "Item Description",
+                .thenReturn(ResponseEntity.ok(List.of(new ItemPayload("Item Name", "Item Description",
                         true))));
 
         mockMvc.perform(get("/items/search?text=search text")
@@ -127,9 +144,9 @@ class ItemControllerIntegrationTest {
     @SneakyThrows
     @Test
     void createComment_whenValidRequest_thenReturnStatusIsCreated() {
-        CommentDto commentDto = new CommentDto("Super item!");
+        CommentPayload commentDto = new CommentPayload("Super item!");
 
-        when(itemClient.createComment(any(CommentDto.class), eq(1L), eq(1L)))
+        when(itemClient.createComment(any(CommentPayload.class), eq(1L), eq(1L)))
                 .thenReturn(ResponseEntity.status(HttpStatus.CREATED).body(commentDto));
 
         mockMvc.perform(post("/items/{itemId}/comment", 1L)
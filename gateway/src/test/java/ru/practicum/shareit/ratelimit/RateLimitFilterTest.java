@@ -0,0 +1,48 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = ItemController.class,
+        properties = {"shareit.rate-limit.capacity=2", "shareit.rate-limit.refill-per-second=1"})
+class RateLimitFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    ItemClient itemClient;
+
+    @SneakyThrows
+    @Test
+    void searchItems_whenLimitExceeded_thenReturnTooManyRequestsOnlyForThatUser() {
+        when(itemClient.getBySearch(anyLong(), anyString()))
+                .thenReturn(ResponseEntity.ok(List.<Object>of()));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/items/search").header("X-Sharer-User-Id", 1L).param("text", "дрель"))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/items/search").header("X-Sharer-User-Id", 1L).param("text", "дрель"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("Слишком много запросов."));
+        mockMvc.perform(get("/items/search").header("X-Sharer-User-Id", 2L).param("text", "дрель"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,171 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Класс для тестирования хранилища корзин токенов.
+ */
+class TokenBucketStoreTest {
+
+    @Test
+    void tryAcquire_whenBucketIsEmpty_thenRejectsUntilRefill() {
+        AtomicLong clock = new AtomicLong(1_000);
+        TokenBucketStore store = new TokenBucketStore(3, 1, 16, clock::get);
+
+        assertTrue(store.tryAcquire(1L));
+        assertTrue(store.tryAcquire(1L));
+        assertTrue(store.tryAcquire(1L));
+        assertFalse(store.tryAcquire(1L));
+        assertTrue(store.tryAcquire(2L));
+
+        clock.addAndGet(1_000);
+        assertTrue(store.tryAcquire(1L));
+        assertFalse(store.tryAcquire(1L));
+        assertThat(store.topRejected(10)).containsExactly(Map.entry(1L, 2L));
+    }
+
+    @Test
+    void tryAcquire_whenMoreUsersThanSlots_thenEvictsIdleBucket() {
+        AtomicLong clock = new AtomicLong(1_000);
+        TokenBucketStore store = new TokenBucketStore(1, 1, 4, clock::get);
+
+        for (long userId = 1; userId <= 4; userId++) {
+            assertTrue(store.tryAcquire(userId));
+            clock.incrementAndGet();
+        }
+        assertFalse(store.tryAcquire(4L));
+
+        assertTrue(store.tryAcquire(5L));
+        assertFalse(store.tryAcquire(4L));
+    }
+
+    /**
+     * Пользователь, израсходовавший корзину и вытесненный чужими идентификаторами той же группы,
+     * при возврате не получает новую полную корзину.
+     */
+    @Test
+    void tryAcquire_whenDrainedBucketIsEvicted_thenNoExtraTokens() {
+        AtomicLong clock = new AtomicLong(1_000);
+        TokenBucketStore store = new TokenBucketStore(3, 1, 4, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(store.tryAcquire(1L));
+        }
+        assertFalse(store.tryAcquire(1L));
+        for (long userId = 2; userId <= 5; userId++) {
+            clock.incrementAndGet();
+            assertTrue(store.tryAcquire(userId));
+        }
+
+        clock.incrementAndGet();
+        assertFalse(store.tryAcquire(1L));
+        clock.incrementAndGet();
+        assertFalse(store.tryAcquire(6L));
+
+        clock.addAndGet(1_000);
+        assertTrue(store.tryAcquire(1L));
+        assertFalse(store.tryAcquire(1L));
+    }
+
+    @Test
+    void tryAcquire_whenClockIsNegative_thenBucketRefills() {
+        AtomicLong clock = new AtomicLong(-10_000);
+        TokenBucketStore store = new TokenBucketStore(1, 1, 16, clock::get);
+
+        assertTrue(store.tryAcquire(1L));
+        assertFalse(store.tryAcquire(1L));
+
+        clock.addAndGet(1_000);
+        assertTrue(store.tryAcquire(1L));
+    }
+
+    /**
+     * Потоки, одновременно обратившиеся от имени нового пользователя, получают одну корзину
+     * и вместе списывают из нее не больше ее размера.
+     */
+    @Test
+    void tryAcquire_whenNewUserArrivesConcurrently_thenSingleBucket() throws Exception {
+        TokenBucketStore store = new TokenBucketStore(1, 1, 1024, () -> 0);
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (long userId = 1; userId <= 200; userId++) {
+                long user = userId;
+                CyclicBarrier barrier = new CyclicBarrier(threads);
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    results.add(executor.submit(() -> {
+                        barrier.await();
+                        return store.tryAcquire(user);
+                    }));
+                }
+                int acquired = 0;
+                for (Future<Boolean> result : results) {
+                    acquired += result.get() ? 1 : 0;
+                }
+                assertThat(acquired).as("пользователь %d", user).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Нагрузочный тест: восемь потоков злоупотребляющего пользователя не отнимают лимит
+     * у пользователя, который укладывается в свою скорость запросов.
+     */
+    @Test
+    void tryAcquire_whenAbusiveUserFloods_thenWellBehavedUserIsNotLimited() throws InterruptedException {
+        TokenBucketStore store = new TokenBucketStore(10, 100, 1024, () -> System.nanoTime() / 1_000_000);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong abusiveAllowed = new AtomicLong();
+        CountDownLatch started = new CountDownLatch(8);
+        List<Thread> flooders = new ArrayList<>();
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < 8; i++) {
+            Thread flooder = new Thread(() -> {
+                started.countDown();
+                while (running.get()) {
+                    if (store.tryAcquire(666L)) {
+                        abusiveAllowed.incrementAndGet();
+                    }
+                }
+            });
+            flooders.add(flooder);
+            flooder.start();
+        }
+        started.await();
+
+        int politeRejected = 0;
+        for (int i = 0; i < 20; i++) {
+            if (!store.tryAcquire(7L)) {
+                politeRejected++;
+            }
+            Thread.sleep(20);
+        }
+        running.set(false);
+        for (Thread flooder : flooders) {
+            flooder.join();
+        }
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertThat(politeRejected).isZero();
+        assertThat(abusiveAllowed.get()).isLessThanOrEqualTo(10 + (elapsedMillis + 10) * 100 / 1000);
+        assertThat(store.topRejected(1)).containsOnlyKeys(666L);
+    }
+}
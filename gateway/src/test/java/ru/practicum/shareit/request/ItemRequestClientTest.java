@@ -11,6 +11,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.api.dto.ItemRequestPayload;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -34,12 +35,12 @@ class ItemRequestClientTest {
     private ObjectMapper objectMapper;
 
     private String body;
-    private ItemRequestDto newItemRequestDto;
+    private ItemRequestPayload newItemRequestDto;
 
     @BeforeEach
     @SneakyThrows
     void setUp() {
-        newItemRequestDto = new ItemRequestDto("description");
+        newItemRequestDto = new ItemRequestPayload("description");
         body = objectMapper.writeValueAsString(newItemRequestDto);
     }
 
@@ -191,4 +192,23 @@ class ItemRequestClientTest {
         assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
         assertNotNull(responseEntity.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getFeed() {
+        Long userId = 1L;
+        String page = "{\"requests\":[],\"nextCursor\":null}";
+
+        mockServer.expect(requestTo(serverUrl + "/feed?cursor=abc&size=5"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", userId.toString()))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .body(page)
+                        .contentType(MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> responseEntity = itemRequestClient.getFeed(userId, "abc", 5);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(page, objectMapper.writeValueAsString(responseEntity.getBody()));
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import ru.practicum.shareit.api.dto.ItemRequestPayload;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -39,9 +40,9 @@ class ItemRequestControllerIntegrationTest {
     @SneakyThrows
     @Test
     void createItemRequest_whenValidRequest_thenReturnStatusIsCreated() {
-        ItemRequestDto itemRequestDto = new ItemRequestDto("Request Description");
+        ItemRequestPayload itemRequestDto = new ItemRequestPayload("Request Description");
 
-        when(itemRequestClient.createItemRequest(any(Long.class), any(ItemRequestDto.class)))
+        when(itemRequestClient.createItemRequest(any(Long.class), any(ItemRequestPayload.class)))
                 .thenReturn(ResponseEntity.status(HttpStatus.CREATED).body(itemRequestDto));
 
         mockMvc.perform(post("/requests")
@@ -56,7 +57,7 @@ class ItemRequestControllerIntegrationTest {
     @SneakyThrows
     @Test
     void getItemRequestsByUserId_whenValidRequest_thenReturnStatusIsOk() {
-        List<ItemRequestDto> itemRequestDtos = List.of(new ItemRequestDto("Request Description"));
+        List<ItemRequestPayload> itemRequestDtos = List.of(new ItemRequestPayload("Request Description"));
 
         when(itemRequestClient.getAllItemRequestsByUserId(1L))
                 .thenReturn(ResponseEntity.ok(itemRequestDtos));
@@ -71,7 +72,7 @@ class ItemRequestControllerIntegrationTest {
     @SneakyThrows
     @Test
     void getItemRequestsByOtherUsers_whenValidRequest_thenReturnStatusIsOk() {
-        List<ItemRequestDto> itemRequestDtos = List.of(new ItemRequestDto("Other User Request"));
+        List<ItemRequestPayload> itemRequestDtos = List.of(new ItemRequestPayload("Other User Request"));
 
         when(itemRequestClient.getItemRequestsByOtherUsers(1L))
                 .thenReturn(ResponseEntity.ok(itemRequestDtos));
@@ -86,7 +87,7 @@ class ItemRequestControllerIntegrationTest {
     @SneakyThrows
     @Test
     void getItemRequestById_whenValidRequest_thenReturnStatusIsOk() {
-        ItemRequestDto itemRequestDto = new ItemRequestDto("Request Description");
+        ItemRequestPayload itemRequestDto = new ItemRequestPayload("Request Description");
 
         when(itemRequestClient.getItemRequestById(eq(1L), any(Long.class)))
                 .thenReturn(ResponseEntity.ok(itemRequestDto));
@@ -0,0 +1,133 @@
+package ru.practicum.shareit.route;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Класс для тестирования функциональных маршрутов шлюза.
+ */
+@SpringBootTest(properties = "shareit.gateway.functional-routes=true")
+@AutoConfigureMockMvc
+class GatewayRoutesTest {
+    private final String serverUrl = "http://localhost:9090";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ServerRelay serverRelay;
+
+    private MockRestServiceServer mockServer;
+
+    @BeforeEach
+    void setUp() {
+        mockServer = MockRestServiceServer.bindTo(serverRelay.getRestTemplate()).build();
+    }
+
+    @SneakyThrows
+    @Test
+    void getBookings_whenValidRequest_thenRelaysServerResponse() {
+        String body = "[{\"id\":1,\"status\":\"WAITING\"}]";
+        mockServer.expect(requestTo(serverUrl + "/bookings?state=WAITING&from=0&size=10"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", 1L).param("state", "waiting"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(body));
+        mockServer.verify();
+    }
+
+    @SneakyThrows
+    @Test
+    void getBookings_whenFieldsGiven_thenPassesFields() {
+        String body = "[{\"id\":1}]";
+        mockServer.expect(requestTo(serverUrl + "/bookings?state=ALL&fields=id%2Cstatus"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+        mockServer.expect(requestTo(serverUrl + "/bookings/owner?state=PAST&fields=id"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", 1L).param("fields", "id,status"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(body));
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 1L)
+                        .param("state", "past").param("fields", "id"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(body));
+        mockServer.verify();
+    }
+
+    @SneakyThrows
+    @Test
+    void getBookings_whenUnknownStateOrBadPaging_thenReturnBadRequest() {
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", 1L).param("state", "unknown"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.description").value("Unknown state: unknown"));
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", 1L).param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/bookings").param("state", "all"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @SneakyThrows
+    @Test
+    void searchItems_whenTextHasReservedCharacters_thenEncodesTextAsQueryValue() {
+        mockServer.expect(requestTo(serverUrl + "/items/search?text=a%26b%3Dc"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(get("/items/search").header("X-Sharer-User-Id", 1L).param("text", "a&b=c"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+        mockServer.verify();
+    }
+
+    @SneakyThrows
+    @Test
+    void getItem_whenServerReturnsNotFound_thenRelaysStatusAndBody() {
+        String body = "{\"error\":\"Искомый объект не найден.\",\"description\":\"Вещь не найдена\"}";
+        mockServer.expect(requestTo(serverUrl + "/items/99"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(body));
+
+        mockMvc.perform(get("/items/99").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().json(body));
+        mockServer.verify();
+    }
+
+    @SneakyThrows
+    @Test
+    void getFeed_whenCursorGiven_thenPassesCursorAndSize() {
+        mockServer.expect(requestTo(serverUrl + "/requests/feed?cursor=abc&size=5"))
+                .andRespond(withSuccess("{\"requests\":[]}", MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(get("/requests/feed").header("X-Sharer-User-Id", 1L)
+                        .param("cursor", "abc").param("size", "5"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/requests/feed").header("X-Sharer-User-Id", 1L).param("size", "101"))
+                .andExpect(status().isBadRequest());
+        mockServer.verify();
+    }
+}
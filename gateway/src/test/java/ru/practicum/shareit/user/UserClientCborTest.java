@@ -0,0 +1,72 @@
+package ru.practicum.shareit.user;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.CborTransportConfig;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+/**
+ * Класс для тестирования обмена UserClient с сервером в CBOR.
+ */
+@RestClientTest(value = UserClient.class, properties = "shareit.gateway.cbor-transport=true")
+@Import(CborTransportConfig.class)
+class UserClientCborTest {
+    private final String serverUrl = "http://localhost:9090/users";
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    @Autowired
+    private UserClient userClient;
+
+    @Autowired
+    private MockRestServiceServer mockServer;
+
+    @Test
+    @SneakyThrows
+    void getById_RequestsCbor_AndReturnsBodyWithoutServerContentType() {
+        mockServer.expect(requestTo(serverUrl + "/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(HttpHeaders.ACCEPT, "application/cbor, application/json;q=0.9"))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .body(cborMapper.writeValueAsBytes(Map.of("id", 1, "name", "name")))
+                        .contentType(MediaType.APPLICATION_CBOR));
+
+        ResponseEntity<Object> responseEntity = userClient.getById(1L);
+
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(Map.of("id", 1, "name", "name"), responseEntity.getBody());
+        assertNull(responseEntity.getHeaders().getContentType());
+    }
+
+    @Test
+    @SneakyThrows
+    void getById_DecodesCborError() {
+        mockServer.expect(requestTo(serverUrl + "/2"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .body(cborMapper.writeValueAsBytes(Map.of("error", "Искомый объект не найден.")))
+                        .contentType(MediaType.APPLICATION_CBOR));
+
+        ResponseEntity<Object> responseEntity = userClient.getById(2L);
+
+        assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
+        assertEquals(Map.of("error", "Искомый объект не найден."), responseEntity.getBody());
+    }
+}
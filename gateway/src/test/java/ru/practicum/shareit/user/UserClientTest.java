@@ -11,7 +11,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.client.MockRestServiceServer;
-import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.api.dto.UserPayload;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
@@ -34,12 +34,12 @@ class UserClientTest {
     private ObjectMapper objectMapper;
 
     private String body;
-    private UserDto newUserDto;
+    private UserPayload newUserDto;
 
     @BeforeEach
     @SneakyThrows
     void setUp() {
-        newUserDto = new UserDto(1L, "name", "email@email.com");
+        newUserDto = new UserPayload("name", "email@email.com");
         body = objectMapper.writeValueAsString(newUserDto);
     }
 
@@ -100,7 +100,7 @@ class UserClientTest {
     @SneakyThrows
     void update() {
         Long userId = 1L;
-        UserDto updateUserDto = new UserDto(2L, "name2", "email2@email.com");
+        UserPayload updateUserDto = new UserPayload("name2", "email2@email.com");
 
         mockServer.expect(requestTo(serverUrl + "/" + userId))
                 .andExpect(method(HttpMethod.PATCH))
@@ -167,7 +167,7 @@ class UserClientTest {
     @SneakyThrows
     void update_whenValidationFails_thenReturnError() {
         Long userId = 1L;
-        UserDto updateUserDto = new UserDto(userId, "", "invalid-email");
+        UserPayload updateUserDto = new UserPayload("", "invalid-email");
 
         mockServer.expect(requestTo(serverUrl + "/" + userId))
                 .andExpect(method(HttpMethod.PATCH))
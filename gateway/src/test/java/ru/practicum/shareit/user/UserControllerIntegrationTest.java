@@ -11,7 +11,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.InvalidStateException;
-import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.api.dto.UserPayload;
 
 import java.util.List;
 
@@ -40,9 +40,9 @@ class UserControllerIntegrationTest {
     @SneakyThrows
     @Test
     void createUser_whenValidRequest_thenReturnStatusIsCreated() {
-        UserDto userDto = new UserDto(1L, "John Doe", "john.doe@example.com");
+        UserPayload userDto = new UserPayload("John Doe", "john.doe@example.com");
 
-        when(userClient.create(any(UserDto.class)))
+        when(userClient.create(any(UserPayload.class)))
                 .thenReturn(ResponseEntity.status(HttpStatus.CREATED).body(userDto));
 
         mockMvc.perform(post("/users")
@@ -57,7 +57,7 @@ class UserControllerIntegrationTest {
     @SneakyThrows
     @Test
     void getUserById_whenValidRequest_thenReturnStatusIsOk() {
-        UserDto userDto = new UserDto(1L, "John Doe", "john.doe@example.com");
+        UserPayload userDto = new UserPayload("John Doe", "john.doe@example.com");
 
         when(userClient.getById(1L))
                 .thenReturn(ResponseEntity.ok(userDto));
@@ -72,7 +72,7 @@ class UserControllerIntegrationTest {
     @SneakyThrows
     @Test
     void getAllUsers_whenValidRequest_thenReturnStatusIsOk() {
-        List<UserDto> userDtos = List.of(new UserDto(1L, "John Doe", "john.doe@example.com"));
+        List<UserPayload> userDtos = List.of(new UserPayload("John Doe", "john.doe@example.com"));
 
         when(userClient.getAllUsers())
                 .thenReturn(ResponseEntity.ok(userDtos));
@@ -87,10 +87,10 @@ class UserControllerIntegrationTest {
     @SneakyThrows
     @Test
     void updateUser_whenValidRequest_thenReturnStatusIsOk() {
-        UserDto userDto = new UserDto(1L, "John Doe", "john.doe@example.com");
-        UserDto updatedUserDto = new UserDto(1L, "Jane Doe", "jane.doe@example.com");
+        UserPayload userDto = new UserPayload("John Doe", "john.doe@example.com");
+        UserPayload updatedUserDto = new UserPayload("Jane Doe", "jane.doe@example.com");
 
-        when(userClient.update(eq(1L), any(UserDto.class)))
+        when(userClient.update(eq(1L), any(UserPayload.class)))
                 .thenReturn(ResponseEntity.ok(updatedUserDto));
 
         mockMvc.perform(patch("/users/{userId}", 1L)
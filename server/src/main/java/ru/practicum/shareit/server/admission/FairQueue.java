@@ -0,0 +1,142 @@
+package ru.practicum.shareit.server.admission;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Взвешенная справедливая очередь допуска к тяжелым запросам (start-time fair queuing).
+ * Одновременно выполняется не больше permits запросов. Остальные ждут, и свободное место получает запрос
+ * с наименьшей меткой начала: метка пользователя растет на стоимость каждого его запроса,
+ * поэтому пользователь с сотней ожидающих запросов не задерживает того, кто прислал один.
+ * Очередь ограничена: сверх maxQueue ожидающих и по истечении времени ожидания запрос отклоняется.
+ */
+public class FairQueue {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>();
+    private final Map<Long, Long> finishTags = new HashMap<>();
+    private final int permits;
+    private final int maxQueue;
+    private int available;
+    private long virtualTime;
+    private long sequence;
+
+    public FairQueue(int permits, int maxQueue) {
+        if (permits <= 0 || maxQueue < 0) {
+            throw new IllegalArgumentException("Некорректные параметры очереди допуска.");
+        }
+        this.permits = permits;
+        this.maxQueue = maxQueue;
+        this.available = permits;
+    }
+
+    /**
+     * Получение разрешения на выполнение запроса. После выполнения нужно вызвать {@link #release()}.
+     *
+     * @param userId  Идентификатор пользователя.
+     * @param cost    Стоимость запроса.
+     * @param timeout Наибольшее время ожидания.
+     * @param unit    Единица времени ожидания.
+     * @return true, если разрешение получено; false, если очередь заполнена или время ожидания истекло.
+     */
+    public boolean acquire(long userId, int cost, long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            long start = Math.max(virtualTime, finishTags.getOrDefault(userId, 0L));
+            if (available > 0 && waiters.isEmpty()) {
+                available--;
+                virtualTime = start;
+                finishTags.put(userId, start + cost);
+                return true;
+            }
+            if (waiters.size() >= maxQueue) {
+                return false;
+            }
+            finishTags.put(userId, start + cost);
+            Waiter waiter = new Waiter(start, sequence++, lock.newCondition());
+            waiters.add(waiter);
+            long nanos = unit.toNanos(timeout);
+            try {
+                while (!waiter.granted) {
+                    if (nanos <= 0) {
+                        waiters.remove(waiter);
+                        return false;
+                    }
+                    nanos = waiter.condition.awaitNanos(nanos);
+                }
+            } catch (InterruptedException e) {
+                if (!waiters.remove(waiter)) {
+                    releaseLocked();
+                }
+                throw e;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Возврат разрешения: оно передается ожидающему запросу с наименьшей меткой начала.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            releaseLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Количество ожидающих запросов.
+     */
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseLocked() {
+        Waiter next = waiters.poll();
+        if (next != null) {
+            virtualTime = next.start;
+            next.granted = true;
+            next.condition.signal();
+            return;
+        }
+        available++;
+        if (available == permits) {
+            // Без запросов метки всех пользователей равносильны нулевым.
+            finishTags.clear();
+            virtualTime = 0;
+        } else if (finishTags.size() > permits + maxQueue) {
+            finishTags.values().removeIf(finish -> finish <= virtualTime);
+        }
+    }
+
+    private static final class Waiter implements Comparable<Waiter> {
+        private final long start;
+        private final long sequence;
+        private final Condition condition;
+        private boolean granted;
+
+        private Waiter(long start, long sequence, Condition condition) {
+            this.start = start;
+            this.sequence = sequence;
+            this.condition = condition;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            int byStart = Long.compare(start, other.start);
+            return byStart != 0 ? byStart : Long.compare(sequence, other.sequence);
+        }
+    }
+}
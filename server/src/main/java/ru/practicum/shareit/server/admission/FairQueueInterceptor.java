@@ -0,0 +1,89 @@
+package ru.practicum.shareit.server.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.api.ApiHeaders;
+import ru.practicum.shareit.server.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Перехватчик, пропускающий тяжелые запросы на чтение через {@link FairQueue}.
+ * Стоимость запроса задается по пути; запросы без заголовка пользователя не ограничиваются,
+ * их отклонит контроллер.
+ */
+public class FairQueueInterceptor implements HandlerInterceptor {
+    private static final String USER_ID_REQUEST_HEADER = ApiHeaders.USER_ID;
+    private static final String ACQUIRED_ATTRIBUTE = FairQueueInterceptor.class.getName() + ".acquired";
+
+    /**
+     * Стоимость запросов: поиск и списки бронирований читают больше всего строк.
+     */
+    public static final Map<String, Integer> COSTS = Map.of(
+            "/items/search", 2,
+            "/items", 1,
+            "/bookings", 2,
+            "/bookings/owner", 3,
+            "/bookings/states", 1,
+            "/bookings/owner/states", 1,
+            "/requests/all", 1);
+
+    private final FairQueue fairQueue;
+    private final Duration maxWait;
+    private final Counter rejected;
+    private final Timer waitTimer;
+
+    public FairQueueInterceptor(FairQueue fairQueue, Duration maxWait, MeterRegistry meterRegistry) {
+        this.fairQueue = fairQueue;
+        this.maxWait = maxWait;
+        this.rejected = meterRegistry.counter("shareit.fair-queue.rejected");
+        this.waitTimer = meterRegistry.timer("shareit.fair-queue.wait");
+        meterRegistry.gauge("shareit.fair-queue.waiting", fairQueue, FairQueue::getWaiting);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        Integer cost = COSTS.get(request.getRequestURI());
+        Long userId = getUserId(request);
+        if (!"GET".equals(request.getMethod()) || cost == null || userId == null) {
+            return true;
+        }
+        long started = System.nanoTime();
+        boolean acquired = fairQueue.acquire(userId, cost, maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Слишком много одновременных запросов, повторите запрос позже.");
+        }
+        request.setAttribute(ACQUIRED_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(ACQUIRED_ATTRIBUTE) != null) {
+            request.removeAttribute(ACQUIRED_ATTRIBUTE);
+            fairQueue.release();
+        }
+    }
+
+    private static Long getUserId(HttpServletRequest request) {
+        String header = request.getHeader(USER_ID_REQUEST_HEADER);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
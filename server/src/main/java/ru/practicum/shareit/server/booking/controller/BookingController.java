@@ -1,13 +1,25 @@
 package ru.practicum.shareit.server.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.api.ApiHeaders;
+import ru.practicum.shareit.api.BookingState;
+import ru.practicum.shareit.api.dto.BookingPayload;
 import ru.practicum.shareit.server.booking.dto.BookingDto;
-import ru.practicum.shareit.server.booking.dto.BookingDtoToPut;
+import ru.practicum.shareit.server.booking.dto.BookingField;
+import ru.practicum.shareit.server.booking.mapper.BookingMapper;
 import ru.practicum.shareit.server.booking.service.BookingService;
+import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.idempotency.service.IdempotencyService;
+import ru.practicum.shareit.server.stream.JsonArrayWriter;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -17,19 +29,37 @@ import java.util.List;
 @RestController
 @RequestMapping(path = "/bookings")
 public class BookingController {
-    private static final String USER_ID_REQUEST_HEADER = "X-Sharer-User-Id";
+    private static final String USER_ID_REQUEST_HEADER = ApiHeaders.USER_ID;
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyService idempotencyService;
 
     @Autowired
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, ObjectMapper objectMapper,
+                             IdempotencyService idempotencyService) {
         this.bookingService = bookingService;
+        this.objectMapper = objectMapper;
+        this.idempotencyService = idempotencyService;
     }
 
+    /**
+     * Добавление нового бронирования. Повтор запроса с тем же заголовком Idempotency-Key
+     * возвращает ранее созданное бронирование.
+     *
+     * @param userId         Идентификатор арендатора.
+     * @param idempotencyKey Ключ идемпотентности, необязательный.
+     * @param bookingDto     Данные бронирования.
+     * @return Созданное бронирование в формате Dto.
+     */
     @PostMapping
     public BookingDto addBooking(@RequestHeader(value = USER_ID_REQUEST_HEADER) Long userId,
-                                 @RequestBody BookingDtoToPut bookingDto) {
+                                 @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                 String idempotencyKey,
+                                 @RequestBody BookingPayload bookingDto) {
         log.info("Добавление нового запроса на бронирование пользователем с id = " + userId);
-        return bookingService.create(bookingDto, userId);
+        return idempotencyService.execute(userId, idempotencyKey, "POST /bookings", bookingDto, BookingDto.class,
+                () -> bookingService.create(BookingMapper.mapToBookingDtoToPut(bookingDto), userId));
     }
 
     /**
@@ -79,7 +109,7 @@ public class BookingController {
     public List<BookingDto> getAllUserBookings(@RequestHeader(value = USER_ID_REQUEST_HEADER) Long userId,
                                                @RequestParam(required = false) String state) {
         log.info("Запрос на получение данных о бронировании пользователя с id = " + userId);
-        return bookingService.getBookingsByUserIdWithState(state, userId);
+        return bookingService.getBookingsByUserIdWithState(parseState(state), userId);
     }
 
     /**
@@ -100,6 +130,94 @@ public class BookingController {
                                                                 Long userId, @RequestParam(required = false)
                                                                 String state) {
         log.info("Получение бронирований всех вещей пользователя с id = " + userId);
-        return bookingService.getBookings(state, userId);
+        return bookingService.getBookingsOfOwnerItems(userId, parseState(state));
+    }
+
+    /**
+     * Получение бронирований пользователя только с полями из параметра fields, например fields=id,start,status.
+     * Допустимые поля: id, start, end, status, item, booker.
+     *
+     * @param userId Идентификатор пользователя.
+     * @param state  Параметр state необязательный, умолчанию равен ALL.
+     * @param fields Имена полей через запятую.
+     * @return Список бронирований, в каждом только запрошенные поля.
+     */
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> getUserBookingFields(@RequestHeader(value = USER_ID_REQUEST_HEADER) Long userId,
+                                                          @RequestParam(required = false) String state,
+                                                          @RequestParam String fields) {
+        log.info("Запрос полей {} бронирований пользователя с id = {}", fields, userId);
+        return bookingService.getBookingFields(parseState(state), userId, BookingField.parse(fields));
+    }
+
+    /**
+     * Получение бронирований всех вещей владельца только с полями из параметра fields.
+     *
+     * @param userId Идентификатор владельца вещей.
+     * @param state  Параметр state необязательный, умолчанию равен ALL.
+     * @param fields Имена полей через запятую.
+     * @return Список бронирований, в каждом только запрошенные поля.
+     */
+    @GetMapping(path = "/owner", params = {"fields", "stream!=true"})
+    public List<Map<String, Object>> getOwnerBookingFields(@RequestHeader(value = USER_ID_REQUEST_HEADER) Long userId,
+                                                           @RequestParam(required = false) String state,
+                                                           @RequestParam String fields) {
+        log.info("Запрос полей {} бронирований вещей пользователя с id = {}", fields, userId);
+        return bookingService.getOwnerBookingFields(userId, parseState(state), BookingField.parse(fields));
+    }
+
+    /**
+     * Получение количества бронирований пользователя по каждому значению параметра state.
+     *
+     * @param userId Идентификатор пользователя.
+     * @return Количество бронирований для ALL, CURRENT, PAST, FUTURE, WAITING и REJECTED.
+     */
+    @GetMapping("/states")
+    public Map<String, Integer> getBookingStateCounts(@RequestHeader(value = USER_ID_REQUEST_HEADER) Long userId) {
+        log.info("Получение количества бронирований по состояниям пользователя с id = " + userId);
+        return bookingService.getBookingStateCounts(userId);
+    }
+
+    /**
+     * Получение количества бронирований вещей владельца по каждому значению параметра state.
+     *
+     * @param userId Идентификатор владельца вещей.
+     * @return Количество бронирований для ALL, CURRENT, PAST, FUTURE, WAITING и REJECTED.
+     */
+    @GetMapping("/owner/states")
+    public Map<String, Integer> getOwnerBookingStateCounts(@RequestHeader(value = USER_ID_REQUEST_HEADER)
+                                                           Long userId) {
+        log.info("Получение количества бронирований по состояниям вещей пользователя с id = " + userId);
+        return bookingService.getOwnerBookingStateCounts(userId);
+    }
+
+    /**
+     * Потоковая выдача бронирований всех вещей владельца (параметр stream=true).
+     * Элементы JSON-массива пишутся в ответ по мере чтения из базы, поэтому первые байты
+     * приходят сразу, а расход памяти не зависит от количества бронирований.
+     *
+     * @param userId   Идентификатор владельца вещей.
+     * @param state    Параметр state необязательный, умолчанию равен ALL.
+     * @param response Ответ, в который пишется JSON-массив бронирований.
+     */
+    @GetMapping(path = "/owner", params = "stream=true")
+    public void streamBookingsOfAllOwnersItems(@RequestHeader(value = USER_ID_REQUEST_HEADER) Long userId,
+                                               @RequestParam(required = false) String state,
+                                               HttpServletResponse response) throws IOException {
+        log.info("Потоковое получение бронирований всех вещей пользователя с id = " + userId);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        JsonArrayWriter writer = new JsonArrayWriter(objectMapper, response.getOutputStream());
+        bookingService.streamBookingsOfOwnerItems(userId, parseState(state), writer::write);
+        writer.finish();
+    }
+
+    /**
+     * Разбор параметра state. Отсутствующий параметр означает ALL, нераспознанный - ошибку 404.
+     */
+    private static BookingState parseState(String state) {
+        if (state == null) {
+            return BookingState.ALL;
+        }
+        return BookingState.from(state).orElseThrow(() -> new NotFoundException("Не найден параметр " + state));
     }
-}
\ No newline at end of file
+}
@@ -45,4 +45,14 @@ public class BookingDto {
      * Статус бронирования.
      */
     private Status status;
+
+    /**
+     * Конструктор для проекций в BookingRepository: вещь и арендатор собираются из плоских колонок запроса.
+     */
+    public BookingDto(Long id, LocalDateTime start, LocalDateTime end,
+                      Long itemId, String itemName, String itemDescription, Boolean itemAvailable, Long itemRequestId,
+                      Long bookerId, String bookerName, String bookerEmail, Status status) {
+        this(id, start, end, new ItemDto(itemId, itemName, itemDescription, itemAvailable, itemRequestId),
+                new UserDto(bookerId, bookerName, bookerEmail), status);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.server.booking.dto;
+
+import ru.practicum.shareit.server.exception.ValidationException;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Поле бронирования, которое можно запросить параметром fields. Каждому полю соответствуют столбцы
+ * проекции: в запрос к базе попадают только столбцы запрошенных полей, а вещь и арендатор
+ * присоединяются, только если они запрошены. Вещь отдается без владельца, комментариев и соседних бронирований.
+ */
+public enum BookingField {
+    ID("id", List.of("b.id")),
+    START("start", List.of("b.start")),
+    END("end", List.of("b.end")),
+    STATUS("status", List.of("b.status")),
+    ITEM("item", List.of("i.id", "i.name", "i.description", "i.available", "i.requestId")),
+    BOOKER("booker", List.of("u.id", "u.name", "u.email"));
+
+    private static final BookingField[] VALUES = values();
+
+    private final String jsonName;
+    private final List<String> columns;
+
+    BookingField(String jsonName, List<String> columns) {
+        this.jsonName = jsonName;
+        this.columns = columns;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Разбор параметра fields: имена полей через запятую, без учета регистра.
+     *
+     * @param fields Значение параметра из запроса.
+     * @return Запрошенные поля в порядке объявления.
+     */
+    public static Set<BookingField> parse(String fields) {
+        Set<BookingField> result = EnumSet.noneOf(BookingField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            result.add(find(trimmed));
+        }
+        if (result.isEmpty()) {
+            throw new ValidationException("Параметр fields не содержит ни одного поля.");
+        }
+        return result;
+    }
+
+    private static BookingField find(String name) {
+        for (BookingField field : VALUES) {
+            if (field.jsonName.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new ValidationException("Неизвестное поле бронирования: " + name);
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.server.booking.mapper;
 
+import ru.practicum.shareit.api.dto.BookingPayload;
 import ru.practicum.shareit.server.booking.dto.BookingDto;
 import ru.practicum.shareit.server.booking.dto.BookingDtoToPut;
 import ru.practicum.shareit.server.booking.model.Booking;
@@ -33,6 +34,10 @@ public class BookingMapper {
         return dto;
     }
 
+    public static BookingDtoToPut mapToBookingDtoToPut(BookingPayload payload) {
+        return new BookingDtoToPut(payload.itemId(), payload.start(), payload.end());
+    }
+
     public static Booking mapBookingDtoToPutToBooking(BookingDtoToPut bookingDtoToPut) {
         return new Booking(
                 null,
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.server.booking.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Класс представляет бронирование, перенесенное в архив после окончания срока хранения в основной таблице.
+ * Хранит только идентификаторы связанных вещи и арендатора.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "bookings_archive")
+public class ArchivedBooking {
+    /**
+     * Идентификатор бронирования, сохраненный из основной таблицы.
+     */
+    @Id
+    private Long id;
+    /**
+     * Дата начала бронирования.
+     */
+    @Column(name = "start_date")
+    private LocalDateTime start;
+    /**
+     * Дата окончания бронирования.
+     */
+    @Column(name = "end_date")
+    private LocalDateTime end;
+    /**
+     * Идентификатор забронированной вещи.
+     */
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+    /**
+     * Идентификатор арендатора.
+     */
+    @Column(name = "booker_id", nullable = false)
+    private Long bookerId;
+    /**
+     * Статус бронирования вещи.
+     */
+    @Enumerated(EnumType.STRING)
+    private Status status;
+    /**
+     * Время переноса в архив.
+     */
+    private LocalDateTime archived;
+}
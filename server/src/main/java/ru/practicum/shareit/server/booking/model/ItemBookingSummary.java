@@ -0,0 +1,95 @@
+package ru.practicum.shareit.server.booking.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Класс представляет сводку бронирований вещи: последнее и следующее бронирование и число текущих аренд.
+ * Сводка обновляется при создании и изменении бронирований, а по мере хода времени пересчитывается
+ * после момента nextTransition.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "item_booking_summary")
+public class ItemBookingSummary {
+    /**
+     * Идентификатор вещи.
+     */
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    /**
+     * Идентификатор последнего начавшегося бронирования.
+     */
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+    /**
+     * Дата начала последнего бронирования.
+     */
+    @Column(name = "last_start")
+    private LocalDateTime lastStart;
+    /**
+     * Дата окончания последнего бронирования.
+     */
+    @Column(name = "last_end")
+    private LocalDateTime lastEnd;
+    /**
+     * Статус последнего бронирования.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "last_status")
+    private Status lastStatus;
+    /**
+     * Идентификатор ближайшего будущего бронирования.
+     */
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+    /**
+     * Дата начала следующего бронирования.
+     */
+    @Column(name = "next_start")
+    private LocalDateTime nextStart;
+    /**
+     * Дата окончания следующего бронирования.
+     */
+    @Column(name = "next_end")
+    private LocalDateTime nextEnd;
+    /**
+     * Статус следующего бронирования.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "next_status")
+    private Status nextStatus;
+    /**
+     * Количество бронирований, идущих в данный момент.
+     */
+    @Column(name = "active_count")
+    private int activeCount;
+    /**
+     * Ближайший момент, когда сводка устареет: начало следующего или окончание текущего бронирования.
+     */
+    @Column(name = "next_transition")
+    private LocalDateTime nextTransition;
+
+    public ItemBookingSummary(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public void setLastBooking(Booking booking) {
+        this.lastBookingId = booking == null ? null : booking.getId();
+        this.lastStart = booking == null ? null : booking.getStart();
+        this.lastEnd = booking == null ? null : booking.getEnd();
+        this.lastStatus = booking == null ? null : booking.getStatus();
+    }
+
+    public void setNextBooking(Booking booking) {
+        this.nextBookingId = booking == null ? null : booking.getId();
+        this.nextStart = booking == null ? null : booking.getStart();
+        this.nextEnd = booking == null ? null : booking.getEnd();
+        this.nextStatus = booking == null ? null : booking.getStatus();
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.server.booking.service;
+
+import java.time.LocalDateTime;
+
+public interface BookingArchiveService {
+
+    int archiveEndedBefore(LocalDateTime horizon);
+
+    void archive();
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.server.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.server.booking.storage.ArchivedBookingRepository;
+import ru.practicum.shareit.server.booking.storage.BookingRepository;
+import ru.practicum.shareit.server.config.ScheduledJobLock;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Сервисный класс для переноса давно завершившихся бронирований в архивную таблицу.
+ * Бронирования переносятся порциями, каждая порция - в отдельной транзакции, чтобы не держать
+ * долгих блокировок на основной таблице. Порцию переносит только экземпляр сервера, получивший
+ * блокировку задачи; остальные экземпляры в это время завершают перенос.
+ */
+@Slf4j
+@Service
+public class BookingArchiveServiceImpl implements BookingArchiveService {
+    private static final String JOB = "booking-archive";
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledJobLock jobLock;
+    private final Duration horizon;
+    private final int batchSize;
+
+    @Autowired
+    public BookingArchiveServiceImpl(BookingRepository bookingRepository,
+                                     ArchivedBookingRepository archivedBookingRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     ScheduledJobLock jobLock,
+                                     @Value("${shareit.booking-archive.horizon:365d}") Duration horizon,
+                                     @Value("${shareit.booking-archive.batch-size:1000}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobLock = jobLock;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Перенос в архив бронирований, закончившихся раньше указанного момента.
+     *
+     * @param horizon Момент, раньше которого должно закончиться бронирование.
+     * @return Количество перенесенных бронирований.
+     */
+    @Override
+    public int archiveEndedBefore(LocalDateTime horizon) {
+        int archived = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                if (!jobLock.tryLockForTransaction(JOB)) {
+                    log.info("Перенос в архив выполняет другой экземпляр сервера");
+                    return 0;
+                }
+                List<Long> ids = bookingRepository.findIdsEndedBefore(horizon, Limit.of(batchSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                archivedBookingRepository.copyFromBookings(ids, LocalDateTime.now());
+                bookingRepository.deleteAllByIdInBatch(ids);
+                return ids.size();
+            });
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        log.info("Перенесено в архив {} бронирований, закончившихся до {}", archived, horizon);
+        return archived;
+    }
+
+    /**
+     * Плановый перенос в архив бронирований, закончившихся раньше заданного срока хранения.
+     */
+    @Override
+    @Scheduled(cron = "${shareit.booking-archive.cron:0 30 3 * * *}")
+    public void archive() {
+        archiveEndedBefore(LocalDateTime.now().minus(horizon));
+    }
+}
@@ -1,9 +1,14 @@
 package ru.practicum.shareit.server.booking.service;
 
+import ru.practicum.shareit.api.BookingState;
 import ru.practicum.shareit.server.booking.dto.BookingDto;
 import ru.practicum.shareit.server.booking.dto.BookingDtoToPut;
+import ru.practicum.shareit.server.booking.dto.BookingField;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface BookingService {
 
@@ -25,7 +30,11 @@ public interface BookingService {
     /**
      * Полоучение бронирований пользователя с указанным параметром state.
      */
-    List<BookingDto> getBookings(String state, Long userId);
+    List<BookingDto> getBookings(BookingState state, Long userId);
+
+    Map<String, Integer> getBookingStateCounts(Long userId);
+
+    Map<String, Integer> getOwnerBookingStateCounts(Long ownerId);
 
     /**
      * Получение последнего бронирования.
@@ -40,7 +49,22 @@ public interface BookingService {
     /**
      * Получение бронирований для всех вещей владельца с указанным параметром state.
      */
-    List<BookingDto> getBookingsOfOwnerItems(Long ownerId, String state);
+    List<BookingDto> getBookingsOfOwnerItems(Long ownerId, BookingState state);
+
+    /**
+     * Получение бронирований пользователя с указанным параметром state, только запрошенные поля.
+     */
+    List<Map<String, Object>> getBookingFields(BookingState state, Long userId, Set<BookingField> fields);
+
+    /**
+     * Получение бронирований для всех вещей владельца с указанным параметром state, только запрошенные поля.
+     */
+    List<Map<String, Object>> getOwnerBookingFields(Long ownerId, BookingState state, Set<BookingField> fields);
+
+    /**
+     * Потоковая выдача бронирований всех вещей владельца без накопления списка в памяти.
+     */
+    void streamBookingsOfOwnerItems(Long ownerId, BookingState state, Consumer<BookingDto> action);
 
-    List<BookingDto> getBookingsByUserIdWithState(String state, Long userId);
+    List<BookingDto> getBookingsByUserIdWithState(BookingState state, Long userId);
 }
\ No newline at end of file
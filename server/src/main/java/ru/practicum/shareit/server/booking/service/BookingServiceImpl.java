@@ -3,10 +3,13 @@ package ru.practicum.shareit.server.booking.service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.api.BookingState;
 import ru.practicum.shareit.server.booking.mapper.BookingMapper;
 import ru.practicum.shareit.server.booking.storage.BookingRepository;
 import ru.practicum.shareit.server.booking.dto.BookingDto;
 import ru.practicum.shareit.server.booking.dto.BookingDtoToPut;
+import ru.practicum.shareit.server.booking.dto.BookingField;
 import ru.practicum.shareit.server.booking.model.Booking;
 import ru.practicum.shareit.server.booking.model.Status;
 import ru.practicum.shareit.server.exception.InvalidRequestException;
@@ -16,38 +19,55 @@ import ru.practicum.shareit.server.item.dto.ItemDto;
 import ru.practicum.shareit.server.item.mapper.ItemMapper;
 import ru.practicum.shareit.server.item.storage.ItemRepository;
 import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.service.CommentEligibilityCache;
 import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.outbox.service.OutboxService;
 import ru.practicum.shareit.server.user.dto.UserDto;
 import ru.practicum.shareit.server.user.storage.UserRepository;
 import ru.practicum.shareit.server.user.model.User;
 import ru.practicum.shareit.server.user.service.UserServiceImpl;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 public class BookingServiceImpl implements BookingService {
+    private static final String BOOKING_AGGREGATE = "Booking";
+
     private final BookingRepository bookingRepository;
     private final UserServiceImpl userService;
     private final ItemService itemService;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ItemBookingSummaryService summaryService;
+    private final CommentEligibilityCache eligibilityCache;
+    private final OutboxService outboxService;
 
     @Autowired
     public BookingServiceImpl(BookingRepository bookingRepository, UserServiceImpl userService,
                               ItemService itemService, ItemRepository itemRepository,
-                              UserRepository userRepository) {
+                              UserRepository userRepository, ItemBookingSummaryService summaryService,
+                              CommentEligibilityCache eligibilityCache, OutboxService outboxService) {
         this.bookingRepository = bookingRepository;
         this.userService = userService;
         this.itemService = itemService;
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
+        this.summaryService = summaryService;
+        this.eligibilityCache = eligibilityCache;
+        this.outboxService = outboxService;
     }
 
 
     @Override
+    @Transactional
     public BookingDto create(BookingDtoToPut bookingDtoToPut, Long bookerId) {
 
         if (bookingDtoToPut.getEnd().isBefore(bookingDtoToPut.getStart())) {
@@ -61,7 +81,7 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Данные для бронирования некорректны.");
         }
 
-        ItemDto itemDto = itemService.getItemById(bookingDtoToPut.getItemId());
+        ItemDto itemDto = itemService.getItemById(bookingDtoToPut.getItemId(), bookerId);
         if (itemDto == null) {
             throw new NotFoundException("Предмет с id = " + bookingDtoToPut.getItemId() + " не найден.");
         }
@@ -83,7 +103,10 @@ public class BookingServiceImpl implements BookingService {
         bookingToCreate.setBooker(booker);
 
         Booking savedBooking = bookingRepository.save(bookingToCreate);
-        return BookingMapper.mapToBookingDto(savedBooking);
+        summaryService.onBookingCreated(savedBooking);
+        BookingDto created = BookingMapper.mapToBookingDto(savedBooking);
+        outboxService.publish(BOOKING_AGGREGATE, created.getId(), "BOOKING_CREATED", created);
+        return created;
     }
 
     /**
@@ -94,7 +117,7 @@ public class BookingServiceImpl implements BookingService {
      * @param approved  Параметр показывающий, подтверждено ли бронирование.
      * @return Бронирование с обновленными данными в формате Дто.
      */
-
+    @Transactional
     public BookingDto update(Long bookingId, Long userId, Boolean approved) {
         User user = userRepository.findById(userId).orElseThrow(
                 () -> new InvalidRequestException("Пользователь с id = " + userId + " не найден."));
@@ -104,10 +127,15 @@ public class BookingServiceImpl implements BookingService {
 
         isItemOwner(booking.getItem().getId(), user.getId());
 
+        Status previousStatus = booking.getStatus();
         setBookingStatus(booking, approved);
         bookingRepository.save(booking);
+        summaryService.onBookingStatusChanged(booking, previousStatus);
+        eligibilityCache.evict(booking.getBooker().getId());
 
-        return BookingMapper.mapToBookingDto(booking);
+        BookingDto updated = BookingMapper.mapToBookingDto(booking);
+        outboxService.publish(BOOKING_AGGREGATE, updated.getId(), "BOOKING_" + updated.getStatus().name(), updated);
+        return updated;
     }
 
     /**
@@ -147,10 +175,8 @@ public class BookingServiceImpl implements BookingService {
      * @return Список бронирований указанного пользователя с указанным параметром state.
      */
     @Override
-    public List<BookingDto> getBookingsByUserIdWithState(String state, Long userId) {
-        if (state == null) {
-            state = "ALL";
-        }
+    @Transactional(readOnly = true)
+    public List<BookingDto> getBookingsByUserIdWithState(BookingState state, Long userId) {
         userService.getUserById(userId);
         List<BookingDto> bookings = getBookings(state, userId);
         return new ArrayList<>(bookings);
@@ -169,21 +195,45 @@ public class BookingServiceImpl implements BookingService {
      * @return Список бронирований в формате Дто.
      */
     @Override
-    public List<BookingDto> getBookings(String state, Long userId) {
+    @Transactional(readOnly = true)
+    public List<BookingDto> getBookings(BookingState state, Long userId) {
+        isUserExist(userId);
+        return bookingRepository.findDtoByBookerIdAndState(userId, state, LocalDateTime.now());
+    }
+
+    /**
+     * Количество бронирований пользователя по каждому значению параметра state.
+     *
+     * @param userId Идентификатор пользователя.
+     * @return Количество бронирований для ALL, CURRENT, PAST, FUTURE, WAITING и REJECTED.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Integer> getBookingStateCounts(Long userId) {
         isUserExist(userId);
-        List<Booking> bookings;
-        bookings = switch (state) {
-            case "ALL" -> bookingRepository.getAllByBookerId(userId);
-            case "CURRENT" -> bookingRepository.getAllCurrentByUserId(userId);
-            case "PAST" -> bookingRepository.getAllPastByUserId(userId);
-            case "FUTURE" -> bookingRepository.getAllFutureByUserId(userId);
-            case "WAITING" -> bookingRepository.getAllWaitingByUserId(userId);
-            case "REJECTED" -> bookingRepository.getAllRejectedByUserId(userId);
-            default -> throw new NotFoundException("Не найден параметр " + state);
-        };
-        return bookings.stream()
-                .map(BookingMapper::mapToBookingDto)
-                .collect(Collectors.toList());
+        return toStateNames(bookingRepository.countByBookerIdPerState(userId, LocalDateTime.now()));
+    }
+
+    /**
+     * Количество бронирований вещей владельца по каждому значению параметра state.
+     *
+     * @param ownerId Идентификатор владельца.
+     * @return Количество бронирований для ALL, CURRENT, PAST, FUTURE, WAITING и REJECTED.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Integer> getOwnerBookingStateCounts(Long ownerId) {
+        isUserExist(ownerId);
+        if (!itemRepository.existsByOwnerId(ownerId)) {
+            throw new NotFoundException("У пользователя c id = " + ownerId + " нет вещей для бронирования.");
+        }
+        return toStateNames(bookingRepository.countByOwnerIdPerState(ownerId, LocalDateTime.now()));
+    }
+
+    private static Map<String, Integer> toStateNames(Map<BookingState, Integer> counts) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        counts.forEach((state, count) -> result.put(state.name(), count));
+        return result;
     }
 
     /**
@@ -229,18 +279,70 @@ public class BookingServiceImpl implements BookingService {
      *                REJECTED (англ. «отклонённые»).
      * @return Список бронирований вещей владельца.
      */
-    public List<BookingDto> getBookingsOfOwnerItems(Long ownerId, String state) {
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getBookingsOfOwnerItems(Long ownerId, BookingState state) {
         isUserExist(ownerId);
-        List<Long> itemIds = itemRepository.findByOwnerId(ownerId).stream()
-                .map(Item::getId)
-                .collect(Collectors.toList());
-        if (itemIds.isEmpty()) {
+        if (!itemRepository.existsByOwnerId(ownerId)) {
             throw new NotFoundException("У пользователя c id = " + ownerId + " нет вещей для бронирования.");
         }
-        List<Booking> bookings = findBookingsOfItemsWithState(itemIds, state);
-        return bookings.stream()
-                .map(BookingMapper::mapToBookingDto)
-                .collect(Collectors.toList());
+        return bookingRepository.findDtoByOwnerIdAndState(ownerId, state, LocalDateTime.now());
+    }
+
+    /**
+     * Получение бронирований пользователя только с запрошенными полями: в запрос к базе попадают
+     * только столбцы этих полей.
+     *
+     * @param state  Параметр state, принимает те же значения, что и в getBookings.
+     * @param userId Идентификатор пользователя.
+     * @param fields Запрошенные поля.
+     * @return Бронирования в виде имя поля - значение.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getBookingFields(BookingState state, Long userId, Set<BookingField> fields) {
+        isUserExist(userId);
+        return bookingRepository.findFieldsByBookerIdAndState(userId, state, LocalDateTime.now(), fields);
+    }
+
+    /**
+     * Получение бронирований всех вещей владельца только с запрошенными полями.
+     *
+     * @param ownerId Идентификатор владельца.
+     * @param state   Параметр state, принимает те же значения, что и в getBookingsOfOwnerItems.
+     * @param fields  Запрошенные поля.
+     * @return Бронирования в виде имя поля - значение.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getOwnerBookingFields(Long ownerId, BookingState state,
+                                                           Set<BookingField> fields) {
+        isUserExist(ownerId);
+        if (!itemRepository.existsByOwnerId(ownerId)) {
+            throw new NotFoundException("У пользователя c id = " + ownerId + " нет вещей для бронирования.");
+        }
+        return bookingRepository.findFieldsByOwnerIdAndState(ownerId, state, LocalDateTime.now(), fields);
+    }
+
+    /**
+     * Потоковая выдача бронирований всех вещей владельца. Бронирования читаются курсором
+     * и передаются потребителю по одному, поэтому расход памяти не зависит от размера выборки.
+     *
+     * @param ownerId Идентификатор владельца.
+     * @param state   Параметр state, принимает те же значения, что и в getBookingsOfOwnerItems.
+     * @param action  Потребитель, которому передается каждое бронирование.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamBookingsOfOwnerItems(Long ownerId, BookingState state, Consumer<BookingDto> action) {
+        isUserExist(ownerId);
+        if (!itemRepository.existsByOwnerId(ownerId)) {
+            throw new NotFoundException("У пользователя c id = " + ownerId + " нет вещей для бронирования.");
+        }
+        try (Stream<BookingDto> bookings = bookingRepository.streamDtoByOwnerIdAndState(ownerId, state,
+                LocalDateTime.now())) {
+            bookings.forEach(action);
+        }
     }
 
     /**
@@ -265,7 +367,7 @@ public class BookingServiceImpl implements BookingService {
      * @return true or false
      */
     private boolean isAvailableItem(Long itemId) {
-        return itemService.getItemById(itemId).getAvailable();
+        return itemService.getItemById(itemId, null).getAvailable();
     }
 
     /**
@@ -280,34 +382,6 @@ public class BookingServiceImpl implements BookingService {
         return user;
     }
 
-    /**
-     * Получение бронирований вещей.
-     *
-     * @param itemIds Список идентификаторов вещей.
-     * @param state   Параметр state необязательный и по умолчанию равен ALL (англ. «все»).
-     *                Также он может принимать значения CURRENT (англ. «текущие»),
-     *                PAST (англ. «завершённые»),
-     *                FUTURE (англ. «будущие»),
-     *                WAITING (англ. «ожидающие подтверждения»),
-     *                REJECTED (англ. «отклонённые»).
-     * @return Список бронирований.
-     */
-    private List<Booking> findBookingsOfItemsWithState(List<Long> itemIds, String state) {
-        if (state == null) {
-            state = "ALL";
-        }
-        return switch (state.toUpperCase()) {
-            case "ALL" -> bookingRepository.getAllBookingsForItems(itemIds);
-            case "CURRENT" -> bookingRepository.getCurrentBookingsForItems(itemIds);
-            case "PAST" -> bookingRepository.getPastBookingsForItems(itemIds);
-            case "FUTURE" -> bookingRepository.getFutureBookingsForItems(itemIds);
-            case "WAITING" -> bookingRepository.getWaitingBookingsForItems(itemIds);
-            case "REJECTED" -> bookingRepository.getRejectedBookingsForItems(itemIds);
-            case "CANCELED" -> bookingRepository.getCanceledBookingsForItems(itemIds);
-            default -> throw new NotFoundException("Неизвестный параметр state.");
-        };
-    }
-
     /**
      * Метод проверяет наличие статуса бронирования определенного пользователя.
      *
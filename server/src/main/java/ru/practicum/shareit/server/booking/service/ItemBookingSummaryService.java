@@ -0,0 +1,18 @@
+package ru.practicum.shareit.server.booking.service;
+
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+
+import java.util.Collection;
+
+public interface ItemBookingSummaryService {
+
+    void onBookingCreated(Booking booking);
+
+    void onBookingStatusChanged(Booking booking, Status previousStatus);
+
+    void rollForward();
+
+    void fillBookings(Collection<ItemDto> items);
+}
@@ -0,0 +1,210 @@
+package ru.practicum.shareit.server.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.server.booking.dto.BookingDtoShort;
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.booking.storage.BookingRepository;
+import ru.practicum.shareit.server.booking.storage.ItemBookingSummaryRepository;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Сервисный класс для ведения сводок бронирований вещей.
+ * Сводка меняется точечно при создании и изменении статуса бронирования; полный пересчет по бронированиям вещи
+ * выполняется, только когда точечное изменение невозможно, и при плановом сдвиге по времени.
+ * Все изменения сводки выполняются под блокировкой ее строки, поэтому параллельные бронирования одной вещи
+ * не затирают изменения друг друга, а пересчет видит все зафиксированные бронирования.
+ */
+@Slf4j
+@Service
+public class ItemBookingSummaryServiceImpl implements ItemBookingSummaryService {
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ItemBookingSummaryServiceImpl(ItemBookingSummaryRepository summaryRepository,
+                                         BookingRepository bookingRepository,
+                                         PlatformTransactionManager transactionManager) {
+        this.summaryRepository = summaryRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Учет нового бронирования: будущее бронирование, начинающееся раньше текущего следующего,
+     * становится следующим. Если сводки еще нет или бронирование уже началось, сводка пересчитывается.
+     *
+     * @param booking Созданное бронирование.
+     */
+    @Override
+    @Transactional
+    public void onBookingCreated(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        ItemBookingSummary summary = lockSummary(itemId);
+        if (summary == null || !booking.getStart().isAfter(LocalDateTime.now())) {
+            summaryRepository.save(recalculate(itemId));
+            return;
+        }
+        if (summary.getNextStart() == null || booking.getStart().isBefore(summary.getNextStart())) {
+            summary.setNextBooking(booking);
+        }
+        if (summary.getNextTransition() == null || booking.getStart().isBefore(summary.getNextTransition())) {
+            summary.setNextTransition(booking.getStart());
+        }
+    }
+
+    /**
+     * Учет изменения статуса бронирования. Отклонение или отмена отклонения меняют состав учитываемых
+     * бронирований, поэтому сводка пересчитывается; иначе обновляется статус, если бронирование есть в сводке.
+     *
+     * @param booking        Бронирование с новым статусом.
+     * @param previousStatus Статус бронирования до изменения.
+     */
+    @Override
+    @Transactional
+    public void onBookingStatusChanged(Booking booking, Status previousStatus) {
+        Long itemId = booking.getItem().getId();
+        ItemBookingSummary summary = lockSummary(itemId);
+        if (summary == null
+                || Status.REJECTED.equals(booking.getStatus()) != Status.REJECTED.equals(previousStatus)) {
+            summaryRepository.save(recalculate(itemId));
+            return;
+        }
+        if (booking.getId().equals(summary.getLastBookingId())) {
+            summary.setLastStatus(booking.getStatus());
+        }
+        if (booking.getId().equals(summary.getNextBookingId())) {
+            summary.setNextStatus(booking.getStatus());
+        }
+    }
+
+    /**
+     * Плановый пересчет сводок, устаревших с ходом времени: следующее бронирование началось
+     * или текущее закончилось. Каждая сводка пересчитывается в отдельной короткой транзакции,
+     * чтобы бронирования вещей не ждали блокировок на весь проход. Срок пересчета проверяется
+     * повторно под блокировкой сводки: ее мог уже пересчитать другой экземпляр сервера
+     * или обработка нового бронирования.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${shareit.booking-summary.roll-forward-delay-ms:60000}",
+            initialDelayString = "${shareit.booking-summary.roll-forward-delay-ms:60000}")
+    public void rollForward() {
+        List<Long> itemIds = summaryRepository.findItemIdsToRollForward(LocalDateTime.now());
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        log.info("Пересчет сводок бронирований для {} вещей", itemIds.size());
+        for (Long itemId : itemIds) {
+            transactionTemplate.executeWithoutResult(status -> rollForward(itemId));
+        }
+    }
+
+    private void rollForward(Long itemId) {
+        ItemBookingSummary summary = summaryRepository.findByIdForUpdate(itemId).orElse(null);
+        if (summary != null && summary.getNextTransition() != null
+                && !summary.getNextTransition().isAfter(LocalDateTime.now())) {
+            summaryRepository.save(recalculate(itemId));
+        }
+    }
+
+    /**
+     * Заполнение последнего и следующего бронирования вещей из сводок.
+     * Если плановый пересчет сводки еще не выполнен, она пересчитывается без сохранения.
+     *
+     * @param items Вещи, для которых заполняются бронирования.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void fillBookings(Collection<ItemDto> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        List<Long> itemIds = items.stream().map(ItemDto::getId).toList();
+        Map<Long, ItemBookingSummary> summaries = summaryRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        for (ItemDto item : items) {
+            ItemBookingSummary summary = summaries.get(item.getId());
+            if (summary == null) {
+                continue;
+            }
+            if (summary.getNextTransition() != null && !summary.getNextTransition().isAfter(now)) {
+                summary = recalculate(item.getId());
+            }
+            item.setLastBooking(mapLastBooking(summary));
+            item.setNextBooking(mapNextBooking(summary));
+        }
+    }
+
+    /**
+     * Блокировка сводки вещи. Если сводки нет, она создается вставкой без конфликта ключа:
+     * параллельная транзакция, создающая ту же сводку, дождется первой и получит уже созданную.
+     *
+     * @return Заблокированная сводка или null, если сводка только что создана и ее нужно пересчитать.
+     */
+    private ItemBookingSummary lockSummary(Long itemId) {
+        ItemBookingSummary summary = summaryRepository.findByIdForUpdate(itemId).orElse(null);
+        if (summary != null || summaryRepository.insertIfAbsent(itemId) > 0) {
+            return summary;
+        }
+        return summaryRepository.findByIdForUpdate(itemId).orElse(null);
+    }
+
+    private ItemBookingSummary recalculate(Long itemId) {
+        ItemBookingSummary summary = new ItemBookingSummary(itemId);
+        Booking next = bookingRepository.getNextBookingForItem(itemId);
+        summary.setLastBooking(bookingRepository.getLastBookingForItem(itemId));
+        summary.setNextBooking(next);
+        summary.setActiveCount(bookingRepository.countActiveByItemId(itemId));
+        LocalDateTime activeEnd = bookingRepository.findEarliestActiveEndByItemId(itemId);
+        LocalDateTime nextStart = next == null ? null : next.getStart();
+        if (activeEnd == null || (nextStart != null && nextStart.isBefore(activeEnd))) {
+            summary.setNextTransition(nextStart);
+        } else {
+            summary.setNextTransition(activeEnd);
+        }
+        return summary;
+    }
+
+    private BookingDtoShort mapLastBooking(ItemBookingSummary summary) {
+        if (summary.getLastBookingId() == null) {
+            return null;
+        }
+        return mapToBookingDtoShort(summary.getLastBookingId(), summary.getItemId(), summary.getLastStart(),
+                summary.getLastEnd(), summary.getLastStatus());
+    }
+
+    private BookingDtoShort mapNextBooking(ItemBookingSummary summary) {
+        if (summary.getNextBookingId() == null) {
+            return null;
+        }
+        return mapToBookingDtoShort(summary.getNextBookingId(), summary.getItemId(), summary.getNextStart(),
+                summary.getNextEnd(), summary.getNextStatus());
+    }
+
+    private static BookingDtoShort mapToBookingDtoShort(Long id, Long itemId, LocalDateTime start,
+                                                        LocalDateTime end, Status status) {
+        BookingDtoShort dto = new BookingDtoShort();
+        dto.setId(id);
+        dto.setItemId(itemId);
+        dto.setStart(start);
+        dto.setEnd(end);
+        dto.setStatus(status);
+        return dto;
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.server.booking.storage;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.server.booking.model.ArchivedBooking;
+import ru.practicum.shareit.server.booking.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    boolean existsByBookerIdAndItemIdAndStatus(Long bookerId, Long itemId, Status status);
+
+    @Modifying
+    @Query(value = "insert into bookings_archive (id, start_date, end_date, item_id, booker_id, status, archived) " +
+            "select id, start_date, end_date, item_id, booker_id, status, ?2 from bookings where id in (?1)",
+            nativeQuery = true)
+    int copyFromBookings(List<Long> bookingIds, LocalDateTime archived);
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.server.booking.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.server.config.ScheduledJobLock;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Создание месячных секций таблицы bookings, секционированной по end_date (см. schema-postgresql.sql).
+ * Секции создаются заранее на несколько месяцев вперед. Бронирования, попавшие в секцию по умолчанию
+ * до создания секции своего месяца, переносятся в нее при создании.
+ * Включается свойством shareit.booking-partitions.enabled, работает только с PostgreSQL.
+ * Секцию создает только экземпляр сервера, получивший блокировку задачи; остальные ее пропускают.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("shareit.booking-partitions.enabled")
+public class BookingPartitionManager {
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String JOB = "booking-partitions";
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledJobLock jobLock;
+    private final int monthsAhead;
+
+    @Autowired
+    public BookingPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   ScheduledJobLock jobLock,
+                                   @Value("${shareit.booking-partitions.months-ahead:12}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobLock = jobLock;
+        this.monthsAhead = monthsAhead;
+    }
+
+    /**
+     * Создание недостающих секций с предыдущего месяца до monthsAhead месяцев вперед.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${shareit.booking-partitions.cron:0 0 3 * * *}")
+    public void ensurePartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = -1; i <= monthsAhead; i++) {
+            ensurePartition(current.plusMonths(i));
+        }
+    }
+
+    private void ensurePartition(YearMonth month) {
+        String name = "bookings_" + month.format(PARTITION_SUFFIX);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!jobLock.tryLockForTransaction(JOB)) {
+                log.info("Секцию {} создает другой экземпляр сервера", name);
+                return;
+            }
+            Boolean exists = jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, name);
+            if (Boolean.TRUE.equals(exists)) {
+                return;
+            }
+            LocalDateTime from = month.atDay(1).atStartOfDay();
+            LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+            jdbcTemplate.execute("create table " + name + " (like bookings including defaults including constraints)");
+            int moved = jdbcTemplate.update("with moved as (delete from bookings_default " +
+                    "where end_date >= ? and end_date < ? returning *) " +
+                    "insert into " + name + " select * from moved", from, to);
+            jdbcTemplate.execute("alter table bookings attach partition " + name +
+                    " for values from ('" + from.format(BOUND) + "') to ('" + to.format(BOUND) + "')");
+            log.info("Создана секция {} бронирований, перенесено из секции по умолчанию: {}", name, moved);
+        });
+    }
+}
@@ -1,85 +1,33 @@
 package ru.practicum.shareit.server.booking.storage;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.Status;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingStateRepository {
 
-    @Query("select b from Booking b " +
-            "where b.booker.id = ?1  " +
-            "order by b.start desc")
-    List<Booking> getAllByBookerId(Long bookerId);
-
-    @Query("select b from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and (b.start < current_timestamp and b.end > current_timestamp) " +
-            "order by b.end desc")
-    List<Booking> getAllCurrentByUserId(Long userId);
-
-    @Query("select b from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and (b.end < current_timestamp) " +
-            "order by b.start desc")
-    List<Booking> getAllPastByUserId(Long userId);
-
-    @Query("select b from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and (b.start > current_timestamp) " +
-            "order by b.start desc")
-    List<Booking> getAllFutureByUserId(Long userId);
+    /**
+     * Проекция бронирования сразу в BookingDto: колонки бронирования, вещи и арендатора читаются одним запросом,
+     * без загрузки управляемых сущностей в контекст персистентности.
+     */
+    String BOOKING_DTO_PROJECTION = "select new ru.practicum.shareit.server.booking.dto.BookingDto(" +
+            "b.id, b.start, b.end, i.id, i.name, i.description, i.available, i.requestId, " +
+            "u.id, u.name, u.email, b.status) " +
+            "from Booking b join b.item i join b.booker u ";
 
-    @Query("select b from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and b.status = 'WAITING' " +
-            "order by b.end desc")
-    List<Booking> getAllWaitingByUserId(Long userId);
+    boolean existsByBookerIdAndItemIdAndStatusAndEndBefore(Long bookerId, Long itemId, Status status,
+                                                           LocalDateTime end);
 
-    @Query("select b from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and b.status = 'REJECTED' " +
-            "order by b.end desc")
-    List<Booking> getAllRejectedByUserId(Long userId);
-
-    @Query("select b from Booking b " +
-            "where b.item.id in (?1)" +
-            "order by b.end desc")
-    List<Booking> getAllBookingsForItems(List<Long> itemIds);
-
-    @Query("select b from Booking b where b.item.id in (?1)" +
-            "and (b.start < current_timestamp and b.end > current_timestamp) " +
-            "order by b.start desc")
-    List<Booking> getCurrentBookingsForItems(List<Long> itemIds);
-
-    @Query("select b from Booking b where b.item.id in (?1)" +
-            "and (b.start < current_timestamp and b.end < current_timestamp) " +
-            "order by b.start desc")
-    List<Booking> getPastBookingsForItems(List<Long> itemIds);
-
-    @Query("select b from Booking b where b.item.id in (?1)" +
-            "and (b.start > current_timestamp and b.end > current_timestamp) " +
-            "order by b.start desc")
-    List<Booking> getFutureBookingsForItems(List<Long> itemIds);
-
-    @Query("select b from Booking b " +
-            "where b.item.id in (?1) and b.status = 'WAITING' " +
-            "order by b.start desc")
-    List<Booking> getWaitingBookingsForItems(List<Long> itemIds);
-
-    @Query("select b from Booking b " +
-            "where b.item.id in (?1) and b.status = 'REJECTED' " +
-            "order by b.start desc")
-    List<Booking> getRejectedBookingsForItems(List<Long> itemIds);
-
-    @Query("select b from Booking b " +
-            "where b.item.id in (?1) and b.status = 'REJECTED' " +
-            "order by b.start desc")
-    List<Booking> getCanceledBookingsForItems(List<Long> itemIds);
+    boolean existsByBookerIdAndItemIdAndStatus(Long bookerId, Long itemId, Status status);
 
     @Query("select b from Booking b " +
             "where b.item.id = ?1 and b.start > current_timestamp " +
+            "and b.end > current_timestamp " +
             "and b.status <> 'REJECTED' " +
             "order by b.start asc " +
             "limit 1")
@@ -92,5 +40,18 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "limit 1")
     Booking getLastBookingForItem(Long itemId);
 
+    @Query("select count(b) from Booking b " +
+            "where b.item.id = ?1 and b.start < current_timestamp and b.end > current_timestamp " +
+            "and b.status <> 'REJECTED'")
+    int countActiveByItemId(Long itemId);
+
+    @Query("select min(b.end) from Booking b " +
+            "where b.item.id = ?1 and b.start < current_timestamp and b.end > current_timestamp " +
+            "and b.status <> 'REJECTED'")
+    LocalDateTime findEarliestActiveEndByItemId(Long itemId);
+
     List<Booking> findBookingByItemId(Long itemId);
+
+    @Query("select b.id from Booking b where b.end < ?1 order by b.end")
+    List<Long> findIdsEndedBefore(LocalDateTime horizon, Limit limit);
 }
\ No newline at end of file
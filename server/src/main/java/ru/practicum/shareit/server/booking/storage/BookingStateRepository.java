@@ -0,0 +1,68 @@
+package ru.practicum.shareit.server.booking.storage;
+
+import ru.practicum.shareit.api.BookingState;
+import ru.practicum.shareit.server.booking.dto.BookingDto;
+import ru.practicum.shareit.server.booking.dto.BookingField;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Чтение бронирований по значению параметра state: для каждого значения заранее составлен свой запрос.
+ */
+public interface BookingStateRepository {
+
+    /**
+     * Бронирования арендатора с указанным параметром state.
+     *
+     * @param now Момент, относительно которого определяются текущие, завершенные и будущие бронирования.
+     */
+    List<BookingDto> findDtoByBookerIdAndState(Long bookerId, BookingState state, LocalDateTime now);
+
+    /**
+     * Бронирования всех вещей владельца с указанным параметром state.
+     *
+     * @param now Момент, относительно которого определяются текущие, завершенные и будущие бронирования.
+     */
+    List<BookingDto> findDtoByOwnerIdAndState(Long ownerId, BookingState state, LocalDateTime now);
+
+    /**
+     * Количество бронирований арендатора по каждому значению параметра state, одним агрегирующим запросом.
+     *
+     * @param now Момент, относительно которого определяются текущие, завершенные и будущие бронирования.
+     */
+    Map<BookingState, Integer> countByBookerIdPerState(Long bookerId, LocalDateTime now);
+
+    /**
+     * Количество бронирований всех вещей владельца по каждому значению параметра state,
+     * одним агрегирующим запросом.
+     *
+     * @param now Момент, относительно которого определяются текущие, завершенные и будущие бронирования.
+     */
+    Map<BookingState, Integer> countByOwnerIdPerState(Long ownerId, LocalDateTime now);
+
+    /**
+     * Потоковое получение бронирований всех вещей владельца с указанным параметром state.
+     * Поток должен быть прочитан и закрыт внутри транзакции.
+     */
+    Stream<BookingDto> streamDtoByOwnerIdAndState(Long ownerId, BookingState state, LocalDateTime now);
+
+    /**
+     * Бронирования арендатора с указанным параметром state, только запрошенные поля.
+     *
+     * @return Строки в виде имя поля - значение в порядке объявления BookingField.
+     */
+    List<Map<String, Object>> findFieldsByBookerIdAndState(Long bookerId, BookingState state, LocalDateTime now,
+                                                           Set<BookingField> fields);
+
+    /**
+     * Бронирования всех вещей владельца с указанным параметром state, только запрошенные поля.
+     *
+     * @return Строки в виде имя поля - значение в порядке объявления BookingField.
+     */
+    List<Map<String, Object>> findFieldsByOwnerIdAndState(Long ownerId, BookingState state, LocalDateTime now,
+                                                          Set<BookingField> fields);
+}
@@ -0,0 +1,223 @@
+package ru.practicum.shareit.server.booking.storage;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.AvailableHints;
+import ru.practicum.shareit.api.BookingState;
+import ru.practicum.shareit.server.booking.dto.BookingDto;
+import ru.practicum.shareit.server.booking.dto.BookingField;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.server.booking.storage.BookingRepository.BOOKING_DTO_PROJECTION;
+
+/**
+ * Реализация чтения бронирований по state. Текст запроса для каждого значения state и каждой роли
+ * собирается один раз при загрузке класса, поэтому Hibernate берет разобранный запрос из кеша планов,
+ * а условие по арендатору или владельцу всегда начинается с индексируемого столбца
+ * (bookings.booker_id или items.owner_id).
+ * Потоковое чтение выполняется с fetch size однонаправленным курсором.
+ * Запросы с параметром fields выбирают только столбцы запрошенных полей и присоединяют вещь и арендатора,
+ * только если без них не обойтись.
+ * Количество бронирований по всем state считается одним запросом: для каждого state своя сумма
+ * по тому же условию, что и в запросе списка, без загрузки самих бронирований.
+ */
+public class BookingStateRepositoryImpl implements BookingStateRepository {
+    /**
+     * Количество строк, которое драйвер забирает из базы за одно обращение к курсору.
+     */
+    private static final int FETCH_SIZE = 500;
+
+    private static final Map<BookingState, String> BOOKER_QUERIES = new EnumMap<>(BookingState.class);
+    private static final Map<BookingState, String> OWNER_QUERIES = new EnumMap<>(BookingState.class);
+    private static final String BOOKER_COUNT_QUERY = countSelect() + "from Booking b where b.booker.id = ?1";
+    private static final String OWNER_COUNT_QUERY = countSelect()
+            + "from Booking b join b.item i where i.owner.id = ?1";
+
+    static {
+        for (BookingState state : BookingState.values()) {
+            BOOKER_QUERIES.put(state, BOOKING_DTO_PROJECTION + "where u.id = ?1 " + condition(state)
+                    + bookerOrder(state));
+            OWNER_QUERIES.put(state, BOOKING_DTO_PROJECTION + "where i.owner.id = ?1 " + condition(state)
+                    + ownerOrder(state));
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingDto> findDtoByBookerIdAndState(Long bookerId, BookingState state, LocalDateTime now) {
+        return query(BOOKER_QUERIES.get(state), bookerId, state, now).getResultList();
+    }
+
+    @Override
+    public List<BookingDto> findDtoByOwnerIdAndState(Long ownerId, BookingState state, LocalDateTime now) {
+        return query(OWNER_QUERIES.get(state), ownerId, state, now).getResultList();
+    }
+
+    @Override
+    public Map<BookingState, Integer> countByBookerIdPerState(Long bookerId, LocalDateTime now) {
+        return counts(BOOKER_COUNT_QUERY, bookerId, now);
+    }
+
+    @Override
+    public Map<BookingState, Integer> countByOwnerIdPerState(Long ownerId, LocalDateTime now) {
+        return counts(OWNER_COUNT_QUERY, ownerId, now);
+    }
+
+    @Override
+    public Stream<BookingDto> streamDtoByOwnerIdAndState(Long ownerId, BookingState state, LocalDateTime now) {
+        return query(OWNER_QUERIES.get(state), ownerId, state, now)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .getResultStream();
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByBookerIdAndState(Long bookerId, BookingState state,
+                                                                  LocalDateTime now, Set<BookingField> fields) {
+        String from = "from Booking b "
+                + (fields.contains(BookingField.ITEM) ? "join b.item i " : "")
+                + (fields.contains(BookingField.BOOKER) ? "join b.booker u " : "")
+                + "where b.booker.id = ?1 ";
+        return fieldsQuery(select(fields) + from + condition(state) + bookerOrder(state), bookerId, state, now,
+                fields);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByOwnerIdAndState(Long ownerId, BookingState state,
+                                                                 LocalDateTime now, Set<BookingField> fields) {
+        String from = "from Booking b join b.item i "
+                + (fields.contains(BookingField.BOOKER) ? "join b.booker u " : "")
+                + "where i.owner.id = ?1 ";
+        return fieldsQuery(select(fields) + from + condition(state) + ownerOrder(state), ownerId, state, now,
+                fields);
+    }
+
+    private List<Map<String, Object>> fieldsQuery(String jpql, Long userId, BookingState state, LocalDateTime now,
+                                                  Set<BookingField> fields) {
+        Query query = entityManager.createQuery(jpql)
+                .setParameter(1, userId)
+                .setHint(AvailableHints.HINT_READ_ONLY, true);
+        if (usesNow(state)) {
+            query.setParameter(2, now);
+        }
+        List<?> rows = query.getResultList();
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = row instanceof Object[] array ? array : new Object[]{row};
+            result.add(toMap(columns, fields));
+        }
+        return result;
+    }
+
+    private Map<BookingState, Integer> counts(String jpql, Long userId, LocalDateTime now) {
+        Object[] row = entityManager.createQuery(jpql, Object[].class)
+                .setParameter(1, userId)
+                .setParameter(2, now)
+                .getSingleResult();
+        Map<BookingState, Integer> counts = new EnumMap<>(BookingState.class);
+        for (BookingState state : BookingState.values()) {
+            // sum по пустой выборке возвращает null
+            Number count = (Number) row[state.ordinal()];
+            counts.put(state, count == null ? 0 : count.intValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Список сумм в порядке объявления BookingState. Суммы CURRENT, PAST и FUTURE используют момент ?2,
+     * поэтому этот параметр у запроса количества есть всегда.
+     */
+    private static String countSelect() {
+        List<String> columns = new ArrayList<>();
+        for (BookingState state : BookingState.values()) {
+            columns.add(state == BookingState.ALL
+                    ? "count(b)"
+                    : "sum(case when " + condition(state).substring("and ".length()) + "then 1 else 0 end)");
+        }
+        return "select " + String.join(", ", columns) + " ";
+    }
+
+    private static String select(Set<BookingField> fields) {
+        List<String> columns = new ArrayList<>();
+        for (BookingField field : fields) {
+            columns.addAll(field.getColumns());
+        }
+        return "select " + String.join(", ", columns) + " ";
+    }
+
+    private static Map<String, Object> toMap(Object[] columns, Set<BookingField> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        int index = 0;
+        for (BookingField field : fields) {
+            switch (field) {
+                case ITEM -> {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put("id", columns[index]);
+                    item.put("name", columns[index + 1]);
+                    item.put("description", columns[index + 2]);
+                    item.put("available", columns[index + 3]);
+                    item.put("requestId", columns[index + 4]);
+                    row.put(field.getJsonName(), item);
+                }
+                case BOOKER -> {
+                    Map<String, Object> booker = new LinkedHashMap<>();
+                    booker.put("id", columns[index]);
+                    booker.put("name", columns[index + 1]);
+                    booker.put("email", columns[index + 2]);
+                    row.put(field.getJsonName(), booker);
+                }
+                default -> row.put(field.getJsonName(), columns[index]);
+            }
+            index += field.getColumns().size();
+        }
+        return row;
+    }
+
+    private TypedQuery<BookingDto> query(String jpql, Long userId, BookingState state, LocalDateTime now) {
+        TypedQuery<BookingDto> query = entityManager.createQuery(jpql, BookingDto.class)
+                .setParameter(1, userId)
+                .setHint(AvailableHints.HINT_READ_ONLY, true);
+        if (usesNow(state)) {
+            query.setParameter(2, now);
+        }
+        return query;
+    }
+
+    private static boolean usesNow(BookingState state) {
+        return state == BookingState.CURRENT || state == BookingState.PAST || state == BookingState.FUTURE;
+    }
+
+    private static String condition(BookingState state) {
+        return switch (state) {
+            case ALL -> "";
+            case CURRENT -> "and b.start < ?2 and b.end > ?2 ";
+            case PAST -> "and b.end < ?2 ";
+            // end > now следует из start > now, но без условия по end_date нельзя отсечь секции прошлых месяцев
+            case FUTURE -> "and b.start > ?2 and b.end > ?2 ";
+            case WAITING -> "and b.status = 'WAITING' ";
+            case REJECTED -> "and b.status = 'REJECTED' ";
+        };
+    }
+
+    private static String bookerOrder(BookingState state) {
+        return switch (state) {
+            case ALL, PAST, FUTURE -> "order by b.start desc, b.id desc";
+            case CURRENT, WAITING, REJECTED -> "order by b.end desc, b.id desc";
+        };
+    }
+
+    private static String ownerOrder(BookingState state) {
+        return state == BookingState.ALL ? "order by b.end desc, b.id desc" : "order by b.start desc, b.id desc";
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.server.booking.storage;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.server.booking.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    @Query("select s.itemId from ItemBookingSummary s where s.nextTransition <= ?1 order by s.itemId")
+    List<Long> findItemIdsToRollForward(LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemBookingSummary s where s.itemId = ?1")
+    Optional<ItemBookingSummary> findByIdForUpdate(Long itemId);
+
+    /**
+     * Создание пустой сводки, если ее еще нет. Параллельная вставка той же сводки ждет завершения
+     * первой транзакции и ничего не вставляет, поэтому ошибки дублирования ключа не возникает.
+     *
+     * @return 1, если сводка создана этим вызовом, иначе 0.
+     */
+    @Modifying
+    @Query(value = "insert into item_booking_summary (item_id, active_count) values (?1, 0) on conflict do nothing",
+            nativeQuery = true)
+    int insertIfAbsent(Long itemId);
+}
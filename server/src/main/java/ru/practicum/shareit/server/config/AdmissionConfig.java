@@ -0,0 +1,35 @@
+package ru.practicum.shareit.server.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.server.admission.FairQueue;
+import ru.practicum.shareit.server.admission.FairQueueInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Справедливая очередь допуска перед тяжелыми эндпоинтами чтения.
+ */
+@Configuration
+public class AdmissionConfig implements WebMvcConfigurer {
+    private final FairQueueInterceptor fairQueueInterceptor;
+
+    public AdmissionConfig(@Value("${shareit.fair-queue.permits:8}") int permits,
+                           @Value("${shareit.fair-queue.max-queue:200}") int maxQueue,
+                           @Value("${shareit.fair-queue.max-wait:2s}") Duration maxWait,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this.fairQueueInterceptor = new FairQueueInterceptor(new FairQueue(permits, maxQueue), maxWait,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(fairQueueInterceptor)
+                .addPathPatterns(FairQueueInterceptor.COSTS.keySet().toArray(String[]::new));
+    }
+}
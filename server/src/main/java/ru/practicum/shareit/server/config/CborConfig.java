@@ -0,0 +1,21 @@
+package ru.practicum.shareit.server.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Ответы в CBOR для шлюза. Конвертер подключается после JSON, поэтому CBOR отдается только
+ * по заголовку Accept: application/cbor, а запросы без него по-прежнему получают JSON.
+ * Отображение строится тем же построителем, что и для JSON, поэтому даты и формат полей совпадают.
+ */
+@Configuration
+public class CborConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.server.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Конфигурация пулов соединений с базой данных.
+ * Основной пул обслуживает интерактивные запросы, отдельный пул только для чтения - выгрузку данных,
+ * чтобы тяжелые выгрузки не занимали соединения, нужные для бронирований.
+ * Если настроена реплика (см. ReplicaDataSourceConfig), транзакции только для чтения направляются на нее.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Основной пул соединений, настраивается свойствами spring.datasource.hikari.*.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Источник данных приложения: основной пул или, если настроена реплика, маршрутизация между ним и репликой.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 ObjectProvider<ReadWriteRoutingDataSource> routingDataSource) {
+        ReadWriteRoutingDataSource routing = routingDataSource.getIfAvailable();
+        if (routing == null) {
+            return primaryDataSource;
+        }
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Пул соединений только для чтения для выгрузки данных, настраивается свойствами shareit.export.datasource.hikari.*.
+     * По умолчанию подключается к той же базе, что и основной пул.
+     */
+    @Bean
+    @ConfigurationProperties("shareit.export.datasource.hikari")
+    public HikariDataSource exportDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
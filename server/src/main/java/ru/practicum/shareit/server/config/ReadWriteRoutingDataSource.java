@@ -0,0 +1,43 @@
+package ru.practicum.shareit.server.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Источник данных, направляющий транзакции только для чтения на реплику, а остальные запросы - на основную базу.
+ * Реплика не используется, если она отстает больше допустимого или текущий запрос закреплен за основной базой.
+ * Должен использоваться через LazyConnectionDataSourceProxy, чтобы соединение выбиралось
+ * после того, как для транзакции установлен признак readOnly.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagChecker replicaLagChecker;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReplicaLagChecker replicaLagChecker,
+                                      ReadYourWritesTracker readYourWritesTracker) {
+        this.replicaLagChecker = replicaLagChecker;
+        this.readYourWritesTracker = readYourWritesTracker;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !readYourWritesTracker.isPinnedToPrimary()
+                && replicaLagChecker.isReplicaUsable()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
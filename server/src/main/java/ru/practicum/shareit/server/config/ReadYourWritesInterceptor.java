@@ -0,0 +1,59 @@
+package ru.practicum.shareit.server.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.api.ApiHeaders;
+
+/**
+ * Перехватчик запросов, закрепляющий запросы за основной базой.
+ * Изменяющие запросы целиком выполняются на основной базе, чтобы проверки перед записью не читали
+ * устаревшие данные с реплики. После успешного изменения пользователь на время читает с основной базы.
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+    private static final String USER_ID_REQUEST_HEADER = ApiHeaders.USER_ID;
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadYourWritesInterceptor(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long userId = getUserId(request);
+        if (!isReadRequest(request) || (userId != null && readYourWritesTracker.hasRecentWrite(userId))) {
+            readYourWritesTracker.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        try {
+            Long userId = getUserId(request);
+            if (!isReadRequest(request) && userId != null && ex == null && response.getStatus() < 400) {
+                readYourWritesTracker.recordWrite(userId);
+            }
+        } finally {
+            readYourWritesTracker.unpin();
+        }
+    }
+
+    private static boolean isReadRequest(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    private static Long getUserId(HttpServletRequest request) {
+        String header = request.getHeader(USER_ID_REQUEST_HEADER);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.server.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Учет недавних изменений пользователей для чтения своих записей.
+ * После изменения данных пользователем его запросы в течение заданного времени читают с основной базы,
+ * чтобы не получить с реплики состояние до собственного изменения.
+ */
+public class ReadYourWritesTracker {
+    /**
+     * При каком количестве записей удалять устаревшие.
+     */
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long stickyNanos;
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final ThreadLocal<Boolean> pinnedToPrimary = new ThreadLocal<>();
+
+    public ReadYourWritesTracker(Duration stickyDuration) {
+        this.stickyNanos = stickyDuration.toNanos();
+    }
+
+    /**
+     * Отметка об изменении данных пользователем.
+     *
+     * @param userId Идентификатор пользователя.
+     */
+    public void recordWrite(Long userId) {
+        long now = System.nanoTime();
+        if (stickyUntil.size() >= PURGE_THRESHOLD) {
+            stickyUntil.values().removeIf(until -> until - now <= 0);
+        }
+        stickyUntil.put(userId, now + stickyNanos);
+    }
+
+    /**
+     * Изменял ли пользователь данные в течение заданного времени.
+     *
+     * @param userId Идентификатор пользователя.
+     */
+    public boolean hasRecentWrite(Long userId) {
+        Long until = stickyUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(userId, until);
+        return false;
+    }
+
+    /**
+     * Закрепление текущего потока за основной базой.
+     */
+    public void pinToPrimary() {
+        pinnedToPrimary.set(Boolean.TRUE);
+    }
+
+    /**
+     * Снятие закрепления текущего потока за основной базой.
+     */
+    public void unpin() {
+        pinnedToPrimary.remove();
+    }
+
+    public boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(pinnedToPrimary.get());
+    }
+}
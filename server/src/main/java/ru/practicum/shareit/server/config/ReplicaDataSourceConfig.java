@@ -0,0 +1,70 @@
+package ru.practicum.shareit.server.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Конфигурация чтения с реплики. Включается, если задан адрес реплики
+ * shareit.datasource.replica.hikari.jdbc-url; остальные свойства пула реплики задаются с тем же префиксом,
+ * а не заданные имя пользователя и пароль берутся из spring.datasource.*.
+ * Отставание по умолчанию считается нулевым, если реплика применила все полученные записи WAL:
+ * время последней примененной транзакции растет и тогда, когда на основной базе просто нет записи.
+ */
+@Configuration
+@ConditionalOnProperty("shareit.datasource.replica.hikari.jdbc-url")
+public class ReplicaDataSourceConfig implements WebMvcConfigurer {
+    private final Duration stickyDuration;
+
+    public ReplicaDataSourceConfig(@Value("${shareit.datasource.replica.sticky-duration:5s}") Duration stickyDuration) {
+        this.stickyDuration = stickyDuration;
+    }
+
+    @Bean
+    @ConfigurationProperties("shareit.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("shareit-replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagChecker replicaLagChecker(
+            @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+            @Value("${shareit.datasource.replica.lag-query:select case when not pg_is_in_recovery() "
+                    + "or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+                    + "else extract(epoch from now() - pg_last_xact_replay_timestamp()) end}") String lagQuery,
+            @Value("${shareit.datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${shareit.datasource.replica.lag-check-interval:1s}") Duration checkInterval) {
+        return new ReplicaLagChecker(replicaDataSource, lagQuery, maxLag, checkInterval);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(stickyDuration);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+            ReplicaLagChecker replicaLagChecker) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagChecker,
+                readYourWritesTracker());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(readYourWritesTracker()));
+    }
+}
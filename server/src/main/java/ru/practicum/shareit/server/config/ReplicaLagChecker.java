@@ -0,0 +1,64 @@
+package ru.practicum.shareit.server.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Проверка отставания реплики.
+ * Отставание запрашивается у реплики не чаще одного раза за интервал проверки, между проверками
+ * используется последний результат. Если реплика недоступна или отстает больше допустимого, она не используется.
+ */
+@Slf4j
+public class ReplicaLagChecker {
+    private final JdbcTemplate jdbcTemplate;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final long checkIntervalNanos;
+
+    private final AtomicLong nextCheckAt = new AtomicLong(System.nanoTime());
+    private volatile boolean usable;
+
+    /**
+     * @param replica       Источник данных реплики.
+     * @param lagQuery      Запрос, возвращающий отставание реплики в секундах.
+     * @param maxLag        Допустимое отставание.
+     * @param checkInterval Интервал между проверками.
+     */
+    public ReplicaLagChecker(DataSource replica, String lagQuery, Duration maxLag, Duration checkInterval) {
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.checkIntervalNanos = checkInterval.toNanos();
+    }
+
+    /**
+     * Можно ли сейчас читать с реплики.
+     */
+    public boolean isReplicaUsable() {
+        long now = System.nanoTime();
+        long checkAt = nextCheckAt.get();
+        // Проверку выполняет только один поток, остальные используют предыдущий результат.
+        if (now - checkAt >= 0 && nextCheckAt.compareAndSet(checkAt, now + checkIntervalNanos)) {
+            usable = checkLag();
+        }
+        return usable;
+    }
+
+    private boolean checkLag() {
+        try {
+            Double lag = jdbcTemplate.queryForObject(lagQuery, Double.class);
+            if (lag == null || lag > maxLagSeconds) {
+                log.warn("Реплика отстает на {} с, чтение переключено на основную базу", lag);
+                return false;
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Не удалось проверить отставание реплики, чтение переключено на основную базу", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.server.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Блокировка плановой задачи на время транзакции, общая для всех экземпляров сервера.
+ * В PostgreSQL используется pg_try_advisory_xact_lock: блокировка снимается при завершении транзакции,
+ * а экземпляр, не получивший ее, пропускает шаг задачи, который уже выполняет другой экземпляр.
+ * В других базах (H2 в тестах) экземпляр сервера один, и блокировка всегда считается полученной.
+ */
+@Component
+public class ScheduledJobLock {
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    @Autowired
+    public ScheduledJobLock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Попытка получить блокировку задачи до конца текущей транзакции. Вызывается внутри транзакции.
+     *
+     * @param job Название задачи.
+     * @return true, если блокировка получена и шаг задачи можно выполнять.
+     */
+    public boolean tryLockForTransaction(String job) {
+        if (!isPostgres()) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)",
+                Boolean.class, (long) job.hashCode()));
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.server.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Включение плановых задач приложения. Отключается свойством shareit.scheduling.enabled=false,
+ * например в тестах, которые вызывают задачи напрямую.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "shareit.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -30,6 +30,20 @@ public class ErrorHandler {
         return new ErrorResponse("Ошибка валидации.", e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConflict(final ConflictException e) {
+        log.error("ConflictException", e);
+        return new ErrorResponse("Конфликт.", e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServiceUnavailable(final ServiceUnavailableException e) {
+        log.warn(e.getMessage());
+        return new ErrorResponse("Сервер перегружен.", e.getMessage());
+    }
+
     @ExceptionHandler(Throwable.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleException(final Throwable e) {
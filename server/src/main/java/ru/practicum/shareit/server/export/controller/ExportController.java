@@ -0,0 +1,102 @@
+package ru.practicum.shareit.server.export.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.api.ApiHeaders;
+import ru.practicum.shareit.server.export.service.ExportService;
+import ru.practicum.shareit.server.stream.NdjsonWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Класс контроллера для массовой выгрузки бронирований и вещей пользователя в формате NDJSON.
+ * Если клиент принимает gzip, ответ сжимается.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/export")
+public class ExportController {
+    public static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
+    private final ExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ExportController(ExportService exportService, ObjectMapper objectMapper) {
+        this.exportService = exportService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Выгрузка бронирований.
+     *
+     * @param userId         Идентификатор пользователя.
+     * @param since          Идентификатор последнего полученного бронирования.
+     * @param acceptEncoding Значение заголовка Accept-Encoding.
+     * @param response       Ответ, в который пишутся бронирования.
+     */
+    @GetMapping("/bookings")
+    public void exportBookings(@RequestHeader(ApiHeaders.USER_ID) Long userId,
+                               @RequestParam(name = "since", defaultValue = "0") Long since,
+                               @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false)
+                               String acceptEncoding,
+                               HttpServletResponse response) throws IOException {
+        log.info("Выгрузка бронирований пользователя с id = {} с id > {}", userId, since);
+        export(response, acceptEncoding, writer -> exportService.exportBookings(userId, since, writer::write));
+    }
+
+    /**
+     * Выгрузка вещей.
+     *
+     * @param userId         Идентификатор владельца вещей.
+     * @param since          Идентификатор последней полученной вещи.
+     * @param acceptEncoding Значение заголовка Accept-Encoding.
+     * @param response       Ответ, в который пишутся вещи.
+     */
+    @GetMapping("/items")
+    public void exportItems(@RequestHeader(ApiHeaders.USER_ID) Long userId,
+                            @RequestParam(name = "since", defaultValue = "0") Long since,
+                            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false)
+                            String acceptEncoding,
+                            HttpServletResponse response) throws IOException {
+        log.info("Выгрузка вещей владельца с id = {} с id > {}", userId, since);
+        export(response, acceptEncoding, writer -> exportService.exportItems(userId, since, writer::write));
+    }
+
+    private void export(HttpServletResponse response, String acceptEncoding,
+                        Consumer<NdjsonWriter> exporter) throws IOException {
+        response.setContentType(NDJSON_CONTENT_TYPE);
+        OutputStream out = response.getOutputStream();
+        GZIPOutputStream gzip = null;
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            gzip = new GZIPOutputStream(out, true);
+            out = gzip;
+        }
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+        try {
+            exporter.accept(writer);
+        } catch (RuntimeException e) {
+            // Пока в ответ ничего не отправлено, ошибку можно вернуть обычным ответом обработчика ошибок.
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw e;
+        }
+        writer.finish();
+        if (gzip != null) {
+            gzip.finish();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.server.export.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.server.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка выгрузки бронирований: плоские колонки таблицы bookings без вложенных объектов.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingExportDto {
+    /**
+     * Идентификатор бронирования.
+     */
+    private Long id;
+
+    /**
+     * Время начала бронирования.
+     */
+    private LocalDateTime start;
+
+    /**
+     * Время окончания бронирования.
+     */
+    private LocalDateTime end;
+
+    /**
+     * Идентификатор забронированной вещи.
+     */
+    private Long itemId;
+
+    /**
+     * Идентификатор арендатора.
+     */
+    private Long bookerId;
+
+    /**
+     * Статус бронирования.
+     */
+    private Status status;
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.server.export.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Строка выгрузки вещей: плоские колонки таблицы items без вложенных объектов.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemExportDto {
+    /**
+     * Идентификатор вещи.
+     */
+    private Long id;
+
+    /**
+     * Название вещи.
+     */
+    private String name;
+
+    /**
+     * Описание вещи.
+     */
+    private String description;
+
+    /**
+     * Статус о том, доступна или нет вещь для аренды.
+     */
+    private Boolean available;
+
+    /**
+     * Идентификатор владельца вещи.
+     */
+    private Long ownerId;
+
+    /**
+     * Идентификатор запроса, с которым связана вещь.
+     */
+    private Long requestId;
+}
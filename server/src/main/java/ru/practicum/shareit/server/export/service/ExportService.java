@@ -0,0 +1,13 @@
+package ru.practicum.shareit.server.export.service;
+
+import ru.practicum.shareit.server.export.dto.BookingExportDto;
+import ru.practicum.shareit.server.export.dto.ItemExportDto;
+
+import java.util.function.Consumer;
+
+public interface ExportService {
+
+    void exportBookings(Long userId, Long since, Consumer<BookingExportDto> action);
+
+    void exportItems(Long userId, Long since, Consumer<ItemExportDto> action);
+}
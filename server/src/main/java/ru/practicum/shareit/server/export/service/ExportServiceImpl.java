@@ -0,0 +1,60 @@
+package ru.practicum.shareit.server.export.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.server.exception.ValidationException;
+import ru.practicum.shareit.server.export.dto.BookingExportDto;
+import ru.practicum.shareit.server.export.dto.ItemExportDto;
+import ru.practicum.shareit.server.export.storage.ExportRepository;
+import ru.practicum.shareit.server.user.service.UserService;
+
+import java.util.function.Consumer;
+
+/**
+ * Класс-сервис для выгрузки бронирований и вещей пользователя.
+ * Параметр since - идентификатор последней полученной записи, выгружаются только записи с большим идентификатором.
+ * Поэтому повторная выгрузка с since получает только новые записи: изменения уже выгруженных записей,
+ * например статуса бронирования, в нее не попадают, для них нужна полная выгрузка с since = 0.
+ */
+@Slf4j
+@Service
+public class ExportServiceImpl implements ExportService {
+    private final ExportRepository exportRepository;
+    private final UserService userService;
+
+    @Autowired
+    public ExportServiceImpl(ExportRepository exportRepository, UserService userService) {
+        this.exportRepository = exportRepository;
+        this.userService = userService;
+    }
+
+    /**
+     * Выгрузка бронирований пользователя и бронирований его вещей,
+     * добавленных после бронирования с идентификатором since.
+     */
+    @Override
+    public void exportBookings(Long userId, Long since, Consumer<BookingExportDto> action) {
+        validateSince(since);
+        userService.getUserById(userId);
+        log.info("Выгрузка бронирований пользователя с id = {} с id > {}", userId, since);
+        exportRepository.exportBookings(userId, since, action);
+    }
+
+    /**
+     * Выгрузка вещей пользователя, добавленных после вещи с идентификатором since.
+     */
+    @Override
+    public void exportItems(Long userId, Long since, Consumer<ItemExportDto> action) {
+        validateSince(since);
+        userService.getUserById(userId);
+        log.info("Выгрузка вещей владельца с id = {} с id > {}", userId, since);
+        exportRepository.exportItems(userId, since, action);
+    }
+
+    private void validateSince(Long since) {
+        if (since == null || since < 0) {
+            throw new ValidationException("Параметр since не может быть отрицательным.");
+        }
+    }
+}
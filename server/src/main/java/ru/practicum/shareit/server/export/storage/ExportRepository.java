@@ -0,0 +1,109 @@
+package ru.practicum.shareit.server.export.storage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.export.dto.BookingExportDto;
+import ru.practicum.shareit.server.export.dto.ItemExportDto;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Чтение строк для выгрузки через отдельный пул соединений только для чтения.
+ * Строки читаются серверным курсором порциями по FETCH_SIZE и сразу передаются потребителю.
+ * Выгружаются только данные пользователя: его бронирования и бронирования его вещей, его вещи.
+ */
+@Repository
+public class ExportRepository {
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String BOOKINGS_SQL = "select b.id, b.start_date, b.end_date, b.item_id, b.booker_id, " +
+            "b.status from bookings b join items i on i.id = b.item_id " +
+            "where b.id > ? and (b.booker_id = ? or i.owner_id = ?) order by b.id";
+
+    private static final String ITEMS_SQL = "select id, name, description, available, owner_id, request_id " +
+            "from items where id > ? and owner_id = ? order by id";
+
+    private static final String ALL_ITEMS_SQL = "select id, name, description, available, owner_id, request_id " +
+            "from items where id > ? order by id";
+
+    private static final RowMapper<ItemExportDto> ITEM_ROW_MAPPER = (rs, rowNum) -> new ItemExportDto(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("description"),
+            rs.getObject("available", Boolean.class),
+            rs.getLong("owner_id"),
+            rs.getObject("request_id", Long.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ExportRepository(@Qualifier("exportDataSource") DataSource exportDataSource) {
+        this.jdbcTemplate = new JdbcTemplate(exportDataSource);
+    }
+
+    /**
+     * Выгрузка бронирований пользователя и бронирований его вещей с идентификатором больше sinceId
+     * в порядке возрастания идентификатора.
+     */
+    public void exportBookings(long userId, long sinceId, Consumer<BookingExportDto> action) {
+        export(BOOKINGS_SQL, new long[]{sinceId, userId, userId}, (rs, rowNum) -> new BookingExportDto(
+                rs.getLong("id"),
+                rs.getObject("start_date", LocalDateTime.class),
+                rs.getObject("end_date", LocalDateTime.class),
+                rs.getLong("item_id"),
+                rs.getLong("booker_id"),
+                Status.valueOf(rs.getString("status"))), action);
+    }
+
+    /**
+     * Выгрузка вещей владельца с идентификатором больше sinceId в порядке возрастания идентификатора.
+     */
+    public void exportItems(long ownerId, long sinceId, Consumer<ItemExportDto> action) {
+        export(ITEMS_SQL, new long[]{sinceId, ownerId}, ITEM_ROW_MAPPER, action);
+    }
+
+    /**
+     * Выгрузка вещей всех владельцев для внутренних нужд сервера, например загрузки каталога вещей.
+     */
+    public void exportAllItems(long sinceId, Consumer<ItemExportDto> action) {
+        export(ALL_ITEMS_SQL, new long[]{sinceId}, ITEM_ROW_MAPPER, action);
+    }
+
+    private <T> void export(String sql, long[] parameters, RowMapper<T> rowMapper, Consumer<T> action) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            // Драйвер PostgreSQL читает результат курсором только внутри транзакции.
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(FETCH_SIZE);
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setLong(i + 1, parameters[i]);
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    int rowNum = 0;
+                    while (rs.next()) {
+                        action.accept(rowMapper.mapRow(rs, rowNum++));
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.server.idempotency.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Класс представляет запись о запросе с ключом идемпотентности и сохраненный ответ на него.
+ * Пока запрос выполняется, ответ отсутствует.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+    /**
+     * Уникальный идентификатор записи.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Идентификатор пользователя, отправившего запрос.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Ключ идемпотентности из заголовка Idempotency-Key.
+     */
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    /**
+     * Хэш операции и тела запроса; повтор с тем же ключом должен совпадать с исходным запросом.
+     */
+    @Column(name = "request_hash", nullable = false)
+    private String requestHash;
+
+    /**
+     * Ответ на запрос в формате JSON; null, пока запрос выполняется.
+     */
+    @Column(name = "response", columnDefinition = "text")
+    private String response;
+
+    /**
+     * Дата создания записи.
+     */
+    @Column(name = "created", nullable = false)
+    private LocalDateTime created;
+
+    /**
+     * Дата, после которой запись удаляется и ключ можно использовать заново.
+     */
+    @Column(name = "expires", nullable = false)
+    private LocalDateTime expires;
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.server.idempotency.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    <T> T execute(Long userId, String idempotencyKey, String operation, Object request, Class<T> responseType,
+                  Supplier<T> action);
+
+    void removeExpired();
+}
@@ -0,0 +1,186 @@
+package ru.practicum.shareit.server.idempotency.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.server.exception.ConflictException;
+import ru.practicum.shareit.server.exception.ValidationException;
+import ru.practicum.shareit.server.idempotency.model.IdempotencyRecord;
+import ru.practicum.shareit.server.idempotency.storage.IdempotencyRecordRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Сервисный класс для выполнения запросов с ключом идемпотентности.
+ * Первый запрос с ключом выполняется, и его ответ сохраняется на время ttl; повтор с тем же ключом
+ * и тем же телом получает сохраненный ответ без повторного выполнения. Записи о ключах фиксируются
+ * в отдельных транзакциях, поэтому параллельный повтор видит, что запрос уже выполняется.
+ * Резерв без ответа, созданный раньше чем lease назад, считается брошенным (ответ не сохранился
+ * или процесс остановился) и передается следующему запросу с этим ключом.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration lease;
+
+    @Autowired
+    public IdempotencyServiceImpl(IdempotencyRecordRepository recordRepository,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${shareit.idempotency.ttl:24h}") Duration ttl,
+                                  @Value("${shareit.idempotency.lease:1m}") Duration lease) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = ttl;
+        this.lease = lease;
+    }
+
+    /**
+     * Выполнение запроса с учетом ключа идемпотентности.
+     *
+     * @param userId         Идентификатор пользователя.
+     * @param idempotencyKey Ключ идемпотентности; если не указан, запрос просто выполняется.
+     * @param operation      Название операции, например POST /bookings.
+     * @param request        Тело запроса.
+     * @param responseType   Тип ответа.
+     * @param action         Выполнение запроса.
+     * @return Ответ на запрос: новый или сохраненный при первом выполнении.
+     */
+    @Override
+    public <T> T execute(Long userId, String idempotencyKey, String operation, Object request, Class<T> responseType,
+                         Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Ключ идемпотентности должен содержать от 1 до " + MAX_KEY_LENGTH +
+                    " символов.");
+        }
+        String requestHash = hash(operation, request);
+        IdempotencyRecord existing = transactionTemplate.execute(status ->
+                reserve(userId, idempotencyKey, requestHash));
+        if (existing != null) {
+            log.info("Повтор запроса {} с ключом идемпотентности {} от пользователя с id = {}",
+                    operation, idempotencyKey, userId);
+            return read(existing.getResponse(), responseType);
+        }
+
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> recordRepository
+                    .findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                    .ifPresent(recordRepository::delete));
+            throw e;
+        }
+        String json = write(response);
+        transactionTemplate.executeWithoutResult(status -> recordRepository
+                .findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                .ifPresent(record -> record.setResponse(json)));
+        return response;
+    }
+
+    /**
+     * Плановое удаление записей с истекшим сроком хранения.
+     */
+    @Override
+    @Scheduled(cron = "${shareit.idempotency.cleanup-cron:0 15 * * * *}")
+    public void removeExpired() {
+        Integer removed = transactionTemplate.execute(status -> recordRepository.deleteExpired(LocalDateTime.now()));
+        log.info("Удалено {} записей о ключах идемпотентности", removed);
+    }
+
+    /**
+     * Резервирование ключа за запросом.
+     *
+     * @return Запись с сохраненным ответом, если запрос с этим ключом уже выполнен; null, если ключ
+     * зарезервирован за текущим запросом.
+     */
+    private IdempotencyRecord reserve(Long userId, String idempotencyKey, String requestHash) {
+        IdempotencyRecord existing = recordRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                .orElse(null);
+        LocalDateTime now = LocalDateTime.now();
+        if (existing != null && (existing.getExpires().isBefore(now) || isAbandoned(existing, now))) {
+            // запись удаляется, только если ее не успел заменить параллельный запрос
+            if (recordRepository.deleteByIdAndCreated(existing.getId(), existing.getCreated()) == 0) {
+                throw new ConflictException("Запрос с этим ключом идемпотентности еще выполняется.");
+            }
+            existing = null;
+        }
+        if (existing != null) {
+            if (!existing.getRequestHash().equals(requestHash)) {
+                throw new ConflictException("Ключ идемпотентности уже использован для другого запроса.");
+            }
+            if (existing.getResponse() == null) {
+                throw new ConflictException("Запрос с этим ключом идемпотентности еще выполняется.");
+            }
+            return existing;
+        }
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setUserId(userId);
+        record.setIdempotencyKey(idempotencyKey);
+        record.setRequestHash(requestHash);
+        record.setCreated(now);
+        record.setExpires(now.plus(ttl));
+        try {
+            recordRepository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Запрос с этим ключом идемпотентности еще выполняется.");
+        }
+        return null;
+    }
+
+    private boolean isAbandoned(IdempotencyRecord record, LocalDateTime now) {
+        return record.getResponse() == null && record.getCreated().isBefore(now.minus(lease));
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось вычислить хэш запроса", e);
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сохранить ответ на запрос", e);
+        }
+    }
+
+    private <T> T read(String response, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(response, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось прочитать сохраненный ответ на запрос", e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.server.idempotency.storage;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.server.idempotency.model.IdempotencyRecord;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expires < ?1")
+    int deleteExpired(LocalDateTime now);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.id = ?1 and r.created = ?2")
+    int deleteByIdAndCreated(Long id, LocalDateTime created);
+}
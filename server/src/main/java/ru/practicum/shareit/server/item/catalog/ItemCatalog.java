@@ -0,0 +1,308 @@
+package ru.practicum.shareit.server.item.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.server.export.dto.ItemExportDto;
+import ru.practicum.shareit.server.export.storage.ExportRepository;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.storage.ItemRepository;
+import ru.practicum.shareit.server.outbox.dto.OutboxEventDto;
+import ru.practicum.shareit.server.outbox.storage.OutboxEventRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Каталог вещей в памяти процесса для выдачи списков и поиска без обращения к базе.
+ * Включается свойством shareit.item-catalog.enabled. Снимок {@link ItemCatalogSnapshot} загружается
+ * целиком при старте и по расписанию через пул выгрузки, а между загрузками поддерживается событиями
+ * ITEM_CREATED, ITEM_UPDATED и ITEM_DELETED из таблицы исходящей очереди.
+ * Диспетчер очереди отдает событие одному экземпляру приложения, поэтому каталог не подписывается
+ * на доставку, а каждый экземпляр сам читает таблицу событий от своей отметки.
+ * Событие несет полное состояние вещи, а события одной вещи получают идентификаторы в порядке фиксации,
+ * поэтому применять их можно повторно: событие, уже отраженное в выгрузке, не портит снимок.
+ */
+@Slf4j
+@Component
+public class ItemCatalog {
+    public static final String ITEM_AGGREGATE = "Item";
+    public static final String ITEM_CREATED = "ITEM_CREATED";
+    public static final String ITEM_UPDATED = "ITEM_UPDATED";
+    public static final String ITEM_DELETED = "ITEM_DELETED";
+
+    private static final int POLL_BATCH_SIZE = 500;
+
+    private final ExportRepository exportRepository;
+    private final ItemRepository itemRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration gapTimeout;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile ItemCatalogSnapshot snapshot;
+    /**
+     * События, полученные во время полной загрузки; все они применяются к новому снимку перед его подменой.
+     * Идентификатор события выдается при вставке, а не при фиксации, поэтому отбор по идентификатору
+     * пропустил бы событие, зафиксированное после начала выгрузки с меньшим идентификатором.
+     */
+    private List<OutboxEventDto> replay;
+    /**
+     * Отметка чтения таблицы событий: все события с меньшим или равным идентификатором применены
+     * или признаны откатившимися. До первой загрузки равна -1.
+     */
+    private long watermark = -1;
+    /**
+     * Примененные события выше отметки. Отметка не сдвигается через пропуск в идентификаторах,
+     * пока пропущенное событие может еще зафиксироваться, а события за пропуском уже применяются.
+     */
+    private final Set<Long> appliedAboveWatermark = new HashSet<>();
+    /**
+     * Последнее событие изменения вещей владельца, записанное этим экземпляром и еще не примененное к каталогу.
+     */
+    private final Map<Long, Long> unappliedWrites = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ItemCatalog(ExportRepository exportRepository, ItemRepository itemRepository,
+                       OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${shareit.item-catalog.gap-timeout:30s}") Duration gapTimeout,
+                       @Value("${shareit.item-catalog.enabled:false}") boolean enabled) {
+        this.exportRepository = exportRepository;
+        this.itemRepository = itemRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.gapTimeout = gapTimeout;
+        this.enabled = enabled;
+        Gauge.builder("shareit.item-catalog.items", this, catalog -> catalog.read(ItemCatalogSnapshot::size))
+                .description("Количество вещей в каталоге в памяти")
+                .register(meterRegistry);
+        Gauge.builder("shareit.item-catalog.memory", this, catalog -> catalog.read(ItemCatalogSnapshot::memoryBytes))
+                .description("Память, занятая каталогом вещей")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Признак того, что каталог включен и загружен.
+     */
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Признак того, что каталог загружен и содержит все изменения вещей пользователя, записанные
+     * этим экземпляром. Пока последнее такое изменение не применено, вещи следует читать из базы.
+     *
+     * @param userId Идентификатор пользователя.
+     */
+    public boolean isReadyFor(Long userId) {
+        if (!isReady()) {
+            return false;
+        }
+        Long eventId = unappliedWrites.get(userId);
+        if (eventId == null) {
+            return true;
+        }
+        lock.readLock().lock();
+        try {
+            if (eventId > watermark && !appliedAboveWatermark.contains(eventId)) {
+                return false;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        unappliedWrites.remove(userId, eventId);
+        return true;
+    }
+
+    /**
+     * Учет изменения вещей владельца, записанного в исходящую очередь этим экземпляром.
+     * Если транзакция изменения откатится, событие будет признано пропуском после gap-timeout.
+     *
+     * @param ownerId Идентификатор владельца.
+     * @param eventId Идентификатор события исходящей очереди.
+     */
+    public void recordWrite(Long ownerId, Long eventId) {
+        if (!enabled || eventId == null) {
+            return;
+        }
+        unappliedWrites.merge(ownerId, eventId, Math::max);
+    }
+
+    public List<ItemDto> getAll() {
+        List<ItemDto> items = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            snapshot.forEach(items::add);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return items;
+    }
+
+    public List<ItemDto> getByOwner(Long ownerId) {
+        lock.readLock().lock();
+        try {
+            return snapshot.findByOwner(ownerId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ItemDto> search(String text) {
+        lock.readLock().lock();
+        try {
+            return snapshot.search(text);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Полная загрузка каталога. Новый снимок строится без блокировки читателей и подменяет текущий
+     * после применения событий, пришедших во время загрузки.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${shareit.item-catalog.rebuild-cron:0 */10 * * * *}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (watermark < 0) {
+                Long settled = outboxEventRepository.findMaxIdCreatedBefore(LocalDateTime.now().minus(gapTimeout));
+                watermark = settled == null ? 0 : settled;
+            }
+            replay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ItemCatalogSnapshot fresh = new ItemCatalogSnapshot((int) Math.min(Integer.MAX_VALUE, itemRepository.count()));
+        try {
+            exportRepository.exportAllItems(0, item -> fresh.put(item.getId(), item.getName(), item.getDescription(),
+                    item.getAvailable(), item.getOwnerId(), item.getRequestId()));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            for (OutboxEventDto event : replay) {
+                apply(fresh, event);
+            }
+            replay = null;
+            snapshot = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Каталог вещей загружен: {} вещей, {} байт", fresh.size(), fresh.memoryBytes());
+    }
+
+    /**
+     * Чтение новых событий изменения вещей из таблицы исходящей очереди.
+     * Идентификатор события выдается при вставке, а не при фиксации, поэтому пропуск в идентификаторах
+     * моложе gap-timeout задерживает отметку: пропущенное событие будет прочитано, когда зафиксируется.
+     */
+    @Scheduled(fixedDelayString = "${shareit.item-catalog.poll-delay-ms:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        boolean advanced;
+        do {
+            long from;
+            lock.readLock().lock();
+            try {
+                from = watermark;
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (from < 0) {
+                return;
+            }
+            List<OutboxEventDto> events = outboxEventRepository.findAllAfter(from, ITEM_AGGREGATE,
+                    Limit.of(POLL_BATCH_SIZE));
+            advanced = applyPolled(events, LocalDateTime.now().minus(gapTimeout)) && events.size() == POLL_BATCH_SIZE;
+        } while (advanced);
+    }
+
+    private boolean applyPolled(List<OutboxEventDto> events, LocalDateTime settledBefore) {
+        lock.writeLock().lock();
+        try {
+            long start = watermark;
+            long expected = watermark + 1;
+            boolean contiguous = true;
+            for (OutboxEventDto event : events) {
+                if (contiguous && event.getId() != expected && event.getCreated().isAfter(settledBefore)) {
+                    contiguous = false;
+                }
+                expected = event.getId() + 1;
+                if (ITEM_AGGREGATE.equals(event.getAggregateType()) && appliedAboveWatermark.add(event.getId())) {
+                    if (replay != null) {
+                        replay.add(event);
+                    }
+                    if (snapshot != null) {
+                        apply(snapshot, event);
+                    }
+                }
+                if (contiguous) {
+                    watermark = event.getId();
+                }
+            }
+            appliedAboveWatermark.removeIf(id -> id <= watermark);
+            if (snapshot != null && snapshot.needsCompaction()) {
+                snapshot = snapshot.compact();
+            }
+            return watermark > start;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(ItemCatalogSnapshot target, OutboxEventDto event) {
+        if (ITEM_DELETED.equals(event.getEventType())) {
+            target.remove(event.getAggregateId());
+            return;
+        }
+        try {
+            ItemExportDto item = objectMapper.readValue(event.getPayload(), ItemExportDto.class);
+            target.put(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                    item.getOwnerId(), item.getRequestId());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось прочитать событие " + event.getId(), e);
+        }
+    }
+
+    private double read(ToDoubleFunction<ItemCatalogSnapshot> metric) {
+        lock.readLock().lock();
+        try {
+            return snapshot == null ? 0 : metric.applyAsDouble(snapshot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package ru.practicum.shareit.server.item.catalog;
+
+import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.user.model.User;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Компактный снимок каталога вещей. Поля вещи хранятся в примитивных массивах по номеру ячейки,
+ * владелец - кодом из словаря, а тексты - в UTF-8 в одном буфере вне кучи: название, описание
+ * и ключ поиска (название и описание в нижнем регистре через символ \0). Поиск сравнивает байты ключа
+ * и не создает объектов на каждую вещь.
+ * Изменение записывает вещь в новую ячейку и помечает старую удаленной; когда удаленных ячеек
+ * становится больше половины, снимок пересобирается методом {@link #compact()}.
+ * <p>
+ * Память на миллион вещей: около 90 МБ примитивных массивов в куче (ячейки и индексы) и удвоенный объем
+ * текста в буфере вне кучи. При названии в 20 и описании в 100 символов это около 240 МБ для латиницы
+ * и около 480 МБ для кириллицы. Число объектов в куче не зависит от числа вещей.
+ * <p>
+ * Класс не потокобезопасен: доступ синхронизирует {@link ItemCatalog}.
+ */
+public class ItemCatalogSnapshot {
+    private static final byte LIVE = 1;
+    private static final byte AVAILABLE = 2;
+    private static final byte AVAILABLE_SET = 4;
+    private static final byte KEY_SEPARATOR = 0;
+    private static final int NO_SLOT = -1;
+    private static final int MIN_COMPACTION_SLOTS = 1024;
+
+    private long[] ids;
+    private long[] requestIds;
+    private int[] ownerCodes;
+    private int[] nextOwnerSlots;
+    private byte[] flags;
+    private int[] textOffsets;
+    private int[] nameLengths;
+    private int[] descriptionLengths;
+    private int[] keyLengths;
+    private int slots;
+    private int deadSlots;
+
+    private ByteBuffer text;
+    private final LongIntHashMap slotById;
+    private final LongIntHashMap ownerCodeById;
+    private long[] ownerIds;
+    private int[] ownerHeads;
+    private int owners;
+
+    public ItemCatalogSnapshot(int expectedItems) {
+        int capacity = Math.max(16, expectedItems);
+        ids = new long[capacity];
+        requestIds = new long[capacity];
+        ownerCodes = new int[capacity];
+        nextOwnerSlots = new int[capacity];
+        flags = new byte[capacity];
+        textOffsets = new int[capacity];
+        nameLengths = new int[capacity];
+        descriptionLengths = new int[capacity];
+        keyLengths = new int[capacity];
+        text = ByteBuffer.allocateDirect(capacity * 64);
+        slotById = new LongIntHashMap(capacity);
+        ownerCodeById = new LongIntHashMap(16);
+        ownerIds = new long[16];
+        ownerHeads = new int[16];
+    }
+
+    /**
+     * Добавление или замена вещи.
+     */
+    public void put(long id, String name, String description, Boolean available, long ownerId, Long requestId) {
+        removeSlot(slotById.get(id));
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] descriptionBytes = description.getBytes(StandardCharsets.UTF_8);
+        byte[] lowerName = name.toLowerCase().getBytes(StandardCharsets.UTF_8);
+        byte[] lowerDescription = description.toLowerCase().getBytes(StandardCharsets.UTF_8);
+        int keyLength = lowerName.length + 1 + lowerDescription.length;
+
+        ensureSlotCapacity();
+        int offset = appendText(nameBytes.length + descriptionBytes.length + keyLength);
+        text.put(offset, nameBytes);
+        text.put(offset + nameBytes.length, descriptionBytes);
+        int keyOffset = offset + nameBytes.length + descriptionBytes.length;
+        text.put(keyOffset, lowerName);
+        text.put(keyOffset + lowerName.length, KEY_SEPARATOR);
+        text.put(keyOffset + lowerName.length + 1, lowerDescription);
+
+        int slot = slots++;
+        int ownerCode = ownerCode(ownerId);
+        ids[slot] = id;
+        requestIds[slot] = requestId == null ? 0 : requestId;
+        ownerCodes[slot] = ownerCode;
+        nextOwnerSlots[slot] = ownerHeads[ownerCode];
+        ownerHeads[ownerCode] = slot;
+        flags[slot] = (byte) (LIVE | (available == null ? 0 : AVAILABLE_SET | (available ? AVAILABLE : 0)));
+        textOffsets[slot] = offset;
+        nameLengths[slot] = nameBytes.length;
+        descriptionLengths[slot] = descriptionBytes.length;
+        keyLengths[slot] = keyLength;
+        slotById.put(id, slot);
+    }
+
+    /**
+     * Удаление вещи.
+     */
+    public void remove(long id) {
+        removeSlot(slotById.get(id));
+    }
+
+    public int size() {
+        return slotById.size();
+    }
+
+    /**
+     * Передача всех вещей в порядке добавления.
+     */
+    public void forEach(Consumer<ItemDto> action) {
+        for (int slot = 0; slot < slots; slot++) {
+            if ((flags[slot] & LIVE) != 0) {
+                action.accept(toDto(slot));
+            }
+        }
+    }
+
+    /**
+     * Вещи владельца в порядке добавления.
+     */
+    public List<ItemDto> findByOwner(long ownerId) {
+        int ownerCode = ownerCodeById.get(ownerId);
+        if (ownerCode == LongIntHashMap.MISSING) {
+            return new ArrayList<>();
+        }
+        List<ItemDto> items = new ArrayList<>();
+        for (int slot = ownerHeads[ownerCode]; slot != NO_SLOT; slot = nextOwnerSlots[slot]) {
+            if ((flags[slot] & LIVE) != 0) {
+                items.add(toDto(slot));
+            }
+        }
+        Collections.reverse(items);
+        return items;
+    }
+
+    /**
+     * Поиск доступных вещей, в названии или описании которых есть текст, без учета регистра.
+     */
+    public List<ItemDto> search(String query) {
+        List<ItemDto> items = new ArrayList<>();
+        // Разделитель ключа не встречается в тексте вещей; с ним совпадение прошло бы через границу полей.
+        if (query.indexOf(KEY_SEPARATOR) >= 0) {
+            return items;
+        }
+        byte[] pattern = query.toLowerCase().getBytes(StandardCharsets.UTF_8);
+        for (int slot = 0; slot < slots; slot++) {
+            if ((flags[slot] & (LIVE | AVAILABLE)) == (LIVE | AVAILABLE) && keyContains(slot, pattern)) {
+                items.add(toDto(slot));
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Признак того, что удаленные ячейки занимают больше половины снимка.
+     */
+    public boolean needsCompaction() {
+        return slots >= MIN_COMPACTION_SLOTS && deadSlots * 2 > slots;
+    }
+
+    /**
+     * Новый снимок только с живыми вещами.
+     */
+    public ItemCatalogSnapshot compact() {
+        ItemCatalogSnapshot compacted = new ItemCatalogSnapshot(size());
+        for (int slot = 0; slot < slots; slot++) {
+            if ((flags[slot] & LIVE) != 0) {
+                compacted.put(ids[slot], readText(textOffsets[slot], nameLengths[slot]),
+                        readText(textOffsets[slot] + nameLengths[slot], descriptionLengths[slot]),
+                        available(slot), ownerIds[ownerCodes[slot]], requestId(slot));
+            }
+        }
+        return compacted;
+    }
+
+    /**
+     * Объем памяти, занятый снимком, в байтах: массивы в куче и буфер текста вне кучи.
+     */
+    public long memoryBytes() {
+        long perSlot = Long.BYTES * 2 + Integer.BYTES * 6 + 1;
+        return perSlot * ids.length + slotById.memoryBytes() + ownerCodeById.memoryBytes()
+                + (long) ownerIds.length * (Long.BYTES + Integer.BYTES) + text.capacity();
+    }
+
+    private ItemDto toDto(int slot) {
+        ItemDto dto = new ItemDto(ids[slot], readText(textOffsets[slot], nameLengths[slot]),
+                readText(textOffsets[slot] + nameLengths[slot], descriptionLengths[slot]),
+                available(slot), requestId(slot));
+        dto.setOwner(new User(ownerIds[ownerCodes[slot]], null, null));
+        return dto;
+    }
+
+    private Boolean available(int slot) {
+        return (flags[slot] & AVAILABLE_SET) == 0 ? null : (flags[slot] & AVAILABLE) != 0;
+    }
+
+    private Long requestId(int slot) {
+        return requestIds[slot] == 0 ? null : requestIds[slot];
+    }
+
+    private String readText(int offset, int length) {
+        byte[] bytes = new byte[length];
+        text.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean keyContains(int slot, byte[] pattern) {
+        int keyOffset = textOffsets[slot] + nameLengths[slot] + descriptionLengths[slot];
+        int last = keyOffset + keyLengths[slot] - pattern.length;
+        for (int start = keyOffset; start <= last; start++) {
+            int matched = 0;
+            while (matched < pattern.length && text.get(start + matched) == pattern[matched]) {
+                matched++;
+            }
+            if (matched == pattern.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void removeSlot(int slot) {
+        if (slot == LongIntHashMap.MISSING || (flags[slot] & LIVE) == 0) {
+            return;
+        }
+        flags[slot] &= ~LIVE;
+        deadSlots++;
+        slotById.remove(ids[slot]);
+    }
+
+    private int ownerCode(long ownerId) {
+        int code = ownerCodeById.get(ownerId);
+        if (code != LongIntHashMap.MISSING) {
+            return code;
+        }
+        if (owners == ownerIds.length) {
+            ownerIds = Arrays.copyOf(ownerIds, owners * 2);
+            ownerHeads = Arrays.copyOf(ownerHeads, owners * 2);
+        }
+        code = owners++;
+        ownerIds[code] = ownerId;
+        ownerHeads[code] = NO_SLOT;
+        ownerCodeById.put(ownerId, code);
+        return code;
+    }
+
+    private void ensureSlotCapacity() {
+        if (slots < ids.length) {
+            return;
+        }
+        int capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        requestIds = Arrays.copyOf(requestIds, capacity);
+        ownerCodes = Arrays.copyOf(ownerCodes, capacity);
+        nextOwnerSlots = Arrays.copyOf(nextOwnerSlots, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        textOffsets = Arrays.copyOf(textOffsets, capacity);
+        nameLengths = Arrays.copyOf(nameLengths, capacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, capacity);
+        keyLengths = Arrays.copyOf(keyLengths, capacity);
+    }
+
+    private int appendText(int length) {
+        int offset = text.position();
+        if (text.remaining() < length) {
+            long required = (long) offset + length;
+            if (required > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Объем текста каталога вещей превышает 2 ГБ.");
+            }
+            int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(required, (long) text.capacity() * 2));
+            ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+            grown.put(0, text, 0, offset);
+            grown.position(offset);
+            text = grown;
+        }
+        text.position(offset + length);
+        return offset;
+    }
+}
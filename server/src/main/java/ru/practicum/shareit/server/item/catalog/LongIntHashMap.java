@@ -0,0 +1,98 @@
+package ru.practicum.shareit.server.item.catalog;
+
+/**
+ * Хеш-таблица с открытой адресацией из long в int на примитивных массивах: без упаковки ключей
+ * и без объекта на запись. Ключ 0 не поддерживается - он обозначает пустую ячейку.
+ */
+class LongIntHashMap {
+    static final int MISSING = -1;
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    int get(long key) {
+        int index = slot(key);
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    void put(long key, int value) {
+        int index = slot(key);
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    void remove(long key) {
+        int index = slot(key);
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                size--;
+                // Сдвиг следующих записей цепочки, чтобы поиск не обрывался на освободившейся ячейке.
+                int gap = index;
+                int next = (gap + 1) & mask;
+                while (keys[next] != 0) {
+                    int home = slot(keys[next]);
+                    if (((next - home) & mask) >= ((next - gap) & mask)) {
+                        keys[gap] = keys[next];
+                        values[gap] = values[next];
+                        gap = next;
+                    }
+                    next = (next + 1) & mask;
+                }
+                keys[gap] = 0;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    long memoryBytes() {
+        return (long) keys.length * (Long.BYTES + Integer.BYTES);
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
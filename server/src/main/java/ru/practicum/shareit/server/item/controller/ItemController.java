@@ -1,15 +1,26 @@
 package ru.practicum.shareit.server.item.controller;
 
-import jakarta.validation.Valid;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.api.ApiHeaders;
+import ru.practicum.shareit.api.dto.CommentPayload;
+import ru.practicum.shareit.api.dto.ItemPayload;
+import ru.practicum.shareit.server.idempotency.service.IdempotencyService;
 import ru.practicum.shareit.server.item.dto.CommentDto;
+import ru.practicum.shareit.server.item.dto.CommentPageDto;
 import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.mapper.CommentMapper;
+import ru.practicum.shareit.server.item.mapper.ItemMapper;
 import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.stream.JsonArrayWriter;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 
@@ -20,14 +31,19 @@ import java.util.List;
 @RestController
 @RequestMapping("/items")
 public class ItemController {
-    private static final String USER_ID_REQUEST_HEADER = "X-Sharer-User-Id";
+    private static final String USER_ID_REQUEST_HEADER = ApiHeaders.USER_ID;
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
 
     @Qualifier("itemServiceImpl")
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyService idempotencyService;
 
     @Autowired
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, ObjectMapper objectMapper, IdempotencyService idempotencyService) {
         this.itemService = itemService;
+        this.objectMapper = objectMapper;
+        this.idempotencyService = idempotencyService;
     }
 
     /**
@@ -43,17 +59,36 @@ public class ItemController {
         return itemService.getAllItemsByUserId(userId);
     }
 
+    /**
+     * Потоковая выдача списка вещей владельца (параметр stream=true).
+     * Элементы JSON-массива пишутся в ответ по мере чтения из базы.
+     *
+     * @param userId   Идентификатор пользователя.
+     * @param response Ответ, в который пишется JSON-массив вещей.
+     */
+    @GetMapping(params = "stream=true")
+    public void streamAllItemsFromUser(@RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
+                                       HttpServletResponse response) throws IOException {
+        log.info("Потоковое получение списка всех вещей владельца с id: {}", userId);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        JsonArrayWriter writer = new JsonArrayWriter(objectMapper, response.getOutputStream());
+        itemService.streamAllItemsByUserId(userId, writer::write);
+        writer.finish();
+    }
+
     /**
      * Обрабатывает GET-запрос на получение вещи по идентификатору.
      *
      * @param itemId Идентификатор вещи.
+     * @param userId Идентификатор пользователя.
      * @return Вещь с указанным идентификатором.
      */
     @GetMapping("/{itemId}")
     @ResponseStatus(HttpStatus.OK)
-    public ItemDto getItemById(@PathVariable("itemId") Long itemId) {
+    public ItemDto getItemById(@PathVariable("itemId") Long itemId,
+                               @RequestHeader(USER_ID_REQUEST_HEADER) Long userId) {
         log.info("Запрос на получение вещи id = " + itemId);
-        return itemService.getItemById(itemId);
+        return itemService.getItemById(itemId, userId);
     }
 
     /**
@@ -70,17 +105,21 @@ public class ItemController {
     }
 
     /**
-     * Обрабатывает POST-запрос на добавление вещи.
+     * Обрабатывает POST-запрос на добавление вещи. Повтор запроса с тем же заголовком Idempotency-Key
+     * возвращает ранее добавленную вещь.
      *
-     * @param itemDto Вещь, которую нужно добавить.
+     * @param idempotencyKey Ключ идемпотентности, необязательный.
+     * @param itemDto        Вещь, которую нужно добавить.
      * @return Добавленная вещь.
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ItemDto create(@RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
-                          @RequestBody @Valid ItemDto itemDto) {
+                          @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                          @RequestBody ItemPayload itemDto) {
         log.info("Запрос на добавление вещи пользователя id = " + userId);
-        return itemService.addItem(userId, itemDto);
+        return idempotencyService.execute(userId, idempotencyKey, "POST /items", itemDto, ItemDto.class,
+                () -> itemService.addItem(userId, ItemMapper.mapToItemDto(itemDto)));
     }
 
     /**
@@ -94,9 +133,9 @@ public class ItemController {
     @ResponseStatus(HttpStatus.OK)
     public ItemDto update(@RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
                           @PathVariable Long itemId,
-                          @RequestBody ItemDto newItemDto) {
+                          @RequestBody ItemPayload newItemDto) {
         log.info("Запрос на обновление вещи id = " + itemId + " от пользователя id = " + userId);
-        return itemService.updateItem(userId, itemId, newItemDto);
+        return itemService.updateItem(userId, itemId, ItemMapper.mapToItemDto(newItemDto));
     }
 
     /**
@@ -120,6 +159,23 @@ public class ItemController {
         itemService.removeAllItemsByOwnerId(userId);
     }
 
+    /**
+     * Получение отзывов о вещи постранично, от новых к старым.
+     *
+     * @param itemId Идентификатор вещи.
+     * @param cursor Курсор следующей страницы из предыдущего ответа; не указывается для первой страницы.
+     * @param size   Количество отзывов на странице.
+     * @return Страница отзывов и курсор следующей страницы.
+     */
+    @GetMapping("/{itemId}/comments")
+    @ResponseStatus(HttpStatus.OK)
+    public CommentPageDto getComments(@PathVariable Long itemId,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "20") Integer size) {
+        log.info("Запрос на получение отзывов о вещи id = {}", itemId);
+        return itemService.getCommentPage(itemId, cursor, size);
+    }
+
     /**
      * Добавление отзыва пользователем с указанным идентификатором для вещи с указанным идентификатором.
      *
@@ -130,11 +186,11 @@ public class ItemController {
      */
     @ResponseBody
     @PostMapping("/{itemId}/comment")
-    public CommentDto createComment(@RequestBody CommentDto commentDto,
+    public CommentDto createComment(@RequestBody CommentPayload commentDto,
                                     @PathVariable Long itemId,
                                     @RequestHeader(USER_ID_REQUEST_HEADER) Long userId) {
         log.info("Получен запрос на добавление комментария пользователем с id = {} для вещи с id = {}",
                 userId, itemId);
-        return itemService.createComment(commentDto, itemId, userId);
+        return itemService.createComment(CommentMapper.mapToCommentDto(commentDto), itemId, userId);
     }
 }
\ No newline at end of file
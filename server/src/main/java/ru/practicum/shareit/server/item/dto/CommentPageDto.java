@@ -0,0 +1,25 @@
+package ru.practicum.shareit.server.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Класс представляет страницу отзывов вещи.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentPageDto {
+    /**
+     * Отзывы страницы, от новых к старым.
+     */
+    private List<CommentDto> comments;
+
+    /**
+     * Курсор следующей страницы; null, если страница последняя.
+     */
+    private String nextCursor;
+}
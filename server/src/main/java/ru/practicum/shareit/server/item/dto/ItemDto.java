@@ -60,6 +60,11 @@ public class ItemDto {
      */
     private List<CommentDto> comments;
 
+    /**
+     * Общее число отзывов вещи; в списке comments только последние из них.
+     */
+    private Long commentCount;
+
     public ItemDto(Long id, String name, String description, Long requestId) {
         this.id = id;
         this.name = name;
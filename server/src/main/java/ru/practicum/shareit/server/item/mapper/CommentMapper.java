@@ -1,5 +1,6 @@
 package ru.practicum.shareit.server.item.mapper;
 
+import ru.practicum.shareit.api.dto.CommentPayload;
 import ru.practicum.shareit.server.item.dto.CommentDto;
 import ru.practicum.shareit.server.item.model.Comment;
 
@@ -16,6 +17,11 @@ public class CommentMapper {
                 .created(comment.getCreated()).build();
     }
 
+    public static CommentDto mapToCommentDto(CommentPayload payload) {
+        return CommentDto.builder()
+                .text(payload.text()).build();
+    }
+
     public static Comment mapCommentDtoToComment(CommentDto commentDto) {
         return Comment.builder()
                 .id(commentDto.getId())
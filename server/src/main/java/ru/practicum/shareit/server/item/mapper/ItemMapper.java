@@ -1,5 +1,6 @@
 package ru.practicum.shareit.server.item.mapper;
 
+import ru.practicum.shareit.api.dto.ItemPayload;
 import ru.practicum.shareit.server.item.dto.ItemDto;
 import ru.practicum.shareit.server.item.dto.ItemNameDto;
 import ru.practicum.shareit.server.item.model.Item;
@@ -20,6 +21,10 @@ public class ItemMapper {
                 .build();
     }
 
+    public static ItemDto mapToItemDto(ItemPayload payload) {
+        return new ItemDto(null, payload.name(), payload.description(), payload.available(), payload.requestId());
+    }
+
     public static Item mapItemNameDtoToItem(ItemNameDto itemNameDto) {
         return Item.builder()
                 .id(itemNameDto.getId())
@@ -35,10 +35,11 @@ public class Item {
     private String name;
 
     /**
-     * Развернутое описание.
+     * Развернутое описание. Длина не ограничена, как и у столбца items.description.
      */
     @NotBlank
     @NotNull
+    @Column(name = "description", columnDefinition = "varchar")
     private String description;
 
     /**
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.server.item.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Класс представляет сводку отзывов вещи: общее число отзывов и несколько последних отзывов.
+ * Сводка обновляется при добавлении отзыва, поэтому карточке вещи не нужно читать таблицу comments.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "item_comment_summary")
+public class ItemCommentSummary {
+    /**
+     * Идентификатор вещи.
+     */
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    /**
+     * Общее число отзывов вещи.
+     */
+    @Column(name = "comment_count", nullable = false)
+    private long commentCount;
+
+    /**
+     * Последние отзывы вещи в формате JSON, от новых к старым.
+     */
+    @Column(name = "latest_comments", length = 16384)
+    private String latestComments;
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.server.item.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Кэш вещей, на которые пользователь уже может оставить отзыв.
+ * Хранятся только положительные ответы: завершившееся подтвержденное бронирование не перестает быть
+ * завершившимся, а отрицательный ответ устаревает сам по себе с окончанием бронирования.
+ * Записи пользователя сбрасываются при изменении статуса любого его бронирования.
+ * Размер кэша ограничен числом пользователей; при переполнении кэш очищается целиком.
+ */
+@Component
+public class CommentEligibilityCache {
+    private final Map<Long, Set<Long>> eligibleItemsByUser = new ConcurrentHashMap<>();
+    private final int maxUsers;
+
+    public CommentEligibilityCache(@Value("${shareit.comment-eligibility-cache.max-users:10000}") int maxUsers) {
+        this.maxUsers = maxUsers;
+    }
+
+    /**
+     * Проверка, известно ли, что пользователь может оставить отзыв на вещь.
+     *
+     * @param userId Идентификатор пользователя.
+     * @param itemId Идентификатор вещи.
+     * @return true, если положительный ответ уже был получен ранее.
+     */
+    public boolean isEligible(Long userId, Long itemId) {
+        Set<Long> items = eligibleItemsByUser.get(userId);
+        return items != null && items.contains(itemId);
+    }
+
+    /**
+     * Запоминание положительного ответа проверки.
+     *
+     * @param userId Идентификатор пользователя.
+     * @param itemId Идентификатор вещи.
+     */
+    public void markEligible(Long userId, Long itemId) {
+        if (maxUsers <= 0) {
+            return;
+        }
+        if (eligibleItemsByUser.size() >= maxUsers && !eligibleItemsByUser.containsKey(userId)) {
+            eligibleItemsByUser.clear();
+        }
+        eligibleItemsByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(itemId);
+    }
+
+    /**
+     * Сброс записей пользователя.
+     *
+     * @param userId Идентификатор пользователя.
+     */
+    public void evict(Long userId) {
+        eligibleItemsByUser.remove(userId);
+    }
+}
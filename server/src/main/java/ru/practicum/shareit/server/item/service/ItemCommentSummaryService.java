@@ -0,0 +1,11 @@
+package ru.practicum.shareit.server.item.service;
+
+import ru.practicum.shareit.server.item.dto.CommentDto;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+
+public interface ItemCommentSummaryService {
+
+    void onCommentCreated(Long itemId, CommentDto comment);
+
+    void fillComments(ItemDto item);
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.server.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.item.dto.CommentDto;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.mapper.CommentMapper;
+import ru.practicum.shareit.server.item.model.ItemCommentSummary;
+import ru.practicum.shareit.server.item.storage.CommentRepository;
+import ru.practicum.shareit.server.item.storage.ItemCommentSummaryRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сервисный класс для ведения сводок отзывов вещей.
+ * При добавлении отзыва счетчик увеличивается, а отзыв добавляется в начало списка последних отзывов;
+ * полный пересчет по таблице comments выполняется, только если сводки еще нет.
+ */
+@Slf4j
+@Service
+public class ItemCommentSummaryServiceImpl implements ItemCommentSummaryService {
+    private static final TypeReference<List<CommentDto>> COMMENT_LIST = new TypeReference<>() {
+    };
+
+    private final ItemCommentSummaryRepository summaryRepository;
+    private final CommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
+    private final int snapshotSize;
+
+    @Autowired
+    public ItemCommentSummaryServiceImpl(ItemCommentSummaryRepository summaryRepository,
+                                         CommentRepository commentRepository,
+                                         ObjectMapper objectMapper,
+                                         @Value("${shareit.item-comments.snapshot-size:10}") int snapshotSize) {
+        this.summaryRepository = summaryRepository;
+        this.commentRepository = commentRepository;
+        this.objectMapper = objectMapper;
+        this.snapshotSize = snapshotSize;
+    }
+
+    /**
+     * Учет нового отзыва. Строка сводки блокируется, чтобы одновременные отзывы на одну вещь
+     * не потеряли друг друга. Блокировка отсутствующей строки ничего не блокирует, поэтому сводка
+     * сначала создается вставкой без конфликта ключа: при одновременных первых отзывах одна транзакция
+     * создает и пересчитывает сводку, а другая дожидается ее и добавляет свой отзыв к созданной сводке.
+     *
+     * @param itemId  Идентификатор вещи.
+     * @param comment Сохраненный отзыв.
+     */
+    @Override
+    @Transactional
+    public void onCommentCreated(Long itemId, CommentDto comment) {
+        ItemCommentSummary summary = summaryRepository.findByIdForUpdate(itemId).orElse(null);
+        if (summary == null) {
+            if (summaryRepository.insertIfAbsent(itemId) > 0) {
+                summaryRepository.save(recalculate(itemId));
+                return;
+            }
+            summary = summaryRepository.findByIdForUpdate(itemId).orElseThrow();
+        }
+        List<CommentDto> latest = new ArrayList<>(snapshotSize);
+        latest.add(comment);
+        for (CommentDto previous : read(summary.getLatestComments())) {
+            if (latest.size() >= snapshotSize) {
+                break;
+            }
+            latest.add(previous);
+        }
+        summary.setCommentCount(summary.getCommentCount() + 1);
+        summary.setLatestComments(write(latest));
+    }
+
+    /**
+     * Заполнение последних отзывов и общего числа отзывов вещи из сводки.
+     * Если сводки нет (например, отзывы добавлены до ее появления), отзывы читаются из таблицы comments.
+     *
+     * @param item Вещь, для которой заполняются отзывы.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void fillComments(ItemDto item) {
+        ItemCommentSummary summary = summaryRepository.findById(item.getId())
+                .orElseGet(() -> recalculate(item.getId()));
+        item.setComments(read(summary.getLatestComments()));
+        item.setCommentCount(summary.getCommentCount());
+    }
+
+    private ItemCommentSummary recalculate(Long itemId) {
+        ItemCommentSummary summary = new ItemCommentSummary();
+        summary.setItemId(itemId);
+        summary.setCommentCount(commentRepository.countByItemId(itemId));
+        summary.setLatestComments(write(commentRepository.findLatestByItemId(itemId, Limit.of(snapshotSize))
+                .stream()
+                .map(CommentMapper::mapToCommentDto)
+                .toList()));
+        return summary;
+    }
+
+    private List<CommentDto> read(String json) {
+        if (json == null) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, COMMENT_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось прочитать последние отзывы из сводки", e);
+        }
+    }
+
+    private String write(List<CommentDto> comments) {
+        try {
+            return objectMapper.writeValueAsString(comments);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось записать последние отзывы в сводку", e);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package ru.practicum.shareit.server.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.booking.service.ItemBookingSummaryService;
+import ru.practicum.shareit.server.config.ReadYourWritesTracker;
+import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.exception.ServiceUnavailableException;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.mapper.ItemMapper;
+import ru.practicum.shareit.server.item.storage.ItemRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Сборка карточки вещи: вещь, страница последних отзывов и последнее/следующее бронирование.
+ * Вещь читается в потоке запроса, а отзывы и бронирования — параллельно в ограниченном пуле,
+ * так что время ответа определяется самым медленным запросом, а не их суммой.
+ * На всю сборку отводится общий срок; не уложившиеся задачи отменяются, и запрос завершается ошибкой 503.
+ * Внутри открытой транзакции части читаются последовательно в текущем потоке,
+ * чтобы видеть ещё не зафиксированные изменения этой транзакции.
+ * Параллельная сборка занимает до трех соединений пула shareit-oltp, поэтому одновременных
+ * параллельных сборок не больше, чем помещается в пул с запасом; остальные запросы
+ * собирают карточку последовательно.
+ * Последнее и следующее бронирование заполняются только для владельца вещи.
+ */
+@Slf4j
+@Component
+public class ItemDetailAssembler implements DisposableBean {
+    /**
+     * Соединения одной параллельной сборки: вещь и две части.
+     */
+    private static final int CONNECTIONS_PER_LOAD = 3;
+
+    private final ItemRepository itemRepository;
+    private final ItemCommentSummaryService commentSummaryService;
+    private final ItemBookingSummaryService summaryService;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore parallelLoads;
+    private final long deadlineNanos;
+
+    public ItemDetailAssembler(ItemRepository itemRepository,
+                               ItemCommentSummaryService commentSummaryService,
+                               ItemBookingSummaryService summaryService,
+                               ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+                               @Value("${shareit.item-detail.parallelism:8}") int parallelism,
+                               @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                               @Value("${shareit.item-detail.deadline:1s}") Duration deadline) {
+        this.itemRepository = itemRepository;
+        this.commentSummaryService = commentSummaryService;
+        this.summaryService = summaryService;
+        this.readYourWritesTracker = readYourWritesTracker.getIfAvailable();
+        this.deadlineNanos = deadline.toNanos();
+        // одно соединение пула остается свободным для остальных запросов
+        this.parallelLoads = new Semaphore(Math.max(1, (poolSize - 1) / CONNECTIONS_PER_LOAD));
+        AtomicInteger threadNumber = new AtomicInteger();
+        // при заполненной очереди задачу выполняет поток запроса: нагрузка не копится в пуле сверх его размера
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(parallelism * 4),
+                task -> {
+                    Thread thread = new Thread(task, "item-detail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Карточка вещи с отзывами и, если ее запрашивает владелец, с бронированиями.
+     *
+     * @param itemId Идентификатор вещи.
+     * @param userId Идентификатор пользователя, запрашивающего вещь.
+     * @return Представление вещи в виде объекта ItemDto.
+     */
+    public ItemDto assemble(Long itemId, Long userId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || !parallelLoads.tryAcquire()) {
+            ItemDto dto = loadItem(itemId);
+            commentSummaryService.fillComments(dto);
+            if (dto.getOwner() != null && dto.getOwner().getId().equals(userId)) {
+                summaryService.fillBookings(List.of(dto));
+            }
+            return dto;
+        }
+        try {
+            return assembleInParallel(itemId, userId);
+        } finally {
+            parallelLoads.release();
+        }
+    }
+
+    private ItemDto assembleInParallel(Long itemId, Long userId) {
+        long deadlineAt = System.nanoTime() + deadlineNanos;
+        boolean pinned = readYourWritesTracker != null && readYourWritesTracker.isPinnedToPrimary();
+        // отзывам и бронированиям нужен только идентификатор вещи, поэтому они читаются одновременно с ней,
+        // каждая часть в свой ItemDto; в карточку части переносятся после завершения всех задач.
+        // Владелец вещи проверяется отдельным запросом по ключу, чтобы не ждать загрузки самой вещи
+        ItemDto commentsPart = partOf(itemId);
+        ItemDto bookingsPart = partOf(itemId);
+        Future<?> comments = executor.submit(() -> inContext(pinned,
+                () -> commentSummaryService.fillComments(commentsPart)));
+        Future<?> bookings = executor.submit(() -> inContext(pinned, () -> {
+            if (userId != null && itemRepository.existsByIdAndOwnerId(itemId, userId)) {
+                summaryService.fillBookings(List.of(bookingsPart));
+            }
+        }));
+        ItemDto dto;
+        try {
+            dto = loadItem(itemId);
+        } catch (RuntimeException e) {
+            cancel(comments, bookings);
+            throw e;
+        }
+        await(itemId, deadlineAt, comments, bookings);
+        dto.setComments(commentsPart.getComments());
+        dto.setCommentCount(commentsPart.getCommentCount());
+        dto.setLastBooking(bookingsPart.getLastBooking());
+        dto.setNextBooking(bookingsPart.getNextBooking());
+        return dto;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private ItemDto loadItem(Long itemId) {
+        return ItemMapper.mapToItemDtoWithComments(itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Вещь с id = " + itemId + " не найдена!")));
+    }
+
+    private static ItemDto partOf(Long itemId) {
+        ItemDto part = new ItemDto();
+        part.setId(itemId);
+        return part;
+    }
+
+    private void inContext(boolean pinned, Runnable part) {
+        if (!pinned) {
+            part.run();
+            return;
+        }
+        readYourWritesTracker.pinToPrimary();
+        try {
+            part.run();
+        } finally {
+            readYourWritesTracker.unpin();
+        }
+    }
+
+    private void await(Long itemId, long deadlineAt, Future<?>... parts) {
+        try {
+            // время чтения самой вещи тоже входит в срок
+            if (deadlineAt - System.nanoTime() <= 0) {
+                throw new TimeoutException();
+            }
+            for (Future<?> part : parts) {
+                part.get(Math.max(0, deadlineAt - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException e) {
+            log.warn("Карточка вещи с id = {} не собрана за {} мс", itemId,
+                    TimeUnit.NANOSECONDS.toMillis(deadlineNanos));
+            cancel(parts);
+            throw new ServiceUnavailableException("Карточка вещи с id = " + itemId + " не собрана вовремя.");
+        } catch (InterruptedException e) {
+            cancel(parts);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Сборка карточки вещи с id = " + itemId + " прервана.");
+        } catch (ExecutionException e) {
+            cancel(parts);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void cancel(Future<?>... parts) {
+        for (Future<?> part : parts) {
+            part.cancel(true);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package ru.practicum.shareit.server.item.service;
 
 import ru.practicum.shareit.server.item.dto.CommentDto;
+import ru.practicum.shareit.server.item.dto.CommentPageDto;
 import ru.practicum.shareit.server.item.dto.ItemDto;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Интерфейс, в котором определены методы добавления, удаления и модификации объектов Item.
@@ -22,9 +24,14 @@ public interface ItemService {
     List<ItemDto> getAllItemsByUserId(Long userId);
 
     /**
-     * Получение вещи по идентификатору.
+     * Потоковая выдача всех вещей владельца без накопления списка в памяти.
      */
-    ItemDto getItemById(Long id);
+    void streamAllItemsByUserId(Long userId, Consumer<ItemDto> action);
+
+    /**
+     * Получение вещи по идентификатору. Бронирования вещи заполняются, только если ее запрашивает владелец.
+     */
+    ItemDto getItemById(Long id, Long userId);
 
     /**
      * Поиск вещей.
@@ -60,4 +67,9 @@ public interface ItemService {
      * Получение всех отзывов о вещи, идентификатор которой указан.
      */
      List<CommentDto> getCommentsByItemId(Long itemId);
+
+    /**
+     * Получение страницы отзывов о вещи, от новых к старым.
+     */
+    CommentPageDto getCommentPage(Long itemId, String cursor, Integer size);
 }
\ No newline at end of file
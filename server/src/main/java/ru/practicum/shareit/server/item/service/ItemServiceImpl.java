@@ -2,24 +2,32 @@ package ru.practicum.shareit.server.item.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.server.booking.model.Booking;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.booking.storage.ArchivedBookingRepository;
 import ru.practicum.shareit.server.booking.storage.BookingRepository;
 import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.booking.service.ItemBookingSummaryService;
 import ru.practicum.shareit.server.exception.InvalidRequestException;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.exception.ValidationException;
+import ru.practicum.shareit.server.export.dto.ItemExportDto;
+import ru.practicum.shareit.server.item.catalog.ItemCatalog;
 
 import ru.practicum.shareit.server.item.storage.CommentRepository;
 import ru.practicum.shareit.server.item.storage.ItemRepository;
 import ru.practicum.shareit.server.item.dto.CommentDto;
+import ru.practicum.shareit.server.item.dto.CommentPageDto;
 import ru.practicum.shareit.server.item.dto.ItemDto;
 import ru.practicum.shareit.server.item.mapper.CommentMapper;
 import ru.practicum.shareit.server.item.mapper.ItemMapper;
 import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
 
+import ru.practicum.shareit.server.outbox.service.OutboxService;
+import ru.practicum.shareit.server.pagination.KeysetCursor;
 import ru.practicum.shareit.server.request.service.ItemRequestService;
 import ru.practicum.shareit.server.user.storage.UserRepository;
 import ru.practicum.shareit.server.user.mapper.UserMapper;
@@ -27,8 +35,12 @@ import ru.practicum.shareit.server.user.model.User;
 import ru.practicum.shareit.server.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 import static java.util.stream.Collectors.toList;
@@ -40,68 +52,130 @@ import static java.util.stream.Collectors.toList;
 @Slf4j
 @Service
 public class ItemServiceImpl implements ItemService {
+    /**
+     * Размер порции вещей при потоковой выдаче.
+     */
+    private static final int STREAM_CHUNK_SIZE = 500;
+
     private final ItemRepository itemRepository;
     private final CommentRepository commentRepository;
     private final UserService userService;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final ItemRequestService requestService;
+    private final ItemBookingSummaryService summaryService;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final CommentEligibilityCache eligibilityCache;
+    private final ItemCommentSummaryService commentSummaryService;
+    private final ItemCatalog itemCatalog;
+    private final OutboxService outboxService;
+    private final ItemDetailAssembler detailAssembler;
 
     @Autowired
     public ItemServiceImpl(ItemRepository itemRepository, CommentRepository commentRepository,
                            UserService userService, UserRepository userRepository,
-                           BookingRepository bookingRepository, ItemRequestService requestService) {
+                           BookingRepository bookingRepository, ItemRequestService requestService,
+                           ItemBookingSummaryService summaryService,
+                           ArchivedBookingRepository archivedBookingRepository,
+                           CommentEligibilityCache eligibilityCache,
+                           ItemCommentSummaryService commentSummaryService,
+                           ItemCatalog itemCatalog, OutboxService outboxService,
+                           ItemDetailAssembler detailAssembler) {
         this.itemRepository = itemRepository;
         this.commentRepository = commentRepository;
         this.userService = userService;
         this.userRepository = userRepository;
         this.bookingRepository = bookingRepository;
         this.requestService = requestService;
-
+        this.summaryService = summaryService;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.eligibilityCache = eligibilityCache;
+        this.commentSummaryService = commentSummaryService;
+        this.itemCatalog = itemCatalog;
+        this.outboxService = outboxService;
+        this.detailAssembler = detailAssembler;
     }
 
     /**
-     * Получение всех вещей.
+     * Получение всех вещей. Если каталог вещей в памяти загружен, вещи берутся из него.
      *
      * @return Коллекция вещей.
      */
     @Override
     public Collection<ItemDto> getAll() {
         log.info("Запрос на получение всех вещей.");
+        if (itemCatalog.isReady()) {
+            return itemCatalog.getAll();
+        }
         return itemRepository.findAll().stream()
                 .map(ItemMapper::mapToItemDtoWithComments)
                 .toList();
     }
 
     /**
-     * Получение всех вещей владельца по его идентификатору.
+     * Получение всех вещей владельца по его идентификатору. Каталог вещей в памяти используется,
+     * если владелец не изменял данные в пределах окна чтения своих записей.
      *
      * @param userId Идентификатор пользователя - владельца вещей.
      * @return Список вещей владельца.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> getAllItemsByUserId(Long userId) {
         User user = userRepository.findById(userId).orElseThrow(
                 () -> new NotFoundException("Пользователь с id = " + userId + " не найден"));
 
-        return itemRepository.findByOwnerId(userId).stream()
-                .map(ItemMapper::mapToItemDtoWithComments)
-                .collect(toList());
+        List<ItemDto> items = itemCatalog.isReadyFor(userId)
+                ? itemCatalog.getByOwner(userId)
+                : itemRepository.findDtoByOwnerId(userId);
+        summaryService.fillBookings(items);
+        return items;
+    }
+
+    /**
+     * Потоковая выдача всех вещей владельца. Строки читаются курсором и передаются потребителю порциями
+     * по STREAM_CHUNK_SIZE: для каждой порции одним запросом заполняются последнее и следующее бронирование,
+     * как и в обычном списке вещей владельца.
+     *
+     * @param userId Идентификатор пользователя - владельца вещей.
+     * @param action Потребитель, которому передается каждая вещь.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllItemsByUserId(Long userId, Consumer<ItemDto> action) {
+        userRepository.findById(userId).orElseThrow(
+                () -> new NotFoundException("Пользователь с id = " + userId + " не найден"));
+
+        List<ItemDto> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        try (Stream<ItemDto> items = itemRepository.streamDtoByOwnerId(userId)) {
+            items.forEach(item -> {
+                chunk.add(item);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    flushChunk(chunk, action);
+                }
+            });
+        }
+        flushChunk(chunk, action);
+    }
+
+    private void flushChunk(List<ItemDto> chunk, Consumer<ItemDto> action) {
+        summaryService.fillBookings(chunk);
+        chunk.forEach(action);
+        chunk.clear();
     }
 
     /**
-     * Получение вещи по ее идентификатору.
+     * Получение вещи по ее идентификатору. Вещь, отзывы и бронирования читаются параллельно;
+     * последнее и следующее бронирование видит только владелец вещи.
      *
      * @param itemId Идентификатор вещи.
+     * @param userId Идентификатор пользователя, запрашивающего вещь.
      * @return Вещь с указанным идентификатором.
      */
     @Override
-    public ItemDto getItemById(Long itemId) {
+    public ItemDto getItemById(Long itemId, Long userId) {
         log.info("Попытка получить вещь с id = {}", itemId);
-        ItemDto dto = ItemMapper.mapToItemDtoWithComments(itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException("Вещь с id = " + itemId + " не найдена!")));
-        dto.setComments(getCommentsByItemId(itemId));
-        return dto;
+        return detailAssembler.assemble(itemId, userId);
     }
 
     /**
@@ -120,6 +194,9 @@ public class ItemServiceImpl implements ItemService {
             return List.of();
         }
 
+        if (itemCatalog.isReady()) {
+            return itemCatalog.search(text);
+        }
         List<ItemDto> itemsDto = getAll().stream()
                 .filter(item -> item.getName().toLowerCase().contains(text.toLowerCase()) ||
                         item.getDescription().toLowerCase().contains(text.toLowerCase()))
@@ -140,6 +217,7 @@ public class ItemServiceImpl implements ItemService {
      * @return Добавленная вещь.
      */
     @Override
+    @Transactional
     public ItemDto addItem(Long userId, ItemDto itemDto) {
         User user = userRepository.findById(userId).orElseThrow(() ->
                 new NotFoundException("Пользователь с таким Id " + userId + " не найден"));
@@ -154,7 +232,9 @@ public class ItemServiceImpl implements ItemService {
             requestService.addItemToRequest(itemDto);
         }
 
-        ItemDto addingItem = ItemMapper.mapToItemDtoWithComments(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        publishItemChange(ItemCatalog.ITEM_CREATED, saved);
+        ItemDto addingItem = ItemMapper.mapToItemDtoWithComments(saved);
         addingItem.setComments(itemDto.getComments());
         return addingItem;
     }
@@ -168,6 +248,7 @@ public class ItemServiceImpl implements ItemService {
      * @return Обновленная вещь.
      */
     @Override
+    @Transactional
     public ItemDto updateItem(Long userId, Long itemId, ItemDto newItemDto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id = " + userId + " не найден."));
@@ -189,9 +270,10 @@ public class ItemServiceImpl implements ItemService {
             oldItem.setAvailable(newItemDto.getAvailable());
         }
 
-        ItemDto newDto = ItemMapper.mapToItemDtoWithComments(itemRepository.save(oldItem));
-        List<CommentDto> commentDtos = getCommentsByItemId(newItemDto.getId());
-        newDto.setComments(commentDtos);
+        Item saved = itemRepository.save(oldItem);
+        publishItemChange(ItemCatalog.ITEM_UPDATED, saved);
+        ItemDto newDto = ItemMapper.mapToItemDtoWithComments(saved);
+        commentSummaryService.fillComments(newDto);
         return newDto;
     }
 
@@ -201,10 +283,14 @@ public class ItemServiceImpl implements ItemService {
      * @param userId Идентификатор пользователя.
      */
     @Override
+    @Transactional
     public void removeAllItemsByOwnerId(Long userId) {
         User user = userRepository.findById(userId).orElseThrow(
                 () -> new NotFoundException("Пользователь с id = " + userId + " не найден.")
         );
+        itemRepository.findIdsByOwnerId(userId).forEach(itemId -> itemCatalog.recordWrite(userId,
+                outboxService.publish(ItemCatalog.ITEM_AGGREGATE, itemId, ItemCatalog.ITEM_DELETED, itemId)));
+        requestService.removeOwnerItemsFromRequests(userId);
         itemRepository.removeItemByOwnerId(userId);
     }
 
@@ -215,6 +301,7 @@ public class ItemServiceImpl implements ItemService {
      * @param userId Идентификатор пользователя - владельца вещи.
      */
     @Override
+    @Transactional
     public void removeItemById(Long itemId, Long userId) {
         User user = userRepository.findById(userId).orElseThrow(
                 () -> new NotFoundException("Пользователь с id = " + userId + " не найден.")
@@ -226,10 +313,15 @@ public class ItemServiceImpl implements ItemService {
             throw new ValidationException("Пользователь не является владельцем вещи.");
         }
         itemRepository.removeItemByIdAndOwnerId(itemId, userId);
+        if (item.getRequestId() != null) {
+            requestService.removeItemFromRequest(item.getRequestId());
+        }
+        itemCatalog.recordWrite(userId,
+                outboxService.publish(ItemCatalog.ITEM_AGGREGATE, itemId, ItemCatalog.ITEM_DELETED, itemId));
     }
 
     /**
-     * Создания отзыва для вещи.
+     * Создания отзыва для вещи. Отзыв и изменение сводки отзывов фиксируются одной транзакцией.
      *
      * @param commentDto Отзыв в формате Дто.
      * @param itemId     Идентификатор вещи.
@@ -237,11 +329,11 @@ public class ItemServiceImpl implements ItemService {
      * @return Добавленный отзыв.
      */
     @Override
+    @Transactional
     public CommentDto createComment(CommentDto commentDto, Long itemId, Long userId) {
         User user = userRepository.findById(userId).orElseThrow(
                 () -> new InvalidRequestException("Пользователь с id = " + userId + " не найден."));
 
-        isItemBooker(userId, itemId);
         Item item = itemRepository.findById(itemId).get();
         if (commentDto == null) {
             throw new NotFoundException("Комментарий отсутствует");
@@ -250,21 +342,17 @@ public class ItemServiceImpl implements ItemService {
             throw new NotFoundException("Текст комментария отсутствует.");
         }
 
-        final Booking booking = bookingRepository.getAllByBookerId(userId).stream()
-                .filter(b -> b.getItem().getId().equals(itemId))
-                .filter(b -> b.getStatus().equals(Status.APPROVED))
-                .findFirst()
-                .orElseThrow(() -> new ValidationException("Бронирование вещи не подверждено, " +
-                        "нельзя добавить комментарий."));
-
-        checkBookingEndTime(booking);
+        checkCommentEligibility(userId, itemId);
 
         Comment comment = new Comment();
         comment.setItem(item);
         comment.setAuthor(user);
         comment.setText(commentDto.getText());
-        comment.setCreated(LocalDateTime.now());
-        return CommentMapper.mapToCommentDto(commentRepository.save(comment));
+        // Точность времени как в базе, чтобы ключ курсора страниц совпадал с сохраненным значением.
+        comment.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        CommentDto created = CommentMapper.mapToCommentDto(commentRepository.save(comment));
+        commentSummaryService.onCommentCreated(itemId, created);
+        return created;
     }
 
     /**
@@ -281,6 +369,51 @@ public class ItemServiceImpl implements ItemService {
                 .collect(toList());
     }
 
+    /**
+     * Метод получения страницы отзывов вещи. Страницы выбираются по ключу (created, id), поэтому
+     * стоимость запроса не зависит от номера страницы.
+     *
+     * @param itemId Идентификатор вещи.
+     * @param cursor Курсор из предыдущей страницы; null для первой страницы.
+     * @param size   Количество отзывов на странице.
+     * @return Страница отзывов и курсор следующей страницы.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPageDto getCommentPage(Long itemId, String cursor, Integer size) {
+        if (size == null || size <= 0) {
+            throw new ValidationException("Размер страницы должен быть положительным.");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Вещь с id = " + itemId + " не найдена!");
+        }
+        List<Comment> comments;
+        if (cursor == null) {
+            comments = commentRepository.findLatestByItemId(itemId, Limit.of(size));
+        } else {
+            KeysetCursor key = KeysetCursor.decode(cursor);
+            comments = commentRepository.findLatestByItemIdBefore(itemId, key.getCreated(), key.getId(),
+                    Limit.of(size));
+        }
+        String nextCursor = null;
+        if (comments.size() == size) {
+            Comment last = comments.get(comments.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreated(), last.getId()).encode();
+        }
+        return new CommentPageDto(comments.stream().map(CommentMapper::mapToCommentDto).toList(), nextCursor);
+    }
+
+    /**
+     * Запись события изменения вещи в исходящую очередь; по этим событиям обновляется каталог вещей.
+     * Пока событие не применено к каталогу, список вещей владельца читается из базы.
+     */
+    private void publishItemChange(String eventType, Item item) {
+        Long eventId = outboxService.publish(ItemCatalog.ITEM_AGGREGATE, item.getId(), eventType,
+                new ItemExportDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                        item.getOwner().getId(), item.getRequestId()));
+        itemCatalog.recordWrite(item.getOwner().getId(), eventId);
+    }
+
     /**
      * Метод для валидации объекта ItemDto
      *
@@ -300,33 +433,24 @@ public class ItemServiceImpl implements ItemService {
     }
 
     /**
-     * Метод для проверки, является ли пользователь арендатором вещи.
-     *
-     * @param userId Идентификатор пользователя.
-     * @param itemId Идентификатор вещи.
-     * @return Результат проверки true/false.
+     * Проверка права пользователя оставить отзыв на вещь: у него должно быть завершившееся
+     * подтвержденное бронирование этой вещи, в основной таблице или в архиве.
+     * Каждая проверка - запрос EXISTS по индексу (booker_id, item_id, status, end_date).
      */
-    private Boolean isItemBooker(Long userId, Long itemId) {
-        List<Booking> bookings = bookingRepository.getAllByBookerId(userId);
-        if (bookings.isEmpty()) {
-            return false;
+    private void checkCommentEligibility(Long userId, Long itemId) {
+        if (eligibilityCache.isEligible(userId, itemId)) {
+            return;
         }
-        for (Booking b : bookings) {
-            if (b.getItem().getId().equals(itemId) && b.getStart().isBefore(LocalDateTime.now())) {
-                return true;
+        if (!bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(userId, itemId, Status.APPROVED,
+                LocalDateTime.now())) {
+            if (bookingRepository.existsByBookerIdAndItemIdAndStatus(userId, itemId, Status.APPROVED)) {
+                throw new ValidationException("Бронирование вещи еще не завершено.");
+            }
+            // В архиве только давно завершившиеся бронирования, проверять дату окончания не нужно.
+            if (!archivedBookingRepository.existsByBookerIdAndItemIdAndStatus(userId, itemId, Status.APPROVED)) {
+                throw new ValidationException("Бронирование вещи не подверждено, нельзя добавить комментарий.");
             }
         }
-        return false;
-    }
-
-    /**
-     * Метод для проверки факта, что бронирование вещи завершено на настоящий момент.
-     *
-     * @param booking Бронирование вещи.
-     */
-    private void checkBookingEndTime(Booking booking) {
-        if (booking.getEnd().isAfter(LocalDateTime.now())) {
-            throw new ValidationException("Бронирование вещи еще не завершено.");
-        }
+        eligibilityCache.markEligible(userId, itemId);
     }
 }
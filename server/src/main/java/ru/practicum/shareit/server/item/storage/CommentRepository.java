@@ -1,13 +1,28 @@
 package ru.practicum.shareit.server.item.storage;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.server.item.model.Comment;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     Collection<Comment> findAllByItemId(Long itemId, Sort sort);
 
-}
\ No newline at end of file
+    long countByItemId(Long itemId);
+
+    @Query("select c from Comment c join fetch c.author " +
+            "where c.item.id = ?1 " +
+            "order by c.created desc, c.id desc")
+    List<Comment> findLatestByItemId(Long itemId, Limit limit);
+
+    @Query("select c from Comment c join fetch c.author " +
+            "where c.item.id = ?1 and (c.created < ?2 or (c.created = ?2 and c.id < ?3)) " +
+            "order by c.created desc, c.id desc")
+    List<Comment> findLatestByItemIdBefore(Long itemId, LocalDateTime created, Long id, Limit limit);
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.server.item.storage;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.server.item.model.ItemCommentSummary;
+
+import java.util.Optional;
+
+public interface ItemCommentSummaryRepository extends JpaRepository<ItemCommentSummary, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemCommentSummary s where s.itemId = ?1")
+    Optional<ItemCommentSummary> findByIdForUpdate(Long itemId);
+
+    /**
+     * Создание пустой сводки, если ее еще нет. Параллельная вставка той же сводки ждет завершения
+     * первой транзакции и ничего не вставляет, поэтому ошибки дублирования ключа не возникает.
+     *
+     * @return 1, если сводка создана этим вызовом, иначе 0.
+     */
+    @Modifying
+    @Query(value = "insert into item_comment_summary (item_id, comment_count) values (?1, 0) on conflict do nothing",
+            nativeQuery = true)
+    int insertIfAbsent(Long itemId);
+}
@@ -1,22 +1,59 @@
 package ru.practicum.shareit.server.item.storage;
 
-import org.springframework.data.domain.Sort;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.server.item.dto.ItemDto;
 import ru.practicum.shareit.server.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findByOwnerId(Long ownerId);
 
+    @Query("select new ru.practicum.shareit.server.item.dto.ItemDto(i.id, i.name, i.description, i.available, " +
+            "i.requestId) " +
+            "from Item i where i.owner.id = ?1")
+    List<ItemDto> findDtoByOwnerId(Long ownerId);
+
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    @Query("select new ru.practicum.shareit.server.item.dto.ItemDto(i.id, i.name, i.description, i.available, " +
+            "i.requestId) " +
+            "from Item i where i.owner.id = ?1")
+    Stream<ItemDto> streamDtoByOwnerId(Long ownerId);
+
+    boolean existsByOwnerId(Long ownerId);
+
+    boolean existsByIdAndOwnerId(Long itemId, Long ownerId);
+
+    @Query("select i.id from Item i where i.owner.id = ?1")
+    List<Long> findIdsByOwnerId(Long ownerId);
+
+    @Query("select i.id from Item i")
+    List<Long> findAllIds();
+
+    @Query("select i from Item i join fetch i.owner where i.requestId in (?1)")
+    List<Item> findAllWithOwnerByRequestIdIn(Collection<Long> requestIds);
+
     void removeItemByOwnerId(Long ownerId);
 
     void removeItemByIdAndOwnerId(Long itemId, Long userId);
 
-    List<Item> findAllByRequestId(Long requestId, Sort id);
+    /**
+     * Ответы на запрос вещи. Вещи собираются конструктором и не попадают в контекст персистентности;
+     * управляемыми сущностями загружаются только их владельцы.
+     */
+    @Query("select new ru.practicum.shareit.server.item.model.Item(i.id, i.name, i.description, i.available, " +
+            "o, i.requestId) " +
+            "from Item i join i.owner o where i.requestId = ?1 order by i.id")
+    List<Item> findAllByRequestId(Long requestId);
 
     @Query(" select i from Item i " +
             "where lower(i.name) like lower(concat('%', :search, '%')) " +
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.server.outbox.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Класс представляет событие исходящей очереди в том виде, в котором оно передается подписчикам.
+ * Доставка выполняется не менее одного раза, поэтому подписчики должны быть готовы к повторам
+ * и различать события по идентификатору.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEventDto {
+    /**
+     * Уникальный идентификатор события.
+     */
+    private Long id;
+
+    /**
+     * Тип сущности, к которой относится событие.
+     */
+    private String aggregateType;
+
+    /**
+     * Идентификатор сущности, к которой относится событие.
+     */
+    private Long aggregateId;
+
+    /**
+     * Тип события.
+     */
+    private String eventType;
+
+    /**
+     * Содержимое события в формате JSON.
+     */
+    private String payload;
+
+    /**
+     * Дата создания события.
+     */
+    private LocalDateTime created;
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.server.outbox.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Класс представляет событие исходящей очереди (transactional outbox).
+ * Событие записывается в той же транзакции, что и изменение сущности, а доставляется подписчикам
+ * отдельно, диспетчером исходящей очереди.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    /**
+     * Уникальный идентификатор события; задает порядок доставки.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Тип сущности, к которой относится событие, например Booking.
+     */
+    @Column(name = "aggregate_type", nullable = false)
+    private String aggregateType;
+
+    /**
+     * Идентификатор сущности, к которой относится событие.
+     */
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    /**
+     * Тип события, например BOOKING_CREATED.
+     */
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    /**
+     * Содержимое события в формате JSON.
+     */
+    @Column(name = "payload", columnDefinition = "text")
+    private String payload;
+
+    /**
+     * Дата создания события.
+     */
+    @Column(name = "created", nullable = false)
+    private LocalDateTime created;
+
+    /**
+     * Дата доставки события; null, пока событие не доставлено.
+     */
+    @Column(name = "dispatched")
+    private LocalDateTime dispatched;
+
+    /**
+     * Количество неудачных попыток доставки.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * Сообщение последней ошибки доставки.
+     */
+    @Column(name = "last_error", length = 1024)
+    private String lastError;
+
+    /**
+     * Дата, когда событие отложено после исчерпания попыток доставки; такие события больше не доставляются.
+     */
+    @Column(name = "dead_lettered")
+    private LocalDateTime deadLettered;
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.server.outbox.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.server.outbox.dto.OutboxEventDto;
+
+/**
+ * Доставка событий исходящей очереди подписчикам внутри приложения: методам с аннотацией
+ * {@code @EventListener}, принимающим {@link OutboxEventDto}.
+ */
+@Component
+public class ApplicationEventOutboxSink implements OutboxEventSink {
+    private final ApplicationEventPublisher publisher;
+
+    @Autowired
+    public ApplicationEventOutboxSink(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void deliver(OutboxEventDto event) {
+        publisher.publishEvent(event);
+    }
+}
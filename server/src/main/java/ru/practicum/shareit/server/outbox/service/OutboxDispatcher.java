@@ -0,0 +1,216 @@
+package ru.practicum.shareit.server.outbox.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.server.outbox.dto.OutboxEventDto;
+import ru.practicum.shareit.server.outbox.model.OutboxEvent;
+import ru.practicum.shareit.server.outbox.storage.OutboxEventRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Диспетчер исходящей очереди: забирает недоставленные события пакетами по batchSize штук, передает их всем
+ * получателям {@link OutboxEventSink} и отмечает доставленные события пакета одним запросом. Пакет
+ * доставляется в одной транзакции, поэтому ошибка получателя, в том числе ошибка SQL, откатывает доставку
+ * всего пакета. Неудачная попытка учитывается только для события, на котором произошла ошибка, в отдельной
+ * транзакции. Пока попытки не исчерпаны, события до него доставляются повторно отдельным пакетом, а запуск
+ * на этом событии завершается: события доставляются не менее одного раза и в порядке создания. После
+ * maxAttempts неудачных попыток событие откладывается (dead_lettered) и больше не задерживает очередь.
+ * Размер очереди и возраст самого старого события пересчитываются отдельной задачей с большим интервалом,
+ * а не на каждом запуске доставки.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+    /**
+     * Наибольшая длина сохраняемого сообщения об ошибке, по размеру столбца last_error.
+     */
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retention;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Timer deliveryLag;
+    private final Counter deliveryFailures;
+
+    @Autowired
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            List<OutboxEventSink> sinks,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${shareit.outbox.batch-size:100}") int batchSize,
+                            @Value("${shareit.outbox.max-attempts:5}") int maxAttempts,
+                            @Value("${shareit.outbox.retention:7d}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+        Gauge.builder("shareit.outbox.pending", pending, AtomicLong::get)
+                .description("Количество недоставленных событий исходящей очереди")
+                .register(meterRegistry);
+        Gauge.builder("shareit.outbox.dead-lettered", deadLettered, AtomicLong::get)
+                .description("Количество событий, отложенных после исчерпания попыток доставки")
+                .register(meterRegistry);
+        Gauge.builder("shareit.outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Возраст самого старого недоставленного события, секунды")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("shareit.outbox.delivery.lag")
+                .description("Время от записи события до его доставки")
+                .register(meterRegistry);
+        this.deliveryFailures = Counter.builder("shareit.outbox.delivery.failures")
+                .description("Количество ошибок доставки событий")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Доставка накопившихся событий, пока очередь не опустеет или доставка события не завершится ошибкой,
+     * после которой у события остаются попытки.
+     *
+     * @return Количество доставленных событий.
+     */
+    @Scheduled(fixedDelayString = "${shareit.outbox.dispatch-delay-ms:1000}")
+    public int dispatch() {
+        int delivered = 0;
+        int limit = batchSize;
+        boolean lastBatch = false;
+        while (true) {
+            BatchProgress progress = new BatchProgress();
+            int batchLimit = limit;
+            try {
+                Integer count = transactionTemplate.execute(status -> deliverBatch(batchLimit, progress));
+                if (count == null || count == 0) {
+                    break;
+                }
+                delivered += count;
+                if (lastBatch) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                if (progress.current == null) {
+                    break;
+                }
+                if (recordFailure(progress.current, e)) {
+                    continue;
+                }
+                if (progress.delivered == 0 || lastBatch) {
+                    break;
+                }
+                // пакет откатился целиком: события до ошибочного доставляются еще раз без него
+                limit = progress.delivered;
+                lastBatch = true;
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Обновление показателей очереди: количества недоставленных и отложенных событий
+     * и возраста самого старого недоставленного события.
+     */
+    @Scheduled(fixedDelayString = "${shareit.outbox.metrics-delay-ms:30000}")
+    public void updateMetrics() {
+        pending.set(outboxEventRepository.countPending());
+        deadLettered.set(outboxEventRepository.countDeadLettered());
+        LocalDateTime oldest = outboxEventRepository.findOldestPendingCreated();
+        lagMillis.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis());
+    }
+
+    /**
+     * Удаление давно доставленных событий.
+     */
+    @Scheduled(cron = "${shareit.outbox.cleanup-cron:0 0 4 * * *}")
+    public void cleanUp() {
+        Integer removed = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteDispatchedBefore(LocalDateTime.now().minus(retention)));
+        log.info("Удалено {} доставленных событий исходящей очереди", removed);
+    }
+
+    /**
+     * Доставка очередного пакета событий.
+     *
+     * @param limit    Наибольшее количество событий в пакете.
+     * @param progress Ход доставки пакета, нужен для учета ошибки после отката.
+     * @return Количество доставленных событий, 0, если недоставленных событий нет.
+     */
+    private int deliverBatch(int limit, BatchProgress progress) {
+        List<OutboxEvent> events = outboxEventRepository.findPendingForUpdate(Limit.of(limit));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        for (OutboxEvent event : events) {
+            progress.current = event.getId();
+            OutboxEventDto dto = new OutboxEventDto(event.getId(), event.getAggregateType(),
+                    event.getAggregateId(), event.getEventType(), event.getPayload(), event.getCreated());
+            for (OutboxEventSink sink : sinks) {
+                sink.deliver(dto);
+            }
+            progress.delivered++;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.markDispatched(events.stream().map(OutboxEvent::getId).toList(), now);
+        for (OutboxEvent event : events) {
+            deliveryLag.record(Duration.between(event.getCreated(), now));
+        }
+        return events.size();
+    }
+
+    /**
+     * Учет неудачной попытки доставки события.
+     *
+     * @return true, если событие отложено и очередь можно разбирать дальше.
+     */
+    private boolean recordFailure(Long eventId, RuntimeException error) {
+        deliveryFailures.increment();
+        Boolean skipped = transactionTemplate.execute(status -> outboxEventRepository.findById(eventId)
+                .filter(event -> event.getDispatched() == null && event.getDeadLettered() == null)
+                .map(event -> {
+                    event.setAttempts(event.getAttempts() + 1);
+                    event.setLastError(truncate(String.valueOf(error.getMessage())));
+                    if (event.getAttempts() < maxAttempts) {
+                        log.warn("Ошибка доставки события {} {} исходящей очереди, попытка {} из {}",
+                                event.getId(), event.getEventType(), event.getAttempts(), maxAttempts, error);
+                        return false;
+                    }
+                    event.setDeadLettered(LocalDateTime.now());
+                    log.error("Событие {} {} исходящей очереди отложено после {} неудачных попыток доставки",
+                            event.getId(), event.getEventType(), event.getAttempts(), error);
+                    return true;
+                })
+                .orElse(true));
+        return Boolean.TRUE.equals(skipped);
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * Ход доставки пакета: событие, взятое в работу, и количество событий, доставленных до него.
+     */
+    private static final class BatchProgress {
+        private Long current;
+        private int delivered;
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.server.outbox.service;
+
+import ru.practicum.shareit.server.outbox.dto.OutboxEventDto;
+
+/**
+ * Получатель событий исходящей очереди. Диспетчер передает каждое событие всем бинам,
+ * реализующим этот интерфейс; исключение из deliver оставляет событие в очереди для повторной доставки.
+ */
+public interface OutboxEventSink {
+
+    void deliver(OutboxEventDto event);
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.server.outbox.service;
+
+public interface OutboxService {
+
+    Long publish(String aggregateType, Long aggregateId, String eventType, Object payload);
+}
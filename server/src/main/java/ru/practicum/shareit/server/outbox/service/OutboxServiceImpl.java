@@ -0,0 +1,54 @@
+package ru.practicum.shareit.server.outbox.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.outbox.model.OutboxEvent;
+import ru.practicum.shareit.server.outbox.storage.OutboxEventRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сервисный класс для записи событий в исходящую очередь.
+ * Запись возможна только внутри уже открытой транзакции изменения сущности: событие фиксируется
+ * или откатывается вместе с ней.
+ */
+@Service
+public class OutboxServiceImpl implements OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Запись события в исходящую очередь.
+     *
+     * @param aggregateType Тип сущности, к которой относится событие.
+     * @param aggregateId   Идентификатор сущности.
+     * @param eventType     Тип события.
+     * @param payload       Содержимое события; сохраняется в формате JSON.
+     * @return Идентификатор записанного события.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Long publish(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        event.setCreated(LocalDateTime.now());
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось записать содержимое события " + eventType, e);
+        }
+        return outboxEventRepository.save(event).getId();
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.server.outbox.storage;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.server.outbox.dto.OutboxEventDto;
+import ru.practicum.shareit.server.outbox.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Очередные недоставленные события. Строки блокируются с пропуском уже заблокированных,
+     * поэтому несколько экземпляров приложения разбирают очередь, не мешая друг другу.
+     * Отложенные после исчерпания попыток события не выбираются.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.dispatched is null and e.deadLettered is null order by e.id")
+    List<OutboxEvent> findPendingForUpdate(Limit limit);
+
+    @Query("select count(e) from OutboxEvent e where e.dispatched is null and e.deadLettered is null")
+    long countPending();
+
+    @Query("select count(e) from OutboxEvent e where e.deadLettered is not null")
+    long countDeadLettered();
+
+    @Query("select min(e.created) from OutboxEvent e where e.dispatched is null and e.deadLettered is null")
+    LocalDateTime findOldestPendingCreated();
+
+    /**
+     * События с идентификатором больше указанного независимо от их доставки, в порядке идентификаторов.
+     * Содержимое возвращается только для событий указанного типа сущности; по остальным видны
+     * лишь пропуски в идентификаторах.
+     */
+    @Query("select new ru.practicum.shareit.server.outbox.dto.OutboxEventDto(e.id, e.aggregateType, e.aggregateId, "
+            + "e.eventType, case when e.aggregateType = ?2 then e.payload end, e.created) "
+            + "from OutboxEvent e where e.id > ?1 order by e.id")
+    List<OutboxEventDto> findAllAfter(long id, String aggregateType, Limit limit);
+
+    @Query("select max(e.id) from OutboxEvent e where e.created < ?1")
+    Long findMaxIdCreatedBefore(LocalDateTime before);
+
+    /**
+     * Отметка доставленными событий одного пакета одним запросом. Изменения получателей записываются
+     * в базу до запроса, а контекст постоянства очищается после него, чтобы не оставлять в нем
+     * устаревшие экземпляры событий.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update OutboxEvent e set e.dispatched = ?2 where e.id in ?1")
+    int markDispatched(List<Long> ids, LocalDateTime dispatched);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.dispatched < ?1")
+    int deleteDispatchedBefore(LocalDateTime before);
+}
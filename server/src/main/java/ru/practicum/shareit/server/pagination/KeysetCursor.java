@@ -0,0 +1,46 @@
+package ru.practicum.shareit.server.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.server.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Курсор постраничной выдачи по ключу (created, id): следующая страница начинается с записей,
+ * которые в порядке (created desc, id desc) идут после последней записи предыдущей страницы.
+ * Клиенту курсор передается непрозрачной строкой.
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+    /**
+     * Дата создания последней записи страницы.
+     */
+    private final LocalDateTime created;
+
+    /**
+     * Идентификатор последней записи страницы.
+     */
+    private final Long id;
+
+    public String encode() {
+        String key = created + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("_");
+            if (key.length != 2) {
+                throw new ValidationException("Некорректный курсор страницы.");
+            }
+            return new KeysetCursor(LocalDateTime.parse(key[0]), Long.parseLong(key[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Некорректный курсор страницы.");
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package ru.practicum.shareit.server.request.controller;
 
-import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.api.ApiHeaders;
+import ru.practicum.shareit.api.dto.ItemRequestPayload;
 import ru.practicum.shareit.server.request.dto.ItemRequestDto;
+import ru.practicum.shareit.server.request.dto.RequestFeedPageDto;
+import ru.practicum.shareit.server.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.server.request.service.ItemRequestService;
+import ru.practicum.shareit.server.request.service.RequestFeedService;
 
 import java.util.Collection;
 import java.util.List;
@@ -20,14 +24,16 @@ import java.util.List;
 @RestController
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
-    private static final String USER_ID_REQUEST_HEADER = "X-Sharer-User-Id";
+    private static final String USER_ID_REQUEST_HEADER = ApiHeaders.USER_ID;
 
     @Qualifier("itemRequestServiceImpl")
     private final ItemRequestService itemRequestService;
+    private final RequestFeedService requestFeedService;
 
     @Autowired
-    public ItemRequestController(ItemRequestService itemRequestService) {
+    public ItemRequestController(ItemRequestService itemRequestService, RequestFeedService requestFeedService) {
         this.itemRequestService = itemRequestService;
+        this.requestFeedService = requestFeedService;
     }
 
     /**
@@ -58,6 +64,22 @@ public class ItemRequestController {
         return itemRequestService.getAllRequests(userId, pageNum, pageSize);
     }
 
+    /**
+     * Получение страницы ленты последних запросов других пользователей.
+     *
+     * @param userId Идентификатор пользователя.
+     * @param cursor Курсор, полученный с предыдущей страницей (необязательный параметр).
+     * @param size   Размер страницы.
+     * @return Страница ленты и курсор следующей страницы.
+     */
+    @GetMapping(path = "/feed")
+    public RequestFeedPageDto getFeed(@RequestHeader(value = USER_ID_REQUEST_HEADER) Long userId,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "20") Integer size) {
+        log.info("Получение ленты запросов пользователем с id = {}", userId);
+        return requestFeedService.getFeed(userId, cursor, size);
+    }
+
     /**
      * Обрабатывает POST-запрос на добавление запроса вещи.
      *
@@ -67,9 +89,9 @@ public class ItemRequestController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ItemRequestDto create(@RequestHeader(USER_ID_REQUEST_HEADER) Long userId,
-                                 @RequestBody @Valid ItemRequestDto itemRequestDto) {
+                                 @RequestBody ItemRequestPayload itemRequestDto) {
         log.info("Добавление запроса вещи пользователем с id = " + userId);
-        return itemRequestService.addItemRequest(userId, itemRequestDto);
+        return itemRequestService.addItemRequest(userId, ItemRequestMapper.mapToItemRequestDto(itemRequestDto));
     }
 
     /**
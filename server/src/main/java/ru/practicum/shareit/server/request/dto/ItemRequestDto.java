@@ -9,6 +9,7 @@ import ru.practicum.shareit.server.user.model.User;
 
 import java.time.LocalDateTime;
 
+import java.util.ArrayList;
 import java.util.Collection;
 
 /**
@@ -40,4 +41,22 @@ public class ItemRequestDto {
      * Список ответов в формате: id вещи, название, id владельца.
      */
     private Collection<Item> items;
+    /**
+     * Количество ответов на запрос.
+     */
+    private Integer answerCount;
+
+    /**
+     * Конструктор для проекции в ItemRequestRepository: автор запроса собирается из плоских колонок,
+     * список ответов заполняется сервисом отдельным запросом.
+     */
+    public ItemRequestDto(Long id, String description, Long requesterId, String requesterName,
+                          String requesterEmail, LocalDateTime created, Integer answerCount) {
+        this.id = id;
+        this.description = description;
+        this.requester = new User(requesterId, requesterName, requesterEmail);
+        this.created = created;
+        this.items = new ArrayList<>();
+        this.answerCount = answerCount;
+    }
 }
\ No newline at end of file
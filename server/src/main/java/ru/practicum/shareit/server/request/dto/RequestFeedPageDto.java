@@ -0,0 +1,25 @@
+package ru.practicum.shareit.server.request.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Класс представляет страницу ленты запросов вещей.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestFeedPageDto {
+    /**
+     * Запросы страницы, от новых к старым.
+     */
+    private List<ItemRequestDto> requests;
+
+    /**
+     * Курсор следующей страницы; null, если страница последняя.
+     */
+    private String nextCursor;
+}
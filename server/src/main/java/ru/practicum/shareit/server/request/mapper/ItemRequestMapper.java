@@ -1,5 +1,6 @@
 package ru.practicum.shareit.server.request.mapper;
 
+import ru.practicum.shareit.api.dto.ItemRequestPayload;
 import ru.practicum.shareit.server.request.dto.ItemRequestDto;
 import ru.practicum.shareit.server.request.model.ItemRequest;
 import ru.practicum.shareit.server.user.model.User;
@@ -17,7 +18,12 @@ public class ItemRequestMapper {
                 .description(itemRequestDto.getDescription())
                 .requester(requester)
                 .created(itemRequestDto.getCreated())
-                .items(new ArrayList<>())
+                .build();
+    }
+
+    public static ItemRequestDto mapToItemRequestDto(ItemRequestPayload payload) {
+        return ItemRequestDto.builder()
+                .description(payload.description())
                 .build();
     }
 
@@ -27,7 +33,8 @@ public class ItemRequestMapper {
                 .description(itemRequest.getDescription())
                 .requester(itemRequest.getRequester())
                 .created(itemRequest.getCreated())
-                .items(itemRequest.getItems())
+                .items(new ArrayList<>())
+                .answerCount(itemRequest.getAnswerCount())
                 .build();
     }
 }
\ No newline at end of file
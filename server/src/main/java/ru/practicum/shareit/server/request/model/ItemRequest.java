@@ -4,12 +4,9 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
-import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Collection;
 
 /**
  * Класс представляет модель данных для объекта ItemRequest.
@@ -46,12 +43,11 @@ public class ItemRequest {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime created;
     /**
-     * Список ответов в формате: id вещи, название, id владельца.
+     * Количество вещей, добавленных в ответ на запрос. Сами ответы связаны с запросом
+     * через items.request_id и читаются отдельным запросом.
      */
-    @ToString.Exclude
-    @OneToMany(fetch = FetchType.EAGER)
-    @JoinColumn(name = "request_id", referencedColumnName = "id")
-    private Collection<Item> items = new ArrayList<>();
+    @Column(name = "answer_count", nullable = false)
+    private int answerCount;
 
     public ItemRequest(Long id, String description, User requester, LocalDateTime created) {
         this.id = id;
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.server.request.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Класс представляет запись ленты запросов пользователя: чужой запрос вещи, на который пользователь может откликнуться.
+ * Лента заполняется при создании запроса и ограничена по размеру, поэтому чтение страницы ленты -
+ * один проход по индексу (user_id, created, request_id).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "request_feed")
+@IdClass(RequestFeedEntry.Key.class)
+public class RequestFeedEntry {
+    /**
+     * Идентификатор владельца ленты.
+     */
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * Идентификатор запроса вещи.
+     */
+    @Id
+    @Column(name = "request_id")
+    private Long requestId;
+
+    /**
+     * Дата создания запроса; задает порядок ленты.
+     */
+    @Column(name = "created", nullable = false)
+    private LocalDateTime created;
+
+    /**
+     * Составной ключ записи ленты.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long requestId;
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.server.request.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Класс представляет читателя ленты запросов. Новые запросы раскладываются только по лентам
+ * пользователей, читавших ленту недавно; ленты остальных собираются заново при следующем чтении.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "request_feed_readers")
+public class RequestFeedReader {
+    /**
+     * Идентификатор пользователя.
+     */
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * Дата последнего чтения ленты.
+     */
+    @Column(name = "last_read", nullable = false)
+    private LocalDateTime lastRead;
+}
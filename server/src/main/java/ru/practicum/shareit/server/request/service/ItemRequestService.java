@@ -33,4 +33,14 @@ public interface ItemRequestService {
      * Добавление вещи к сущности запроса.
      */
     void addItemToRequest(ItemDto itemDto);
+
+    /**
+     * Учет удаления вещи, отвечавшей на запрос.
+     */
+    void removeItemFromRequest(Long requestId);
+
+    /**
+     * Учет удаления всех вещей владельца, отвечавших на запросы.
+     */
+    void removeOwnerItemsFromRequests(Long ownerId);
 }
\ No newline at end of file
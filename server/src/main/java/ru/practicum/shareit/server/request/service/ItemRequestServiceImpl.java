@@ -6,14 +6,15 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.exception.ValidationException;
 
 import ru.practicum.shareit.server.item.dto.ItemDto;
-import ru.practicum.shareit.server.item.mapper.ItemMapper;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.item.storage.ItemRepository;
+import ru.practicum.shareit.server.outbox.service.OutboxService;
 import ru.practicum.shareit.server.request.dto.ItemRequestDto;
 import ru.practicum.shareit.server.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.server.request.model.ItemRequest;
@@ -24,8 +25,9 @@ import ru.practicum.shareit.server.user.service.UserService;
 import ru.practicum.shareit.server.user.storage.UserRepository;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toList;
@@ -37,18 +39,22 @@ import static java.util.stream.Collectors.toList;
 @Slf4j
 @Service
 public class ItemRequestServiceImpl implements ItemRequestService {
+    private static final String ITEM_REQUEST_AGGREGATE = "ItemRequest";
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
     private final UserService userService;
     private final ItemRepository itemRepository;
+    private final OutboxService outboxService;
 
     @Autowired
     public ItemRequestServiceImpl(ItemRequestRepository itemRequestRepository, UserRepository userRepository,
-                                  UserService userService, ItemRepository itemRepository) {
+                                  UserService userService, ItemRepository itemRepository,
+                                  OutboxService outboxService) {
         this.itemRequestRepository = itemRequestRepository;
         this.userRepository = userRepository;
         this.userService = userService;
         this.itemRepository = itemRepository;
+        this.outboxService = outboxService;
     }
 
     /**
@@ -58,32 +64,36 @@ public class ItemRequestServiceImpl implements ItemRequestService {
      * @return Список запросов пользователя.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAllItemRequestsByUserId(Long userId) {
         User user = userRepository.findById(userId).orElseThrow(
                 () -> new NotFoundException("Пользователь с id = " + userId + " не найден"));
 
-        return itemRequestRepository.getAllByRequester_Id(userId).stream()
-                .map(ItemRequestMapper::mapToItemRequestDto)
-                .collect(toList());
+        return fillItems(itemRequestRepository.findDtoByRequesterId(userId));
     }
 
     /**
      * Добавление запроса вещи пользователем с указанным идентификатором.
+     * В той же транзакции в исходящую очередь пишется событие REQUEST_CREATED, по которому запрос
+     * попадает в ленты других пользователей.
      *
      * @param userId         Идентификатор пользователя, добавляющего запрос на вещь.
      * @param itemRequestDto Запрос вещи в формате ДТО.
      * @return Добавленный запрос на вещь.
      */
     @Override
+    @Transactional
     public ItemRequestDto addItemRequest(Long userId, ItemRequestDto itemRequestDto) {
         validateItemRequestDto(itemRequestDto);
         ItemRequest itemRequest = ItemRequestMapper.mapToItemRequest(itemRequestDto, itemRequestDto.getRequester());
-        itemRequest.setCreated(LocalDateTime.now());
+        itemRequest.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
         itemRequest.setRequester(UserMapper.mapUserDtoToUser(userService.getUserById(userId)));
         if (userService.getUserById(userId) == null) {
             throw new NotFoundException("Пользователь с id " + userId + " не найден!");
         }
         ItemRequestDto addingItemRequest = ItemRequestMapper.mapToItemRequestDto(itemRequestRepository.save(itemRequest));
+        outboxService.publish(ITEM_REQUEST_AGGREGATE, addingItemRequest.getId(), RequestFeedServiceImpl.REQUEST_CREATED,
+                Map.of("requesterId", userId, "created", itemRequest.getCreated()));
 
         addingItemRequest.setItems(itemRequestDto.getItems());
         return addingItemRequest;
@@ -100,7 +110,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         userService.getUserById(userId);
         ItemRequest itemRequest = itemRequestRepository.findById(itemRequestId)
                 .orElseThrow(() -> new NotFoundException("Запрос с id = " + itemRequestId + " не найден!"));
-        return ItemRequestMapper.mapToItemRequestDto(itemRequest);
+        ItemRequestDto itemRequestDto = ItemRequestMapper.mapToItemRequestDto(itemRequest);
+        itemRequestDto.setItems(itemRepository.findAllByRequestId(itemRequestId));
+        return itemRequestDto;
     }
 
 
@@ -108,28 +120,71 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         userService.getUserById(userId);
         if (pageNum == null || pageSize == null) {
             log.info("Получение запросов вещи, если доп. параметры не указаны.");
-            return itemRequestRepository.findAll().stream()
+            return fillItems(itemRequestRepository.findAll().stream()
                     .filter(itemRequest -> !itemRequest.getRequester().getId().equals(userId))
                     .map(ItemRequestMapper::mapToItemRequestDto)
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toList()));
         }
         validatePagesRequest(pageNum, pageSize);
         Pageable page = PageRequest.of(pageNum, pageSize);
         log.info("Получение запросов вещей с введенными параметрами.");
-        return itemRequestRepository.findAll(page).stream()
+        return fillItems(itemRequestRepository.findAll(page).stream()
                 .filter(itemRequest -> !itemRequest.getRequester().getId().equals(userId))
                 .map(ItemRequestMapper::mapToItemRequestDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
+    /**
+     * Учет ответа на запрос. Сама вещь связывается с запросом через items.request_id при ее сохранении,
+     * здесь только увеличивается счетчик ответов - без загрузки запроса и уже добавленных ответов.
+     *
+     * @param itemDto Вещь, добавляемая в ответ на запрос.
+     */
     @Override
+    @Transactional
     public void addItemToRequest(ItemDto itemDto) {
         log.info("Попытка добавить вещь в запрос с id = {}", itemDto.getRequestId());
-        ItemRequest itemRequest = itemRequestRepository.findById(itemDto.getRequestId())
-                .orElseThrow(() -> new NotFoundException("Запрос с id = " + itemDto.getRequestId() + "не найден!"));
-        Collection<Item> requestItems = itemRequest.getItems();
-        requestItems.add(ItemMapper.mapItemDtoToItem(itemDto));
-        itemRequest.setItems(requestItems);
+        if (itemRequestRepository.incrementAnswerCount(itemDto.getRequestId()) == 0) {
+            throw new NotFoundException("Запрос с id = " + itemDto.getRequestId() + " не найден!");
+        }
+    }
+
+    /**
+     * Учет удаления вещи, отвечавшей на запрос: счетчик ответов уменьшается на единицу.
+     *
+     * @param requestId Идентификатор запроса, на который отвечала вещь.
+     */
+    @Override
+    @Transactional
+    public void removeItemFromRequest(Long requestId) {
+        itemRequestRepository.decrementAnswerCount(requestId);
+    }
+
+    /**
+     * Учет удаления всех вещей владельца. Вызывается до удаления вещей: число ответов каждого запроса
+     * считается по еще не удаленным вещам.
+     *
+     * @param ownerId Идентификатор владельца вещей.
+     */
+    @Override
+    @Transactional
+    public void removeOwnerItemsFromRequests(Long ownerId) {
+        itemRequestRepository.subtractAnswersOfOwner(ownerId);
+    }
+
+    /**
+     * Заполнение ответов для списка запросов одним запросом к таблице вещей.
+     */
+    private List<ItemRequestDto> fillItems(List<ItemRequestDto> requests) {
+        if (requests.isEmpty()) {
+            return requests;
+        }
+        Map<Long, List<Item>> itemsByRequestId = itemRepository.findAllWithOwnerByRequestIdIn(requests.stream()
+                        .map(ItemRequestDto::getId)
+                        .collect(toList())).stream()
+                .collect(Collectors.groupingBy(Item::getRequestId));
+        requests.forEach(request -> request.setItems(itemsByRequestId.getOrDefault(request.getId(), List.of())));
+        return requests;
     }
 
     private void validatePagesRequest(Integer pageNum, Integer pageSize) {
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.server.request.service;
+
+import ru.practicum.shareit.server.outbox.dto.OutboxEventDto;
+import ru.practicum.shareit.server.request.dto.RequestFeedPageDto;
+
+/**
+ * Интерфейс ленты запросов вещей: для каждого пользователя хранится ограниченная по размеру
+ * подборка последних чужих запросов.
+ */
+public interface RequestFeedService {
+    /**
+     * Получение страницы ленты пользователя.
+     */
+    RequestFeedPageDto getFeed(Long userId, String cursor, Integer size);
+
+    /**
+     * Раскладка нового запроса по лентам читателей.
+     */
+    void onOutboxEvent(OutboxEventDto event);
+
+    /**
+     * Удаление записей сверх размера ленты и лент неактивных читателей.
+     */
+    void trim();
+}
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.server.request.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.exception.ValidationException;
+import ru.practicum.shareit.server.outbox.dto.OutboxEventDto;
+import ru.practicum.shareit.server.pagination.KeysetCursor;
+import ru.practicum.shareit.server.request.dto.ItemRequestDto;
+import ru.practicum.shareit.server.request.dto.RequestFeedPageDto;
+import ru.practicum.shareit.server.request.model.RequestFeedReader;
+import ru.practicum.shareit.server.request.storage.ItemRequestRepository;
+import ru.practicum.shareit.server.request.storage.RequestFeedReaderRepository;
+import ru.practicum.shareit.server.request.storage.RequestFeedRepository;
+import ru.practicum.shareit.server.user.service.UserService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Сервисный класс ленты запросов вещей.
+ * Новый запрос раскладывается по лентам только тех пользователей, которые читали ленту в пределах
+ * окна активности: раскладка по всем пользователям делала бы каждую запись запроса пропорциональной
+ * числу пользователей. Лента нового или давно не заходившего читателя собирается из таблицы запросов
+ * при первом чтении, после чего поддерживается раскладкой.
+ */
+@Slf4j
+@Service
+public class RequestFeedServiceImpl implements RequestFeedService {
+    static final String REQUEST_CREATED = "REQUEST_CREATED";
+    private static final Duration READ_TOUCH_INTERVAL = Duration.ofHours(1);
+    private final RequestFeedRepository requestFeedRepository;
+    private final RequestFeedReaderRepository readerRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserService userService;
+    private final int inboxSize;
+    private final Duration activeWindow;
+
+    @Autowired
+    public RequestFeedServiceImpl(RequestFeedRepository requestFeedRepository,
+                                  RequestFeedReaderRepository readerRepository,
+                                  ItemRequestRepository itemRequestRepository,
+                                  UserService userService,
+                                  @Value("${shareit.request-feed.inbox-size:200}") int inboxSize,
+                                  @Value("${shareit.request-feed.active-window:7d}") Duration activeWindow) {
+        this.requestFeedRepository = requestFeedRepository;
+        this.readerRepository = readerRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.userService = userService;
+        this.inboxSize = inboxSize;
+        this.activeWindow = activeWindow;
+    }
+
+    /**
+     * Получение страницы ленты: чтение диапазона индекса (user_id, created, request_id).
+     *
+     * @param userId Идентификатор пользователя.
+     * @param cursor Курсор, полученный с предыдущей страницей; null для первой страницы.
+     * @param size   Размер страницы.
+     * @return Страница ленты и курсор следующей страницы.
+     */
+    @Override
+    @Transactional
+    public RequestFeedPageDto getFeed(Long userId, String cursor, Integer size) {
+        if (size == null || size <= 0) {
+            throw new ValidationException("Размер страницы должен быть положительным.");
+        }
+        userService.getUserById(userId);
+        registerRead(userId);
+        List<ItemRequestDto> requests;
+        if (cursor == null) {
+            requests = requestFeedRepository.findFeed(userId, Limit.of(size));
+        } else {
+            KeysetCursor key = KeysetCursor.decode(cursor);
+            requests = requestFeedRepository.findFeedBefore(userId, key.getCreated(), key.getId(), Limit.of(size));
+        }
+        String nextCursor = null;
+        if (requests.size() == size) {
+            ItemRequestDto last = requests.get(requests.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreated(), last.getId()).encode();
+        }
+        return new RequestFeedPageDto(requests, nextCursor);
+    }
+
+    /**
+     * Раскладка созданного запроса по лентам активных читателей. Вызывается при доставке события
+     * исходящей очереди, в транзакции доставки.
+     *
+     * @param event Событие исходящей очереди.
+     */
+    @Override
+    @EventListener
+    @Transactional
+    public void onOutboxEvent(OutboxEventDto event) {
+        if (!REQUEST_CREATED.equals(event.getEventType())) {
+            return;
+        }
+        itemRequestRepository.findById(event.getAggregateId()).ifPresent(request -> {
+            int delivered = requestFeedRepository.fanOut(request.getId(), request.getRequester().getId(),
+                    request.getCreated(), LocalDateTime.now().minus(activeWindow));
+            log.debug("Запрос с id = {} добавлен в {} лент", request.getId(), delivered);
+        });
+    }
+
+    /**
+     * Плановое удаление записей сверх размера ленты и лент читателей, вышедших из окна активности.
+     */
+    @Override
+    @Transactional
+    @Scheduled(cron = "${shareit.request-feed.trim-cron:0 15 4 * * *}")
+    public void trim() {
+        int cleared = requestFeedRepository.clearInactiveFeeds(LocalDateTime.now().minus(activeWindow));
+        int trimmed = requestFeedRepository.trimFeeds(inboxSize);
+        log.info("Из лент запросов удалено {} записей неактивных читателей и {} записей сверх размера",
+                cleared, trimmed);
+    }
+
+    /**
+     * Отметка чтения ленты. Лента нового читателя или читателя, вышедшего из окна активности,
+     * собирается заново; дата чтения активного читателя обновляется не чаще раза в час.
+     * Строка читателя блокируется до конца транзакции, поэтому параллельные первые чтения
+     * собирают ленту один раз.
+     */
+    private void registerRead(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lastRead = readerRepository.findLastRead(userId).orElse(null);
+        if (lastRead != null && !lastRead.isBefore(now.minus(READ_TOUCH_INTERVAL))) {
+            return;
+        }
+        RequestFeedReader reader = readerRepository.findByIdForUpdate(userId).orElse(null);
+        if (reader == null) {
+            if (readerRepository.insertIfAbsent(userId, now) > 0) {
+                rebuild(userId);
+                return;
+            }
+            reader = readerRepository.findByIdForUpdate(userId).orElseThrow();
+        }
+        if (reader.getLastRead().isBefore(now.minus(activeWindow))) {
+            rebuild(userId);
+            reader.setLastRead(now);
+        } else if (reader.getLastRead().isBefore(now.minus(READ_TOUCH_INTERVAL))) {
+            reader.setLastRead(now);
+        }
+    }
+
+    private void rebuild(Long userId) {
+        requestFeedRepository.clearFeed(userId);
+        requestFeedRepository.rebuildFeed(userId, inboxSize);
+    }
+}
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.server.request.storage;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.server.request.dto.ItemRequestDto;
 import ru.practicum.shareit.server.request.model.ItemRequest;
 
 import java.util.List;
@@ -9,6 +12,41 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     List<ItemRequest> getAllByRequester_Id(Long userId);
 
+    @Query("select new ru.practicum.shareit.server.request.dto.ItemRequestDto(r.id, r.description, " +
+            "u.id, u.name, u.email, r.created, r.answerCount) " +
+            "from ItemRequest r join r.requester u where u.id = ?1")
+    List<ItemRequestDto> findDtoByRequesterId(Long userId);
+
+    /**
+     * Учет нового ответа на запрос: одно обновление строки по первичному ключу.
+     *
+     * @return Количество обновленных строк; 0, если запроса нет.
+     */
+    @Modifying
+    @Query("update ItemRequest r set r.answerCount = r.answerCount + 1 where r.id = ?1")
+    int incrementAnswerCount(Long requestId);
+
+    /**
+     * Учет удаленного ответа на запрос.
+     *
+     * @return Количество обновленных строк; 0, если запроса нет.
+     */
+    @Modifying
+    @Query("update ItemRequest r set r.answerCount = r.answerCount - 1 where r.id = ?1 and r.answerCount > 0")
+    int decrementAnswerCount(Long requestId);
+
+    /**
+     * Учет удаления всех вещей владельца: счетчик каждого запроса уменьшается на число его ответов
+     * среди этих вещей. Выполняется до удаления вещей.
+     *
+     * @return Количество обновленных запросов.
+     */
+    @Modifying
+    @Query("update ItemRequest r set r.answerCount = r.answerCount - " +
+            "(select count(i) from Item i where i.requestId = r.id and i.owner.id = ?1) " +
+            "where r.id in (select i.requestId from Item i where i.owner.id = ?1)")
+    int subtractAnswersOfOwner(Long ownerId);
+
     List<ItemRequest> getAllByRequesterIdOrderByCreatedDesc(Long userId);
 
     ItemRequest getItemRequestByIdOrderByCreatedAsc(Long itemRequestId);
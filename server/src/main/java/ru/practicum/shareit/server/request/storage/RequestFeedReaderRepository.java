@@ -0,0 +1,32 @@
+package ru.practicum.shareit.server.request.storage;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.server.request.model.RequestFeedReader;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RequestFeedReaderRepository extends JpaRepository<RequestFeedReader, Long> {
+
+    @Query("select r.lastRead from RequestFeedReader r where r.userId = ?1")
+    Optional<LocalDateTime> findLastRead(Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from RequestFeedReader r where r.userId = ?1")
+    Optional<RequestFeedReader> findByIdForUpdate(Long userId);
+
+    /**
+     * Регистрация нового читателя, если его еще нет. Параллельная вставка того же читателя ждет завершения
+     * первой транзакции и ничего не вставляет, поэтому ошибки дублирования ключа не возникает.
+     *
+     * @return 1, если читатель зарегистрирован этим вызовом, иначе 0.
+     */
+    @Modifying
+    @Query(value = "insert into request_feed_readers (user_id, last_read) values (?1, ?2) on conflict do nothing",
+            nativeQuery = true)
+    int insertIfAbsent(Long userId, LocalDateTime lastRead);
+}
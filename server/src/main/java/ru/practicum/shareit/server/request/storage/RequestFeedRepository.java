@@ -0,0 +1,78 @@
+package ru.practicum.shareit.server.request.storage;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.server.request.dto.ItemRequestDto;
+import ru.practicum.shareit.server.request.model.RequestFeedEntry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RequestFeedRepository extends JpaRepository<RequestFeedEntry, RequestFeedEntry.Key> {
+
+    String FEED_PROJECTION = "select new ru.practicum.shareit.server.request.dto.ItemRequestDto(" +
+            "r.id, r.description, u.id, u.name, u.email, r.created, r.answerCount) " +
+            "from RequestFeedEntry f join ItemRequest r on r.id = f.requestId join r.requester u ";
+
+    @Query(FEED_PROJECTION +
+            "where f.userId = ?1 " +
+            "order by f.created desc, f.requestId desc")
+    List<ItemRequestDto> findFeed(Long userId, Limit limit);
+
+    @Query(FEED_PROJECTION +
+            "where f.userId = ?1 and (f.created < ?2 or (f.created = ?2 and f.requestId < ?3)) " +
+            "order by f.created desc, f.requestId desc")
+    List<ItemRequestDto> findFeedBefore(Long userId, LocalDateTime created, Long requestId, Limit limit);
+
+    /**
+     * Раскладка нового запроса по лентам активных читателей одной командой. Повторная доставка
+     * события и параллельная сборка ленты читателя не создают дублей.
+     */
+    @Modifying
+    @Query(value = "insert into request_feed (user_id, request_id, created) " +
+            "select r.user_id, ?1, ?3 from request_feed_readers r " +
+            "where r.user_id <> ?2 and r.last_read >= ?4 " +
+            "and not exists (select 1 from request_feed f where f.user_id = r.user_id and f.request_id = ?1) " +
+            "on conflict do nothing",
+            nativeQuery = true)
+    int fanOut(Long requestId, Long requesterId, LocalDateTime created, LocalDateTime activeSince);
+
+    @Modifying
+    @Query(value = "delete from request_feed where user_id = ?1", nativeQuery = true)
+    int clearFeed(Long userId);
+
+    /**
+     * Сборка ленты пользователя из последних чужих запросов. Записи, уже добавленные параллельной
+     * раскладкой, пропускаются.
+     */
+    @Modifying
+    @Query(value = "insert into request_feed (user_id, request_id, created) " +
+            "select ?1, r.id, r.created from requests r where r.requester_id <> ?1 " +
+            "order by r.created desc, r.id desc limit ?2 " +
+            "on conflict do nothing",
+            nativeQuery = true)
+    int rebuildFeed(Long userId, int size);
+
+    /**
+     * Удаление записей сверх размера ленты.
+     */
+    @Modifying
+    @Query(value = "delete from request_feed where (user_id, request_id) in (" +
+            "select ranked.user_id, ranked.request_id from (" +
+            "select user_id, request_id, row_number() over " +
+            "(partition by user_id order by created desc, request_id desc) as position " +
+            "from request_feed) ranked where ranked.position > ?1)",
+            nativeQuery = true)
+    int trimFeeds(int size);
+
+    /**
+     * Удаление лент пользователей, давно не читавших ленту.
+     */
+    @Modifying
+    @Query(value = "delete from request_feed where user_id in " +
+            "(select user_id from request_feed_readers where last_read < ?1)",
+            nativeQuery = true)
+    int clearInactiveFeeds(LocalDateTime activeSince);
+}
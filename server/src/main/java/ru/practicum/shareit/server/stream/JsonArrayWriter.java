@@ -0,0 +1,66 @@
+package ru.practicum.shareit.server.stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Класс записывает элементы JSON-массива в поток ответа по одному, не накапливая весь список в памяти.
+ * Открывающая скобка пишется вместе с первым элементом, поэтому ошибка до начала выдачи
+ * ещё может быть обработана обработчиком ошибок как обычный ответ.
+ */
+public class JsonArrayWriter {
+    /**
+     * Через сколько элементов сбрасывать буфер в поток ответа.
+     */
+    private static final int FLUSH_EVERY = 100;
+
+    private final JsonGenerator generator;
+    private long count;
+
+    public JsonArrayWriter(ObjectMapper objectMapper, OutputStream out) {
+        try {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Запись очередного элемента массива.
+     *
+     * @param value Элемент массива.
+     */
+    public void write(Object value) {
+        try {
+            if (count == 0) {
+                generator.writeStartArray();
+            }
+            generator.writeObject(value);
+            count++;
+            if (count == 1 || count % FLUSH_EVERY == 0) {
+                generator.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Завершение массива и сброс оставшихся данных в поток ответа.
+     */
+    public void finish() {
+        try {
+            if (count == 0) {
+                generator.writeStartArray();
+            }
+            generator.writeEndArray();
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.server.stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Класс записывает объекты в поток ответа в формате NDJSON: один JSON-объект на строку.
+ */
+public class NdjsonWriter {
+    /**
+     * Через сколько строк сбрасывать буфер в поток ответа.
+     */
+    private static final int FLUSH_EVERY = 1000;
+
+    private final JsonGenerator generator;
+    private long count;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream out) {
+        try {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.setRootValueSeparator(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Запись очередной строки.
+     *
+     * @param value Объект, записываемый одной строкой.
+     */
+    public void write(Object value) {
+        try {
+            generator.writeObject(value);
+            generator.writeRaw('\n');
+            count++;
+            if (count % FLUSH_EVERY == 0) {
+                generator.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Сброс оставшихся данных в поток ответа.
+     */
+    public void finish() {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.server.threads;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Эндпоинт actuator /actuator/pinning с местами, где виртуальные потоки чаще всего закрепляются за носителем.
+ * Место не выводится тегом метрики, чтобы не плодить временные ряды; в метриках остается
+ * счетчик shareit.virtual-threads.pinned по источнику.
+ */
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class PinnedThreadEndpoint {
+    private static final int TOP_SIZE = 20;
+    private final PinnedThreadMonitor pinnedThreadMonitor;
+
+    @Autowired
+    public PinnedThreadEndpoint(PinnedThreadMonitor pinnedThreadMonitor) {
+        this.pinnedThreadMonitor = pinnedThreadMonitor;
+    }
+
+    @ReadOperation
+    public Map<String, Long> topSites() {
+        return pinnedThreadMonitor.topSites(TOP_SIZE);
+    }
+}
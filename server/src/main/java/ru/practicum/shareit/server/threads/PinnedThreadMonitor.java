@@ -0,0 +1,132 @@
+package ru.practicum.shareit.server.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Обнаружение закрепления виртуальных потоков за потоком-носителем по событию JFR jdk.VirtualThreadPinned.
+ * Пока виртуальный поток закреплен (блокировка внутри synchronized или нативный вызов), носитель не может
+ * обслуживать другие запросы, поэтому каждое такое событие дольше порога учитывается счетчиком
+ * shareit.virtual-threads.pinned с тегом source (hibernate, jdbc, pool, other) и по месту закрепления
+ * для эндпоинта /actuator/pinning. Работает только в режиме spring.threads.virtual.enabled=true.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class PinnedThreadMonitor implements SmartLifecycle {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String PINNED_METRIC = "shareit.virtual-threads.pinned";
+
+    private final Duration threshold;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+    private volatile RecordingStream stream;
+
+    public PinnedThreadMonitor(@Value("${shareit.virtual-threads.pinned-threshold:20ms}") Duration threshold,
+                               ObjectProvider<MeterRegistry> meterRegistry) {
+        this.threshold = threshold;
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+    }
+
+    @Override
+    public void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Включено обнаружение закрепления виртуальных потоков, порог {}", threshold);
+    }
+
+    @Override
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * Места закрепления с наибольшим числом событий.
+     *
+     * @param limit Количество мест.
+     * @return Место закрепления (класс.метод) и число событий, по убыванию.
+     */
+    public Map<String, Long> topSites(int limit) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        sites.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<String> frames = stackTrace == null ? List.of() : stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .toList();
+        String site = site(frames);
+        sites.computeIfAbsent(site, key -> new LongAdder()).increment();
+        meterRegistry.counter(PINNED_METRIC, "source", source(site)).increment();
+        log.warn("Виртуальный поток закреплен за носителем {} мс в {}", event.getDuration().toMillis(), site);
+    }
+
+    /**
+     * Место закрепления: первый кадр Hibernate, драйвера или пула соединений, а если их нет -
+     * первый кадр вне JDK.
+     */
+    private static String site(List<String> frames) {
+        for (String frame : frames) {
+            if (!"other".equals(source(frame))) {
+                return frame;
+            }
+        }
+        for (String frame : frames) {
+            if (!frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun.")) {
+                return frame;
+            }
+        }
+        return frames.isEmpty() ? "unknown" : frames.get(0);
+    }
+
+    private static String source(String frame) {
+        if (frame.startsWith("org.hibernate.")) {
+            return "hibernate";
+        }
+        if (frame.startsWith("org.postgresql.") || frame.startsWith("org.h2.")) {
+            return "jdbc";
+        }
+        if (frame.startsWith("com.zaxxer.hikari.")) {
+            return "pool";
+        }
+        return "other";
+    }
+}
@@ -1,13 +1,13 @@
 package ru.practicum.shareit.server.user.controller;
 
-import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.api.dto.UserPayload;
 import ru.practicum.shareit.server.user.dto.UserDto;
-import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.mapper.UserMapper;
 import ru.practicum.shareit.server.user.service.UserService;
 
 import java.util.Collection;
@@ -60,9 +60,9 @@ public class UserController {
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public UserDto create(@RequestBody @Valid User user) {
+    public UserDto create(@RequestBody UserPayload user) {
         log.info("Запрос на создание пользователя: \n{}", user);
-        return userService.addUser(user);
+        return userService.addUser(UserMapper.mapToUser(user));
     }
 
     /**
@@ -74,9 +74,9 @@ public class UserController {
      */
     @PatchMapping("/{userId}")
     @ResponseStatus(HttpStatus.OK)
-    public UserDto updateUser(@PathVariable Long userId, @RequestBody UserDto userDto) {
+    public UserDto updateUser(@PathVariable Long userId, @RequestBody UserPayload userDto) {
         log.info("Обновление пользователя. Идентификатор пользователя: {}.\nНовые данные: {}", userId, userDto);
-        return userService.updateUser(userId, userDto);
+        return userService.updateUser(userId, UserMapper.mapToUserDto(userId, userDto));
     }
 
     /**
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.server.user.mapper;
 
 import lombok.Data;
+import ru.practicum.shareit.api.dto.UserPayload;
 import ru.practicum.shareit.server.user.model.User;
 import ru.practicum.shareit.server.user.dto.UserDto;
 
@@ -17,6 +18,16 @@ public class UserMapper {
         return userDto;
     }
 
+    public static User mapToUser(UserPayload payload) {
+        return User.builder()
+                .name(payload.name())
+                .email(payload.email()).build();
+    }
+
+    public static UserDto mapToUserDto(Long userId, UserPayload payload) {
+        return new UserDto(userId, payload.name(), payload.email());
+    }
+
     public static User mapUserDtoToUser(UserDto userDto) {
         return User.builder()
                 .id(userDto.getId())
@@ -7,6 +7,10 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.server.exception.ConflictException;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.exception.ValidationException;
+import ru.practicum.shareit.server.item.catalog.ItemCatalog;
+import ru.practicum.shareit.server.item.storage.ItemRepository;
+import ru.practicum.shareit.server.outbox.service.OutboxService;
+import ru.practicum.shareit.server.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.server.user.storage.UserRepository;
 import ru.practicum.shareit.server.user.dto.UserDto;
 import ru.practicum.shareit.server.user.mapper.UserMapper;
@@ -23,10 +27,17 @@ import java.util.stream.Collectors;
 @Service(("userServiceImpl"))
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final OutboxService outboxService;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, ItemRequestRepository itemRequestRepository,
+                           ItemRepository itemRepository, OutboxService outboxService) {
         this.userRepository = userRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemRepository = itemRepository;
+        this.outboxService = outboxService;
     }
 
     /**
@@ -101,22 +112,35 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Удаление всех пользователей.
+     * Удаление всех пользователей. Вещи удаляются каскадно, поэтому для каталога вещей
+     * записываются события их удаления.
      */
     @Override
+    @Transactional
     public void removeAllUsers() {
+        publishItemsDeleted(itemRepository.findAllIds());
         userRepository.deleteAll();
     }
 
     /**
-     * Удаление пользователя по id.
+     * Удаление пользователя по id. Вещи пользователя удаляются каскадно, поэтому до удаления
+     * уменьшаются счетчики ответов запросов, на которые они отвечали, и записываются события
+     * удаления вещей для каталога.
      */
     @Override
+    @Transactional
     public void removeUserById(Long userId) {
         getUserById(userId);
+        itemRequestRepository.subtractAnswersOfOwner(userId);
+        publishItemsDeleted(itemRepository.findIdsByOwnerId(userId));
         userRepository.deleteById(userId);
     }
 
+    private void publishItemsDeleted(Collection<Long> itemIds) {
+        itemIds.forEach(itemId ->
+                outboxService.publish(ItemCatalog.ITEM_AGGREGATE, itemId, ItemCatalog.ITEM_DELETED, itemId));
+    }
+
     /**
      * Метод проверяет уникальность электронной почты пользователя.
      *
@@ -1,3 +1,10 @@
+DROP TABLE IF EXISTS request_feed CASCADE;
+DROP TABLE IF EXISTS request_feed_readers CASCADE;
+DROP TABLE IF EXISTS idempotency_keys CASCADE;
+DROP TABLE IF EXISTS outbox_events CASCADE;
+DROP TABLE IF EXISTS item_comment_summary CASCADE;
+DROP TABLE IF EXISTS item_booking_summary CASCADE;
+DROP TABLE IF EXISTS bookings_archive CASCADE;
 DROP TABLE IF EXISTS comments CASCADE;
 DROP TABLE IF EXISTS bookings CASCADE;
 DROP TABLE IF EXISTS requests CASCADE;
@@ -17,6 +24,7 @@ CREATE TABLE IF NOT EXISTS requests (
     description VARCHAR(1024) NOT NULL,
     requester_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     created TIMESTAMP WITHOUT TIME ZONE,
+    answer_count INTEGER DEFAULT 0 NOT NULL,
     CONSTRAINT pk_request PRIMARY KEY (id)
     );
 
@@ -30,6 +38,9 @@ CREATE TABLE IF NOT EXISTS items (
     CONSTRAINT pk_item PRIMARY KEY (id)
     );
 
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+
 CREATE TABLE IF NOT EXISTS bookings (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE,
@@ -40,6 +51,22 @@ CREATE TABLE IF NOT EXISTS bookings (
     CONSTRAINT pk_booking PRIMARY KEY (id)
     );
 
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_status_end ON bookings (booker_id, item_id, status, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date);
+
+CREATE TABLE IF NOT EXISTS bookings_archive (
+    id BIGINT NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE,
+    end_date TIMESTAMP WITHOUT TIME ZONE,
+    item_id BIGINT NOT NULL REFERENCES items(id) ON DELETE CASCADE,
+    booker_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    status VARCHAR(20) NOT NULL,
+    archived TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_booking_archive PRIMARY KEY (id)
+    );
+
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_booker_item ON bookings_archive (booker_id, item_id, status);
+
 CREATE TABLE IF NOT EXISTS comments (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     text VARCHAR(512) NOT NULL,
@@ -47,4 +74,77 @@ CREATE TABLE IF NOT EXISTS comments (
     author_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     created TIMESTAMP WITHOUT TIME ZONE,
     CONSTRAINT pk_comment PRIMARY KEY (id)
-    );
\ No newline at end of file
+    );
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created DESC, id DESC);
+
+CREATE TABLE IF NOT EXISTS item_comment_summary (
+    item_id BIGINT NOT NULL REFERENCES items(id) ON DELETE CASCADE,
+    comment_count BIGINT NOT NULL DEFAULT 0,
+    latest_comments VARCHAR(16384),
+    CONSTRAINT pk_item_comment_summary PRIMARY KEY (item_id)
+    );
+
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+    item_id BIGINT NOT NULL REFERENCES items(id) ON DELETE CASCADE,
+    last_booking_id BIGINT REFERENCES bookings(id) ON DELETE SET NULL,
+    last_start TIMESTAMP WITHOUT TIME ZONE,
+    last_end TIMESTAMP WITHOUT TIME ZONE,
+    last_status VARCHAR(20),
+    next_booking_id BIGINT REFERENCES bookings(id) ON DELETE SET NULL,
+    next_start TIMESTAMP WITHOUT TIME ZONE,
+    next_end TIMESTAMP WITHOUT TIME ZONE,
+    next_status VARCHAR(20),
+    active_count INTEGER NOT NULL DEFAULT 0,
+    next_transition TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_item_booking_summary PRIMARY KEY (item_id)
+    );
+
+CREATE INDEX IF NOT EXISTS idx_item_booking_summary_next_transition ON item_booking_summary (next_transition);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    aggregate_type VARCHAR(64) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(64) NOT NULL,
+    payload TEXT,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    dispatched TIMESTAMP WITHOUT TIME ZONE,
+    attempts INTEGER DEFAULT 0 NOT NULL,
+    last_error VARCHAR(1024),
+    dead_lettered TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT pk_outbox_event PRIMARY KEY (id)
+    );
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_dispatched ON outbox_events (dispatched, id);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    user_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(64) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    response TEXT,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    expires TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_idempotency_key PRIMARY KEY (id),
+    CONSTRAINT uq_idempotency_user_key UNIQUE (user_id, idempotency_key)
+    );
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires ON idempotency_keys (expires);
+
+CREATE TABLE IF NOT EXISTS request_feed_readers (
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    last_read TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_request_feed_reader PRIMARY KEY (user_id)
+    );
+
+CREATE INDEX IF NOT EXISTS idx_request_feed_readers_last_read ON request_feed_readers (last_read);
+
+CREATE TABLE IF NOT EXISTS request_feed (
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    request_id BIGINT NOT NULL REFERENCES requests(id) ON DELETE CASCADE,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_request_feed PRIMARY KEY (user_id, request_id)
+    );
+
+CREATE INDEX IF NOT EXISTS idx_request_feed_user_created ON request_feed (user_id, created DESC, request_id DESC);
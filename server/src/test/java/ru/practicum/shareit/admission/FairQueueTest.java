@@ -0,0 +1,91 @@
+package ru.practicum.shareit.admission;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.server.admission.FairQueue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Класс для тестирования справедливой очереди допуска.
+ */
+class FairQueueTest {
+
+    @Test
+    void acquire_whenAbusiveUserHasBacklog_thenPoliteUserIsServedNext() throws InterruptedException {
+        FairQueue fairQueue = new FairQueue(1, 100);
+        List<Long> grants = Collections.synchronizedList(new ArrayList<>());
+        assertTrue(fairQueue.acquire(1L, 1, 1, TimeUnit.SECONDS));
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            threads.add(startWaiter(fairQueue, 666L, grants));
+            awaitWaiting(fairQueue, i + 1);
+        }
+        threads.add(startWaiter(fairQueue, 7L, grants));
+        awaitWaiting(fairQueue, 6);
+
+        fairQueue.release();
+        for (Thread thread : threads) {
+            thread.join(5_000);
+        }
+
+        assertThat(grants).hasSize(6);
+        assertThat(grants.indexOf(7L)).isLessThanOrEqualTo(1);
+        assertThat(fairQueue.getWaiting()).isZero();
+    }
+
+    @Test
+    void acquire_whenQueueIsFull_thenRejects() throws InterruptedException {
+        FairQueue fairQueue = new FairQueue(1, 1);
+        assertTrue(fairQueue.acquire(1L, 1, 1, TimeUnit.SECONDS));
+        Thread waiter = startWaiter(fairQueue, 2L, Collections.synchronizedList(new ArrayList<>()));
+        awaitWaiting(fairQueue, 1);
+
+        assertFalse(fairQueue.acquire(3L, 1, 1, TimeUnit.SECONDS));
+
+        fairQueue.release();
+        waiter.join(5_000);
+    }
+
+    @Test
+    void acquire_whenWaitTimesOut_thenRejectsAndLeavesQueue() throws InterruptedException {
+        FairQueue fairQueue = new FairQueue(1, 10);
+        assertTrue(fairQueue.acquire(1L, 1, 1, TimeUnit.SECONDS));
+
+        assertFalse(fairQueue.acquire(2L, 1, 50, TimeUnit.MILLISECONDS));
+        assertThat(fairQueue.getWaiting()).isZero();
+
+        fairQueue.release();
+        assertTrue(fairQueue.acquire(2L, 1, 1, TimeUnit.SECONDS));
+    }
+
+    private static Thread startWaiter(FairQueue fairQueue, long userId, List<Long> grants) {
+        Thread thread = new Thread(() -> {
+            try {
+                if (fairQueue.acquire(userId, 1, 5, TimeUnit.SECONDS)) {
+                    grants.add(userId);
+                    fairQueue.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitWaiting(FairQueue fairQueue, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (fairQueue.getWaiting() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(fairQueue.getWaiting()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.booking.model.ArchivedBooking;
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.booking.service.BookingArchiveService;
+import ru.practicum.shareit.server.booking.service.BookingArchiveServiceImpl;
+import ru.practicum.shareit.server.booking.storage.ArchivedBookingRepository;
+import ru.practicum.shareit.server.booking.storage.BookingRepository;
+import ru.practicum.shareit.server.config.ScheduledJobLock;
+import ru.practicum.shareit.server.item.dto.CommentDto;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.item.storage.ItemRepository;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.storage.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Transactional
+public class BookingArchiveServiceIntegrationTest {
+
+    @Autowired
+    private BookingArchiveService archiveService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User booker;
+    private Item item;
+    private Booking oldBooking;
+    private Booking recentBooking;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User(null, "Owner", "archive-owner@mail.ru"));
+        booker = userRepository.save(new User(null, "Booker", "archive-booker@mail.ru"));
+        item = itemRepository.save(new Item("Дрель", "Простая дрель", true, owner));
+        oldBooking = bookingRepository.save(new Booking(null, LocalDateTime.now().minusYears(2).minusDays(1),
+                LocalDateTime.now().minusYears(2), item, booker, Status.APPROVED));
+        recentBooking = bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1), item, booker, Status.REJECTED));
+    }
+
+    @Test
+    void archiveEndedBefore_MovesOnlyOldBookings() {
+        int archived = archiveService.archiveEndedBefore(LocalDateTime.now().minusYears(1));
+        entityManager.clear();
+
+        assertThat(archived).isEqualTo(1);
+        assertThat(bookingRepository.findById(oldBooking.getId())).isEmpty();
+        assertThat(bookingRepository.findById(recentBooking.getId())).isPresent();
+        ArchivedBooking archivedBooking = archivedBookingRepository.findById(oldBooking.getId()).orElseThrow();
+        assertThat(archivedBooking.getBookerId()).isEqualTo(booker.getId());
+        assertThat(archivedBooking.getItemId()).isEqualTo(item.getId());
+        assertThat(archivedBooking.getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(archivedBooking.getArchived()).isNotNull();
+    }
+
+    @Test
+    void archiveEndedBefore_JobLockedByOtherInstance_MovesNothing() {
+        ScheduledJobLock lockedElsewhere = mock(ScheduledJobLock.class);
+        when(lockedElsewhere.tryLockForTransaction(anyString())).thenReturn(false);
+        BookingArchiveService otherInstance = new BookingArchiveServiceImpl(bookingRepository,
+                archivedBookingRepository, transactionManager, lockedElsewhere, Duration.ofDays(365), 1000);
+
+        int archived = otherInstance.archiveEndedBefore(LocalDateTime.now().minusYears(1));
+        entityManager.clear();
+
+        assertThat(archived).isZero();
+        assertThat(bookingRepository.findById(oldBooking.getId())).isPresent();
+        assertThat(archivedBookingRepository.findById(oldBooking.getId())).isEmpty();
+    }
+
+    @Test
+    void createComment_BookingOnlyInArchive_Allowed() {
+        archiveService.archiveEndedBefore(LocalDateTime.now().minusYears(1));
+        entityManager.clear();
+
+        CommentDto comment = itemService.createComment(new CommentDto(null, "Хорошая дрель", null, null),
+                item.getId(), booker.getId());
+
+        assertThat(comment.getId()).isNotNull();
+        assertThat(comment.getText()).isEqualTo("Хорошая дрель");
+    }
+}
@@ -10,14 +10,23 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.api.BookingState;
 import ru.practicum.shareit.server.booking.controller.BookingController;
 import ru.practicum.shareit.server.booking.dto.BookingDto;
 import ru.practicum.shareit.server.booking.dto.BookingDtoToPut;
+import ru.practicum.shareit.server.booking.dto.BookingField;
 import ru.practicum.shareit.server.booking.service.BookingService;
+import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.idempotency.service.IdempotencyService;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
@@ -32,6 +41,9 @@ public class BookingControllerTest {
     @Mock
     private BookingService bookingService;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
     @InjectMocks
     private BookingController bookingController;
 
@@ -40,6 +52,8 @@ public class BookingControllerTest {
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(bookingController).build();
+        lenient().when(idempotencyService.execute(any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(5).get());
         objectMapper = new ObjectMapper();
     }
 
@@ -114,13 +128,63 @@ public class BookingControllerTest {
         Long userId = 1L;
         List<BookingDto> expectedBookings = Collections.singletonList(new BookingDto());
 
-        when(bookingService.getBookings(any(), eq(userId))).thenReturn(expectedBookings);
+        when(bookingService.getBookingsOfOwnerItems(userId, BookingState.ALL)).thenReturn(expectedBookings);
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", userId))
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(expectedBookings)));
 
-        verify(bookingService).getBookings(any(), eq(userId));
+        verify(bookingService).getBookingsOfOwnerItems(userId, BookingState.ALL);
+        verify(bookingService, never()).getBookings(any(), any());
+    }
+
+    @Test
+    void getAllUserBookings_UnknownState_ThrowsNotFoundException() {
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> bookingController.getAllUserBookings(1L, "INVALID_STATE"));
+
+        assertEquals("Не найден параметр INVALID_STATE", exception.getMessage());
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void getAllUserBookings_NoState_UsesAll() {
+        bookingController.getAllUserBookings(1L, null);
+
+        verify(bookingService).getBookingsByUserIdWithState(BookingState.ALL, 1L);
+    }
+
+    @Test
+    void getOwnerBookings_WithFields_ReturnsOnlyRequestedFields() throws Exception {
+        Long userId = 1L;
+        Map<String, Object> row = Map.of("id", 5L);
+
+        when(bookingService.getOwnerBookingFields(userId, BookingState.ALL, EnumSet.of(BookingField.ID)))
+                .thenReturn(List.of(row));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .param("fields", "id")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(5))
+                .andExpect(jsonPath("$[0].item").doesNotExist());
+
+        verify(bookingService, never()).getBookingsOfOwnerItems(any(), any());
+    }
+
+    @Test
+    void getBookingsOfAllOwnersItemsByUserId_WithState_PassesParsedState() throws Exception {
+        Long userId = 1L;
+
+        when(bookingService.getBookingsOfOwnerItems(userId, BookingState.FUTURE)).thenReturn(List.of());
+
+        mockMvc.perform(get("/bookings/owner")
+                        .param("state", "FUTURE")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        verify(bookingService).getBookingsOfOwnerItems(userId, BookingState.FUTURE);
     }
 }
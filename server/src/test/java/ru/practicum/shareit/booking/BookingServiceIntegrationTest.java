@@ -1,21 +1,30 @@
 package ru.practicum.shareit.booking;
 
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.api.ApiHeaders;
+import ru.practicum.shareit.api.BookingState;
 import ru.practicum.shareit.server.booking.dto.BookingDto;
 import ru.practicum.shareit.server.booking.dto.BookingDtoToPut;
+import ru.practicum.shareit.server.booking.dto.BookingField;
+import ru.practicum.shareit.server.booking.model.Booking;
 
 import ru.practicum.shareit.server.booking.model.Status;
 import ru.practicum.shareit.server.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.server.booking.storage.BookingRepository;
 import ru.practicum.shareit.server.exception.InvalidRequestException;
 import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.exception.ValidationException;
 
 import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.model.Item;
 
 import ru.practicum.shareit.server.item.service.ItemService;
 
@@ -25,12 +34,16 @@ import ru.practicum.shareit.server.user.service.UserService;
 import ru.practicum.shareit.server.user.storage.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
 
@@ -60,6 +73,9 @@ public class BookingServiceIntegrationTest {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private MockMvc mockMvc;
+
 
     @BeforeEach
     public void setUp() {
@@ -80,7 +96,7 @@ public class BookingServiceIntegrationTest {
     public void testCreateBooking() {
         itemService.addItem(owner.getId(), item);
 
-        assertThat(itemService.getItemById(item.getId()).getAvailable()).isTrue();
+        assertThat(itemService.getItemById(item.getId(), owner.getId()).getAvailable()).isTrue();
 
         BookingDtoToPut bookingDto = new BookingDtoToPut();
         bookingDto.setItemId(item.getId());
@@ -224,7 +240,7 @@ public class BookingServiceIntegrationTest {
         bookingDto.setEnd(LocalDateTime.now().plusDays(2));
         bookingService.create(bookingDto, booker.getId());
 
-        List<BookingDto> bookings = bookingService.getBookingsByUserIdWithState("ALL", booker.getId());
+        List<BookingDto> bookings = bookingService.getBookingsByUserIdWithState(BookingState.ALL, booker.getId());
 
         assertThat(bookings).isNotNull();
         assertThat(bookings.size()).isGreaterThan(0);
@@ -238,12 +254,179 @@ public class BookingServiceIntegrationTest {
         bookingDto.setEnd(LocalDateTime.now().plusDays(2));
         bookingService.create(bookingDto, booker.getId());
 
-        List<BookingDto> ownerBookings = bookingService.getBookingsOfOwnerItems(owner.getId(), "ALL");
+        List<BookingDto> ownerBookings = bookingService.getBookingsOfOwnerItems(owner.getId(), BookingState.ALL);
 
         assertThat(ownerBookings).isNotNull();
         assertThat(ownerBookings.size()).isGreaterThan(0);
     }
 
+    @Test
+    public void testGetBookings_ProjectionFillsItemAndBooker() {
+        BookingDtoToPut bookingDto = new BookingDtoToPut();
+        bookingDto.setItemId(item.getId());
+        bookingDto.setStart(LocalDateTime.now().plusDays(1));
+        bookingDto.setEnd(LocalDateTime.now().plusDays(2));
+        BookingDto createdBooking = bookingService.create(bookingDto, booker.getId());
+
+        List<BookingDto> bookings = bookingService.getBookings(BookingState.FUTURE, booker.getId());
+
+        assertThat(bookings.size()).isEqualTo(1);
+        assertThat(bookings.get(0).getId()).isEqualTo(createdBooking.getId());
+        assertThat(bookings.get(0).getItem().getName()).isEqualTo(item.getName());
+        assertThat(bookings.get(0).getBooker().getEmail()).isEqualTo(booker.getEmail());
+        assertThat(bookings.get(0).getStatus()).isEqualTo(Status.WAITING);
+    }
+
+    @Test
+    public void testStreamBookingsOfOwnerItems() {
+        BookingDtoToPut bookingDto = new BookingDtoToPut();
+        bookingDto.setItemId(item.getId());
+        bookingDto.setStart(LocalDateTime.now().plusDays(1));
+        bookingDto.setEnd(LocalDateTime.now().plusDays(2));
+        BookingDto createdBooking = bookingService.create(bookingDto, booker.getId());
+
+        List<BookingDto> streamed = new ArrayList<>();
+        bookingService.streamBookingsOfOwnerItems(owner.getId(), BookingState.FUTURE, streamed::add);
+
+        assertThat(streamed.size()).isEqualTo(1);
+        assertThat(streamed.get(0).getId()).isEqualTo(createdBooking.getId());
+        assertThat(streamed.get(0).getItem().getId()).isEqualTo(item.getId());
+    }
+
+    @Test
+    public void testStateFrom_WhenUnknownState_ShouldReturnEmpty() {
+        assertTrue(BookingState.from("UNKNOWN").isEmpty());
+    }
+
+    @Test
+    public void testStateQueries_MatchStateCounts() {
+        Item itemEntity = itemRepository.findById(item.getId()).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2), itemEntity, booker,
+                Status.APPROVED));
+        bookingRepository.save(new Booking(null, now.minusDays(1), now.plusDays(1), itemEntity, booker,
+                Status.APPROVED));
+        bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), itemEntity, booker,
+                Status.WAITING));
+        bookingRepository.save(new Booking(null, now.plusDays(3), now.plusDays(4), itemEntity, booker,
+                Status.REJECTED));
+
+        Map<String, Integer> bookerCounts = bookingService.getBookingStateCounts(booker.getId());
+        Map<String, Integer> ownerCounts = bookingService.getOwnerBookingStateCounts(owner.getId());
+        assertEquals(Map.of("ALL", 4, "CURRENT", 1, "PAST", 1, "FUTURE", 2, "WAITING", 1, "REJECTED", 1),
+                bookerCounts);
+        assertEquals(bookerCounts, ownerCounts);
+        assertEquals(Map.of("ALL", 0, "CURRENT", 0, "PAST", 0, "FUTURE", 0, "WAITING", 0, "REJECTED", 0),
+                bookingService.getBookingStateCounts(owner.getId()));
+        for (BookingState state : BookingState.values()) {
+            assertEquals(bookerCounts.get(state.name()), bookingService.getBookings(state, booker.getId()).size(),
+                    state.name());
+            assertEquals(ownerCounts.get(state.name()),
+                    bookingService.getBookingsOfOwnerItems(owner.getId(), state).size(), state.name());
+        }
+        assertEquals(BookingState.REJECTED, BookingState.from("CANCELED").orElseThrow());
+        assertEquals(Status.REJECTED,
+                bookingService.getBookings(BookingState.REJECTED, booker.getId()).get(0).getStatus());
+    }
+
+    @Test
+    public void testGetOwnerBookingFields_ReturnsOnlyRequestedFields() {
+        BookingDtoToPut bookingDto = new BookingDtoToPut();
+        bookingDto.setItemId(item.getId());
+        bookingDto.setStart(LocalDateTime.now().plusDays(1));
+        bookingDto.setEnd(LocalDateTime.now().plusDays(2));
+        BookingDto createdBooking = bookingService.create(bookingDto, booker.getId());
+
+        List<Map<String, Object>> rows = bookingService.getOwnerBookingFields(owner.getId(), BookingState.FUTURE,
+                BookingField.parse("status, id,item"));
+
+        assertThat(rows.size()).isEqualTo(1);
+        assertEquals(List.of("id", "status", "item"), List.copyOf(rows.get(0).keySet()));
+        assertEquals(createdBooking.getId(), rows.get(0).get("id"));
+        assertEquals(Status.WAITING, rows.get(0).get("status"));
+        assertEquals(item.getName(), ((Map<?, ?>) rows.get(0).get("item")).get("name"));
+    }
+
+    @Test
+    public void testGetBookingFields_WithoutJoins_MatchesFullQuery() {
+        BookingDtoToPut bookingDto = new BookingDtoToPut();
+        bookingDto.setItemId(item.getId());
+        bookingDto.setStart(LocalDateTime.now().plusDays(1));
+        bookingDto.setEnd(LocalDateTime.now().plusDays(2));
+        bookingService.create(bookingDto, booker.getId());
+
+        List<Map<String, Object>> rows = bookingService.getBookingFields(BookingState.ALL, booker.getId(),
+                BookingField.parse("id"));
+        List<BookingDto> bookings = bookingService.getBookings(BookingState.ALL, booker.getId());
+
+        assertEquals(bookings.size(), rows.size());
+        assertEquals(bookings.get(0).getId(), rows.get(0).get("id"));
+        assertEquals(1, rows.get(0).size());
+    }
+
+    @Test
+    public void testOwnerEndpoint_FieldsAndStreamReturnSameBookingsAsFullList() throws Exception {
+        List<Long> ownerItemBookings = saveOwnerItemBookings().stream().map(Booking::getId).toList();
+
+        List<Long> full = ownerBookingIds(get("/bookings/owner"));
+        List<Long> projected = ownerBookingIds(get("/bookings/owner").param("fields", "id"));
+        List<Long> streamed = ownerBookingIds(get("/bookings/owner").param("stream", "true"));
+
+        assertEquals(ownerItemBookings.size(), full.size());
+        assertTrue(full.containsAll(ownerItemBookings));
+        assertEquals(full, projected);
+        assertEquals(full, streamed);
+    }
+
+    @Test
+    public void testOwnerEndpoint_ReturnsOwnerItemBookingsForEachState() throws Exception {
+        List<Booking> bookings = saveOwnerItemBookings();
+        Long past = bookings.get(0).getId();
+        Long current = bookings.get(1).getId();
+        Long waiting = bookings.get(2).getId();
+        Long rejected = bookings.get(3).getId();
+
+        assertEquals(List.of(rejected, waiting, current, past), ownerBookingIds(get("/bookings/owner")));
+        assertEquals(List.of(current), ownerBookingIds(get("/bookings/owner").param("state", "CURRENT")));
+        assertEquals(List.of(past), ownerBookingIds(get("/bookings/owner").param("state", "PAST")));
+        assertEquals(List.of(waiting), ownerBookingIds(get("/bookings/owner").param("state", "WAITING")));
+        assertEquals(List.of(rejected), ownerBookingIds(get("/bookings/owner").param("state", "REJECTED")));
+    }
+
+    @Test
+    public void testOwnerEndpoint_FutureKeepsOnlyNotStartedBookings() throws Exception {
+        List<Booking> bookings = saveOwnerItemBookings();
+        List<Long> future = List.of(bookings.get(3).getId(), bookings.get(2).getId());
+
+        assertEquals(future, ownerBookingIds(get("/bookings/owner").param("state", "FUTURE")));
+        assertEquals(future, ownerBookingIds(get("/bookings/owner").param("state", "FUTURE")
+                .param("fields", "id")));
+        assertEquals(future, ownerBookingIds(get("/bookings/owner").param("state", "FUTURE")
+                .param("stream", "true")));
+    }
+
+    @Test
+    public void testOwnerStateCounts_MatchOwnerListPerState() throws Exception {
+        saveOwnerItemBookings();
+
+        String body = mockMvc.perform(get("/bookings/owner/states").header(ApiHeaders.USER_ID, owner.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        for (BookingState state : BookingState.values()) {
+            int count = JsonPath.read(body, "$." + state.name());
+            assertEquals(count, ownerBookingIds(get("/bookings/owner").param("state", state.name())).size(),
+                    state.name());
+        }
+        assertEquals(4, (int) JsonPath.read(body, "$.ALL"));
+    }
+
+    @Test
+    public void testBookingFieldParse_WhenUnknownField_ShouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> BookingField.parse("id,owner"));
+        assertThrows(ValidationException.class, () -> BookingField.parse(" , "));
+    }
+
     @Test
     public void testUpdateBooking_WhenBookingNotFound_ShouldThrowNotFoundException() {
         assertThrows(NotFoundException.class, () -> {
@@ -266,7 +449,7 @@ public class BookingServiceIntegrationTest {
 
     @Test
     public void testGetBookingsByUserId_WhenUserHasNoBookings_ShouldReturnEmptyList() {
-        List<BookingDto> bookings = bookingService.getBookingsByUserIdWithState("ALL", booker.getId());
+        List<BookingDto> bookings = bookingService.getBookingsByUserIdWithState(BookingState.ALL, booker.getId());
 
         assertThat(bookings).isNotNull();
         assertThat(bookings.size()).isEqualTo(0);
@@ -274,7 +457,7 @@ public class BookingServiceIntegrationTest {
 
     @Test
     public void testGetBookingsOfOwnerItems_WhenNoBookings_ShouldReturnEmptyList() {
-        List<BookingDto> ownerBookings = bookingService.getBookingsOfOwnerItems(owner.getId(), "ALL");
+        List<BookingDto> ownerBookings = bookingService.getBookingsOfOwnerItems(owner.getId(), BookingState.ALL);
 
         assertThat(ownerBookings).isNotNull();
         assertThat(ownerBookings.size()).isEqualTo(0);
@@ -305,4 +488,69 @@ public class BookingServiceIntegrationTest {
 
         assertThat(exception.getMessage()).isEqualTo("Дата окончания должна быть позже даты начала");
     }
+
+    @Test
+    public void testItemBookingSummary_FollowsCreateAndReject() {
+        BookingDtoToPut pastDto = new BookingDtoToPut();
+        pastDto.setItemId(item.getId());
+        pastDto.setStart(LocalDateTime.now().minusDays(2));
+        pastDto.setEnd(LocalDateTime.now().minusDays(1));
+        BookingDto past = bookingService.create(pastDto, booker.getId());
+
+        BookingDtoToPut laterDto = new BookingDtoToPut();
+        laterDto.setItemId(item.getId());
+        laterDto.setStart(LocalDateTime.now().plusDays(3));
+        laterDto.setEnd(LocalDateTime.now().plusDays(4));
+        BookingDto later = bookingService.create(laterDto, booker.getId());
+
+        BookingDtoToPut soonDto = new BookingDtoToPut();
+        soonDto.setItemId(item.getId());
+        soonDto.setStart(LocalDateTime.now().plusDays(1));
+        soonDto.setEnd(LocalDateTime.now().plusDays(2));
+        BookingDto soon = bookingService.create(soonDto, booker.getId());
+
+        ItemDto withSummary = itemService.getItemById(item.getId(), owner.getId());
+        assertThat(withSummary.getLastBooking().getId()).isEqualTo(past.getId());
+        assertThat(withSummary.getNextBooking().getId()).isEqualTo(soon.getId());
+
+        ItemDto forBooker = itemService.getItemById(item.getId(), booker.getId());
+        assertThat(forBooker.getLastBooking()).isNull();
+        assertThat(forBooker.getNextBooking()).isNull();
+
+        bookingService.update(soon.getId(), owner.getId(), false);
+
+        ItemDto afterReject = itemService.getAllItemsByUserId(owner.getId()).getFirst();
+        assertThat(afterReject.getLastBooking().getId()).isEqualTo(past.getId());
+        assertThat(afterReject.getNextBooking().getId()).isEqualTo(later.getId());
+    }
+
+    /**
+     * Бронирования вещи владельца во всех состояниях и бронирование владельцем чужой вещи,
+     * которое в выдачу /bookings/owner попадать не должно.
+     */
+    private List<Booking> saveOwnerItemBookings() {
+        Item itemEntity = itemRepository.findById(item.getId()).orElseThrow();
+        User neighbour = userRepository.save(new User("Neighbour", "neighbour@example.com"));
+        Item neighbourItem = itemRepository.save(new Item("Лестница", "Стремянка", true, neighbour));
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking(null, now.plusDays(5), now.plusDays(6), neighbourItem, owner,
+                Status.WAITING));
+        return List.of(
+                bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2), itemEntity, booker,
+                        Status.APPROVED)),
+                bookingRepository.save(new Booking(null, now.minusDays(1), now.plusDays(1), itemEntity, booker,
+                        Status.APPROVED)),
+                bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), itemEntity, booker,
+                        Status.WAITING)),
+                bookingRepository.save(new Booking(null, now.plusDays(3), now.plusDays(4), itemEntity, booker,
+                        Status.REJECTED)));
+    }
+
+    private List<Long> ownerBookingIds(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request.header(ApiHeaders.USER_ID, owner.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Number> ids = JsonPath.read(body, "$[*].id");
+        return ids.stream().map(Number::longValue).toList();
+    }
 }
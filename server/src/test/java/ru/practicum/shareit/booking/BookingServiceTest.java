@@ -6,12 +6,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.api.BookingState;
 import ru.practicum.shareit.server.booking.dto.BookingDto;
 import ru.practicum.shareit.server.booking.dto.BookingDtoToPut;
+import ru.practicum.shareit.server.booking.mapper.BookingMapper;
 
 import ru.practicum.shareit.server.booking.model.Booking;
 import ru.practicum.shareit.server.booking.model.Status;
 import ru.practicum.shareit.server.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.server.booking.service.ItemBookingSummaryService;
 import ru.practicum.shareit.server.booking.storage.BookingRepository;
 import ru.practicum.shareit.server.exception.InvalidRequestException;
 import ru.practicum.shareit.server.exception.NotFoundException;
@@ -19,7 +22,9 @@ import ru.practicum.shareit.server.exception.ValidationException;
 
 import ru.practicum.shareit.server.item.mapper.ItemMapper;
 import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.service.CommentEligibilityCache;
 import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.outbox.service.OutboxService;
 import ru.practicum.shareit.server.item.storage.ItemRepository;
 
 import ru.practicum.shareit.server.user.mapper.UserMapper;
@@ -29,10 +34,14 @@ import ru.practicum.shareit.server.user.storage.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,6 +62,15 @@ public class BookingServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ItemBookingSummaryService summaryService;
+
+    @Mock
+    private CommentEligibilityCache eligibilityCache;
+
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -76,9 +94,10 @@ public class BookingServiceTest {
 
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(userService.getUserById(user.getId())).thenReturn(UserMapper.mapToUserDto(user));
-        when(bookingRepository.getAllByBookerId(user.getId())).thenReturn(Collections.singletonList(booking));
+        when(bookingRepository.findDtoByBookerIdAndState(eq(user.getId()), eq(BookingState.ALL), any()))
+                .thenReturn(Collections.singletonList(BookingMapper.mapToBookingDto(booking)));
 
-        List<BookingDto> result = bookingService.getBookingsByUserIdWithState("ALL", user.getId());
+        List<BookingDto> result = bookingService.getBookingsByUserIdWithState(BookingState.ALL, user.getId());
 
         assertEquals(1, result.size());
     }
@@ -89,12 +108,12 @@ public class BookingServiceTest {
 
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
 
-        when(itemRepository.findByOwnerId(user.getId())).thenReturn(Collections.singletonList(item));
+        when(itemRepository.existsByOwnerId(user.getId())).thenReturn(true);
 
-        when(bookingRepository.getAllBookingsForItems(Collections.singletonList(item.getId())))
-                .thenReturn(Collections.singletonList(booking));
+        when(bookingRepository.findDtoByOwnerIdAndState(eq(user.getId()), eq(BookingState.ALL), any()))
+                .thenReturn(Collections.singletonList(BookingMapper.mapToBookingDto(booking)));
 
-        List<BookingDto> result = bookingService.getBookingsOfOwnerItems(user.getId(), "ALL");
+        List<BookingDto> result = bookingService.getBookingsOfOwnerItems(user.getId(), BookingState.ALL);
 
         assertEquals(1, result.size());
     }
@@ -124,7 +143,7 @@ public class BookingServiceTest {
         booking.setBooker(booker);
 
         when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
-        when(itemService.getItemById(itemId)).thenReturn(ItemMapper.mapToItemDtoWithComments(item));
+        when(itemService.getItemById(eq(itemId), any())).thenReturn(ItemMapper.mapToItemDtoWithComments(item));
         when(bookingRepository.save(any())).thenReturn(booking);
 
         BookingDto result = bookingService.create(bookingDto, bookerId);
@@ -145,7 +164,8 @@ public class BookingServiceTest {
         BookingDtoToPut bookingDtoToPut = new BookingDtoToPut(item.getId(), LocalDateTime.now().plusDays(1),
                 LocalDateTime.now().plusDays(2));
 
-        when(itemService.getItemById(item.getId())).thenReturn(ItemMapper.mapToItemDtoWithComments(item));
+        when(itemService.getItemById(eq(item.getId()), any()))
+                .thenReturn(ItemMapper.mapToItemDtoWithComments(item));
 
         ValidationException exception = assertThrows(ValidationException.class, () -> {
             bookingService.create(bookingDtoToPut, user.getId());
@@ -175,7 +195,7 @@ public class BookingServiceTest {
                 LocalDateTime.now().plusDays(2));
 
         when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
-        when(itemService.getItemById(itemId)).thenReturn(ItemMapper.mapToItemDtoWithComments(item));
+        when(itemService.getItemById(eq(itemId), any())).thenReturn(ItemMapper.mapToItemDtoWithComments(item));
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> {
             bookingService.create(bookingDto, bookerId);
@@ -216,7 +236,8 @@ public class BookingServiceTest {
         item.setOwner(owner);
 
         when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(itemService.getItemById(item.getId())).thenReturn(ItemMapper.mapToItemDtoWithComments(item));
+        when(itemService.getItemById(eq(item.getId()), any()))
+                .thenReturn(ItemMapper.mapToItemDtoWithComments(item));
 
         Booking existingBooking = new Booking(4L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(3),
                 item, owner, Status.WAITING);
@@ -261,10 +282,10 @@ public class BookingServiceTest {
     @Test
     void getBookingsOfOwnerItems_NoItems_ThrowsNotFoundException() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findByOwnerId(user.getId())).thenReturn(Collections.emptyList());
+        when(itemRepository.existsByOwnerId(user.getId())).thenReturn(false);
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> {
-            bookingService.getBookingsOfOwnerItems(user.getId(), "ALL");
+            bookingService.getBookingsOfOwnerItems(user.getId(), BookingState.ALL);
         });
 
         assertEquals("У пользователя c id = " + user.getId() + " нет вещей для бронирования.",
@@ -274,10 +295,11 @@ public class BookingServiceTest {
     @Test
     void getBookingsOfOwnerItems_ValidRequestWithNoBookings_ReturnsEmptyList() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findByOwnerId(user.getId())).thenReturn(Collections.singletonList(item));
-        when(bookingRepository.getAllBookingsForItems(anyList())).thenReturn(Collections.emptyList());
+        when(itemRepository.existsByOwnerId(user.getId())).thenReturn(true);
+        when(bookingRepository.findDtoByOwnerIdAndState(eq(user.getId()), eq(BookingState.ALL), any()))
+                .thenReturn(Collections.emptyList());
 
-        List<BookingDto> result = bookingService.getBookingsOfOwnerItems(user.getId(), "ALL");
+        List<BookingDto> result = bookingService.getBookingsOfOwnerItems(user.getId(), BookingState.ALL);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -348,7 +370,7 @@ public class BookingServiceTest {
                 LocalDateTime.now().plusDays(2));
 
         when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
-        when(itemService.getItemById(itemId)).thenReturn(ItemMapper.mapToItemDtoWithComments(item));
+        when(itemService.getItemById(eq(itemId), any())).thenReturn(ItemMapper.mapToItemDtoWithComments(item));
         when(bookingRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         BookingDto result = bookingService.create(bookingDto, bookerId);
@@ -379,7 +401,7 @@ public class BookingServiceTest {
         BookingDtoToPut bookingDto = new BookingDtoToPut(itemId, existingStart.plusHours(1), existingEnd.minusHours(1));
 
         when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
-        when(itemService.getItemById(itemId)).thenReturn(ItemMapper.mapToItemDtoWithComments(item));
+        when(itemService.getItemById(eq(itemId), any())).thenReturn(ItemMapper.mapToItemDtoWithComments(item));
         when(bookingRepository.findBookingByItemId(itemId)).thenReturn(List.of(existingBooking));
 
         InvalidRequestException exception = assertThrows(InvalidRequestException.class, () -> {
@@ -393,9 +415,10 @@ public class BookingServiceTest {
     @Test
     void getBookingsByUserIdWithState_NoBookings_ReturnsEmptyList() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.getAllByBookerId(user.getId())).thenReturn(Collections.emptyList());
+        when(bookingRepository.findDtoByBookerIdAndState(eq(user.getId()), eq(BookingState.ALL), any()))
+                .thenReturn(Collections.emptyList());
 
-        List<BookingDto> result = bookingService.getBookingsByUserIdWithState("ALL", user.getId());
+        List<BookingDto> result = bookingService.getBookingsByUserIdWithState(BookingState.ALL, user.getId());
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -415,7 +438,7 @@ public class BookingServiceTest {
         item.setAvailable(true);
 
         when(userRepository.findById(bookerId)).thenReturn(Optional.of(user));
-        when(itemService.getItemById(itemId)).thenReturn(ItemMapper.mapToItemDtoWithComments(item));
+        when(itemService.getItemById(eq(itemId), any())).thenReturn(ItemMapper.mapToItemDtoWithComments(item));
 
         BookingDtoToPut bookingDto = new BookingDtoToPut();
         bookingDto.setItemId(itemId);
@@ -463,69 +486,60 @@ public class BookingServiceTest {
     @Test
     void getBookings_All_ReturnsAllBookings() {
         when(userRepository.findById(user.getId())).thenReturn(java.util.Optional.of(user));
-        when(bookingRepository.getAllByBookerId(user.getId())).thenReturn(List.of(booking));
+        when(bookingRepository.findDtoByBookerIdAndState(eq(user.getId()), eq(BookingState.ALL), any()))
+                .thenReturn(List.of(BookingMapper.mapToBookingDto(booking)));
 
-        List<BookingDto> result = bookingService.getBookings("ALL", user.getId());
+        List<BookingDto> result = bookingService.getBookings(BookingState.ALL, user.getId());
 
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
-        verify(bookingRepository, times(1)).getAllByBookerId(user.getId());
+        verify(bookingRepository, times(1)).findDtoByBookerIdAndState(eq(user.getId()), eq(BookingState.ALL), any());
     }
 
     @Test
-    void getBookings_Current_ReturnsCurrentBookings() {
+    void getBookings_EachState_UsesQueryOfThatState() {
         when(userRepository.findById(user.getId())).thenReturn(java.util.Optional.of(user));
-        when(bookingRepository.getAllCurrentByUserId(user.getId())).thenReturn(List.of(booking));
+        Booking current = new Booking(2L, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1), item,
+                owner, Status.APPROVED);
+        when(bookingRepository.findDtoByBookerIdAndState(eq(user.getId()), eq(BookingState.CURRENT), any()))
+                .thenReturn(List.of(BookingMapper.mapToBookingDto(current)));
 
-        List<BookingDto> result = bookingService.getBookings("CURRENT", user.getId());
+        List<BookingDto> result = bookingService.getBookings(BookingState.CURRENT, user.getId());
 
         assertEquals(1, result.size());
-        assertEquals(booking.getId(), result.get(0).getId());
-        verify(bookingRepository, times(1)).getAllCurrentByUserId(user.getId());
+        assertEquals(current.getId(), result.get(0).getId());
+        verify(bookingRepository, never()).findDtoByBookerIdAndState(eq(user.getId()), eq(BookingState.ALL), any());
     }
 
     @Test
-    void getBookings_Past_ReturnsPastBookings() {
-        when(userRepository.findById(user.getId())).thenReturn(java.util.Optional.of(user));
-        when(bookingRepository.getAllPastByUserId(user.getId())).thenReturn(Collections.emptyList());
-
-        List<BookingDto> result = bookingService.getBookings("PAST", user.getId());
-
-        assertTrue(result.isEmpty());
-        verify(bookingRepository, times(1)).getAllPastByUserId(user.getId());
+    void stateFrom_IgnoresCaseAndTreatsCanceledAsRejected() {
+        assertEquals(Optional.of(BookingState.FUTURE), BookingState.from("future"));
+        assertEquals(Optional.of(BookingState.REJECTED), BookingState.from("CANCELED"));
+        assertTrue(BookingState.from("INVALID_STATE").isEmpty());
     }
 
     @Test
-    void getBookings_Future_ReturnsFutureBookings() {
-        when(userRepository.findById(user.getId())).thenReturn(java.util.Optional.of(user));
-        when(bookingRepository.getAllFutureByUserId(user.getId())).thenReturn(List.of(booking));
-
-        List<BookingDto> result = bookingService.getBookings("FUTURE", user.getId());
-
-        assertEquals(1, result.size());
-        assertEquals(booking.getId(), result.get(0).getId());
-        verify(bookingRepository, times(1)).getAllFutureByUserId(user.getId());
-    }
-
-    @Test
-    void getBookings_InvalidState_ThrowsNotFoundException() {
-        when(userRepository.findById(user.getId())).thenReturn(java.util.Optional.of(user));
+    void getBookings_UserDoesNotExist_ThrowsNotFoundException() {
+        when(userRepository.findById(user.getId())).thenReturn(java.util.Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> {
-            bookingService.getBookings("INVALID_STATE", user.getId());
+            bookingService.getBookings(BookingState.ALL, user.getId());
         });
 
-        assertEquals("Не найден параметр INVALID_STATE", exception.getMessage());
+        assertEquals("Пользователь с id = 1 не найден.", exception.getMessage());
     }
 
     @Test
-    void getBookings_UserDoesNotExist_ThrowsNotFoundException() {
-        when(userRepository.findById(user.getId())).thenReturn(java.util.Optional.empty());
+    void getBookingStateCounts_CountsAllStatesFromOneQuery() {
+        Map<BookingState, Integer> perState = new EnumMap<>(Map.of(BookingState.ALL, 2, BookingState.CURRENT, 0,
+                BookingState.PAST, 1, BookingState.FUTURE, 1, BookingState.WAITING, 1, BookingState.REJECTED, 1));
+        when(userRepository.findById(user.getId())).thenReturn(java.util.Optional.of(user));
+        when(bookingRepository.countByBookerIdPerState(eq(user.getId()), any())).thenReturn(perState);
 
-        NotFoundException exception = assertThrows(NotFoundException.class, () -> {
-            bookingService.getBookings("ALL", user.getId());
-        });
+        Map<String, Integer> counts = bookingService.getBookingStateCounts(user.getId());
 
-        assertEquals("Пользователь с id = 1 не найден.", exception.getMessage());
+        assertEquals(Map.of("ALL", 2, "CURRENT", 0, "PAST", 1, "FUTURE", 1, "WAITING", 1, "REJECTED", 1), counts);
+        assertEquals(List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"), List.copyOf(counts.keySet()));
+        verify(bookingRepository, times(1)).countByBookerIdPerState(eq(user.getId()), any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,192 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.booking.service.ItemBookingSummaryServiceImpl;
+import ru.practicum.shareit.server.booking.storage.BookingRepository;
+import ru.practicum.shareit.server.booking.storage.ItemBookingSummaryRepository;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemBookingSummaryServiceTest {
+
+    @Mock
+    private ItemBookingSummaryRepository summaryRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ItemBookingSummaryServiceImpl summaryService;
+
+    private Item item;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User(1L, "Owner", "owner@email.ru");
+        booker = new User(2L, "Booker", "booker@email.ru");
+        item = new Item(1L, "Item", "Description", true, owner);
+    }
+
+    @Test
+    void onBookingCreated_EarlierFutureBooking_BecomesNext() {
+        ItemBookingSummary summary = new ItemBookingSummary(item.getId());
+        summary.setNextBooking(booking(10L, LocalDateTime.now().plusDays(5)));
+        summary.setNextTransition(summary.getNextStart());
+        when(summaryRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(summary));
+
+        Booking created = booking(11L, LocalDateTime.now().plusDays(1));
+        summaryService.onBookingCreated(created);
+
+        assertEquals(11L, summary.getNextBookingId());
+        assertEquals(created.getStart(), summary.getNextTransition());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void onBookingCreated_NoSummary_Recalculates() {
+        Booking created = booking(11L, LocalDateTime.now().plusDays(1));
+        when(summaryRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.empty());
+        when(summaryRepository.insertIfAbsent(item.getId())).thenReturn(1);
+        when(bookingRepository.getNextBookingForItem(item.getId())).thenReturn(created);
+
+        summaryService.onBookingCreated(created);
+
+        ArgumentCaptor<ItemBookingSummary> captor = ArgumentCaptor.forClass(ItemBookingSummary.class);
+        verify(summaryRepository).save(captor.capture());
+        assertEquals(11L, captor.getValue().getNextBookingId());
+        assertNull(captor.getValue().getLastBookingId());
+        assertEquals(created.getStart(), captor.getValue().getNextTransition());
+    }
+
+    @Test
+    void onBookingCreated_SummaryCreatedConcurrently_UpdatesIt() {
+        ItemBookingSummary concurrent = new ItemBookingSummary(item.getId());
+        concurrent.setNextBooking(booking(10L, LocalDateTime.now().plusDays(5)));
+        concurrent.setNextTransition(concurrent.getNextStart());
+        when(summaryRepository.findByIdForUpdate(item.getId()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(concurrent));
+        when(summaryRepository.insertIfAbsent(item.getId())).thenReturn(0);
+
+        Booking created = booking(11L, LocalDateTime.now().plusDays(1));
+        summaryService.onBookingCreated(created);
+
+        assertEquals(11L, concurrent.getNextBookingId());
+        verify(summaryRepository, never()).save(any());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void onBookingStatusChanged_Approved_UpdatesStatusOnly() {
+        Booking booking = booking(10L, LocalDateTime.now().plusDays(1));
+        ItemBookingSummary summary = new ItemBookingSummary(item.getId());
+        summary.setNextBooking(booking);
+        when(summaryRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(summary));
+
+        booking.setStatus(Status.APPROVED);
+        summaryService.onBookingStatusChanged(booking, Status.WAITING);
+
+        assertEquals(Status.APPROVED, summary.getNextStatus());
+        verify(summaryRepository, never()).save(any());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void rollForward_RecalculatesExpiredSummaries() {
+        Booking started = booking(10L, LocalDateTime.now().minusHours(1));
+        ItemBookingSummary expired = new ItemBookingSummary(item.getId());
+        expired.setNextBooking(started);
+        expired.setNextTransition(started.getStart());
+        when(summaryRepository.findItemIdsToRollForward(any())).thenReturn(List.of(item.getId()));
+        when(summaryRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(expired));
+        when(bookingRepository.getLastBookingForItem(item.getId())).thenReturn(started);
+        when(bookingRepository.countActiveByItemId(item.getId())).thenReturn(1);
+        when(bookingRepository.findEarliestActiveEndByItemId(item.getId())).thenReturn(started.getEnd());
+
+        summaryService.rollForward();
+
+        ArgumentCaptor<ItemBookingSummary> captor = ArgumentCaptor.forClass(ItemBookingSummary.class);
+        verify(summaryRepository).save(captor.capture());
+        verify(transactionManager).commit(any());
+        ItemBookingSummary summary = captor.getValue();
+        assertEquals(10L, summary.getLastBookingId());
+        assertNull(summary.getNextBookingId());
+        assertEquals(1, summary.getActiveCount());
+        assertEquals(started.getEnd(), summary.getNextTransition());
+    }
+
+    @Test
+    void rollForward_SkipsSummaryAlreadyRecalculated() {
+        ItemBookingSummary fresh = new ItemBookingSummary(item.getId());
+        fresh.setNextTransition(LocalDateTime.now().plusDays(1));
+        when(summaryRepository.findItemIdsToRollForward(any())).thenReturn(List.of(item.getId()));
+        when(summaryRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(fresh));
+
+        summaryService.rollForward();
+
+        verify(summaryRepository, never()).save(any());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void rollForward_RecalculatesEachSummaryInOwnTransaction() {
+        Booking started = booking(10L, LocalDateTime.now().minusHours(1));
+        ItemBookingSummary first = new ItemBookingSummary(1L);
+        first.setNextTransition(started.getStart());
+        ItemBookingSummary second = new ItemBookingSummary(2L);
+        second.setNextTransition(started.getStart());
+        when(summaryRepository.findItemIdsToRollForward(any())).thenReturn(List.of(1L, 2L));
+        when(summaryRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(first));
+        when(summaryRepository.findByIdForUpdate(2L)).thenReturn(Optional.of(second));
+
+        summaryService.rollForward();
+
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(summaryRepository, times(2)).save(any());
+    }
+
+    @Test
+    void fillBookings_SetsLastAndNextFromSummary() {
+        ItemBookingSummary summary = new ItemBookingSummary(item.getId());
+        summary.setLastBooking(booking(9L, LocalDateTime.now().minusDays(3)));
+        summary.setNextBooking(booking(10L, LocalDateTime.now().plusDays(1)));
+        summary.setNextTransition(summary.getNextStart());
+        when(summaryRepository.findAllById(List.of(item.getId()))).thenReturn(List.of(summary));
+
+        ItemDto itemDto = new ItemDto(item.getId(), "Item", "Description", true, null);
+        summaryService.fillBookings(List.of(itemDto));
+
+        assertEquals(9L, itemDto.getLastBooking().getId());
+        assertEquals(10L, itemDto.getNextBooking().getId());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    private Booking booking(Long id, LocalDateTime start) {
+        return new Booking(id, start, start.plusDays(1), item, booker, Status.WAITING);
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.storage.UserRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class CborTransportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    @Test
+    void getUser_ReturnsCbor_WhenRequested() throws Exception {
+        User user = userRepository.save(new User(null, "Cbor", "cbor@mail.ru"));
+
+        MvcResult result = mockMvc.perform(get("/users/{userId}", user.getId())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode body = cborMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.get("id").asLong()).isEqualTo(user.getId());
+        assertThat(body.get("email").asText()).isEqualTo("cbor@mail.ru");
+    }
+
+    @Test
+    void getUser_ReturnsJson_ForAnyAccept() throws Exception {
+        User user = userRepository.save(new User(null, "Json", "json@mail.ru"));
+
+        mockMvc.perform(get("/users/{userId}", user.getId())
+                        .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.email").value("json@mail.ru"));
+    }
+
+    @Test
+    void errorResponse_IsCbor_WhenRequested() throws Exception {
+        MvcResult result = mockMvc.perform(get("/users/{userId}", Long.MAX_VALUE)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode body = cborMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(body.get("error").asText()).isEqualTo("Искомый объект не найден.");
+    }
+}
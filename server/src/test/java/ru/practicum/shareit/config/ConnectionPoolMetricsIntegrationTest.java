@@ -0,0 +1,64 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Класс для проверки настроек пулов соединений и публикации их метрик через actuator.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConnectionPoolMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("exportDataSource")
+    private HikariDataSource exportDataSource;
+
+    @Test
+    void pools_ConfiguredFromProperties() {
+        assertEquals("shareit-oltp", primaryDataSource.getPoolName());
+        assertEquals(20000, primaryDataSource.getLeakDetectionThreshold());
+        assertEquals("shareit-export", exportDataSource.getPoolName());
+        assertEquals(2, exportDataSource.getMaximumPoolSize());
+        assertTrue(exportDataSource.isReadOnly());
+    }
+
+    @SneakyThrows
+    @Test
+    void exportPool_MetricsExposed() {
+        try (Connection ignored = exportDataSource.getConnection()) {
+            mockMvc.perform(get("/actuator/metrics/hikaricp.connections.active")
+                            .param("tag", "pool:shareit-export"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.measurements[0].value").value(1.0));
+        }
+
+        mockMvc.perform(get("/actuator/metrics/hikaricp.connections.acquire")
+                        .param("tag", "pool:shareit-export"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/hikaricp.connections.pending")
+                        .param("tag", "pool:shareit-export"))
+                .andExpect(status().isOk());
+    }
+}
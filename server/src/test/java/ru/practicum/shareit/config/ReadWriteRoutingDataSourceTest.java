@@ -0,0 +1,98 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.server.config.ReadWriteRoutingDataSource;
+import ru.practicum.shareit.server.config.ReadYourWritesTracker;
+import ru.practicum.shareit.server.config.ReplicaLagChecker;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Класс для тестирования маршрутизации запросов между основной базой и репликой.
+ * В роли основной базы и реплики используются две отдельные базы H2 в памяти.
+ */
+class ReadWriteRoutingDataSourceTest {
+    private DataSource primary;
+    private DataSource replica;
+    private ReadYourWritesTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        primary = new DriverManagerDataSource("jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1", "sa", "");
+        replica = new DriverManagerDataSource("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1", "sa", "");
+        tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.unpin();
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplica() {
+        assertEquals("ROUTING_REPLICA", databaseName(routing("select 0"), true));
+    }
+
+    @Test
+    void readWriteTransaction_UsesPrimary() {
+        assertEquals("ROUTING_PRIMARY", databaseName(routing("select 0"), false));
+    }
+
+    @Test
+    void readOnlyTransaction_PinnedToPrimary_UsesPrimary() {
+        tracker.pinToPrimary();
+        assertEquals("ROUTING_PRIMARY", databaseName(routing("select 0"), true));
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaLagging_UsesPrimary() {
+        assertEquals("ROUTING_PRIMARY", databaseName(routing("select 10"), true));
+    }
+
+    @Test
+    void readOnlyTransaction_LagCheckFails_UsesPrimary() {
+        assertEquals("ROUTING_PRIMARY", databaseName(routing("select lag from missing_table"), true));
+    }
+
+    @Test
+    void recordWrite_StickyOnlyForWriter() {
+        tracker.recordWrite(1L);
+
+        assertTrue(tracker.hasRecentWrite(1L));
+        assertFalse(tracker.hasRecentWrite(2L));
+    }
+
+    @Test
+    void recordWrite_Expired_NotSticky() {
+        ReadYourWritesTracker expiring = new ReadYourWritesTracker(Duration.ZERO);
+        expiring.recordWrite(1L);
+
+        assertFalse(expiring.hasRecentWrite(1L));
+    }
+
+    private DataSource routing(String lagQuery) {
+        ReplicaLagChecker lagChecker = new ReplicaLagChecker(replica, lagQuery, Duration.ofSeconds(5), Duration.ZERO);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, lagChecker, tracker);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static String databaseName(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("select database()", String.class));
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import ru.practicum.shareit.server.config.ReadWriteRoutingDataSource;
+import ru.practicum.shareit.server.user.dto.UserDto;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.service.UserService;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Класс для проверки подключения реплики в контексте приложения.
+ * Реплика указывает на ту же базу H2, что и основной пул, поэтому схема и данные общие.
+ */
+@SpringBootTest(properties = {
+        "shareit.datasource.replica.hikari.jdbc-url=jdbc:h2:mem:shareit;MODE=PostgreSQL",
+        "shareit.datasource.replica.lag-query=select 0"
+})
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void dataSource_RoutesThroughReplicaConfig() {
+        LazyConnectionDataSourceProxy proxy = assertInstanceOf(LazyConnectionDataSourceProxy.class, dataSource);
+        assertInstanceOf(ReadWriteRoutingDataSource.class, proxy.getTargetDataSource());
+
+        UserDto created = userService.addUser(new User(null, "Replica", "replica@mail.ru"));
+        assertTrue(userService.getAllUsers().stream().anyMatch(u -> u.getId().equals(created.getId())));
+        userService.removeUserById(created.getId());
+    }
+}
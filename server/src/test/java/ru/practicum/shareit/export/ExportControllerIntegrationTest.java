@@ -0,0 +1,146 @@
+package ru.practicum.shareit.export;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.api.ApiHeaders;
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.booking.storage.BookingRepository;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.storage.ItemRepository;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.storage.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Выгрузка читает данные через отдельный пул соединений, поэтому тестовые данные сохраняются
+ * без транзакции теста и удаляются после каждого теста.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ExportControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private User stranger;
+    private Item firstItem;
+    private Item secondItem;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "export-owner@mail.ru"));
+        stranger = userRepository.save(new User(null, "Stranger", "export-stranger@mail.ru"));
+        firstItem = itemRepository.save(new Item("Дрель", "Простая дрель", true, owner));
+        secondItem = itemRepository.save(new Item("Отвертка", "Аккумуляторная отвертка", true, owner));
+        booking = bookingRepository.save(new Booking(null, LocalDateTime.of(2030, 1, 1, 10, 0),
+                LocalDateTime.of(2030, 1, 2, 10, 0), firstItem, owner, Status.WAITING));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.delete(booking);
+        itemRepository.deleteAll(List.of(firstItem, secondItem));
+        userRepository.deleteAll(List.of(owner, stranger));
+    }
+
+    @SneakyThrows
+    @Test
+    void exportItems_ReturnsOneLinePerItemAfterSince() {
+        MvcResult result = mockMvc.perform(get("/export/items")
+                        .header(ApiHeaders.USER_ID, owner.getId())
+                        .param("since", String.valueOf(firstItem.getId())))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].contains("\"id\":" + secondItem.getId()));
+        assertTrue(lines[0].contains("\"ownerId\":" + owner.getId()));
+    }
+
+    @SneakyThrows
+    @Test
+    void exportBookings_GzipWhenAccepted() {
+        MvcResult result = mockMvc.perform(get("/export/bookings")
+                        .header(ApiHeaders.USER_ID, owner.getId())
+                        .param("since", String.valueOf(booking.getId() - 1))
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        String content;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertTrue(content.startsWith("{\"id\":" + booking.getId() + ","));
+        assertTrue(content.contains("\"start\":\"2030-01-01T10:00:00\""));
+        assertTrue(content.contains("\"status\":\"WAITING\""));
+        assertTrue(content.endsWith("\n"));
+    }
+
+    @SneakyThrows
+    @Test
+    void exportItems_NegativeSince_ReturnsBadRequest() {
+        mockMvc.perform(get("/export/items")
+                        .header(ApiHeaders.USER_ID, owner.getId())
+                        .param("since", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @SneakyThrows
+    @Test
+    void export_OtherUser_GetsNoForeignRows() {
+        MvcResult items = mockMvc.perform(get("/export/items")
+                        .header(ApiHeaders.USER_ID, stranger.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult bookings = mockMvc.perform(get("/export/bookings")
+                        .header(ApiHeaders.USER_ID, stranger.getId()))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals("", items.getResponse().getContentAsString());
+        assertEquals("", bookings.getResponse().getContentAsString());
+    }
+
+    @SneakyThrows
+    @Test
+    void export_WithoutUserHeader_ReturnsBadRequest() {
+        mockMvc.perform(get("/export/bookings"))
+                .andExpect(status().isBadRequest());
+    }
+}
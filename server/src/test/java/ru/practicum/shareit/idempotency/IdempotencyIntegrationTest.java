@@ -0,0 +1,196 @@
+package ru.practicum.shareit.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.server.booking.dto.BookingDtoToPut;
+import ru.practicum.shareit.server.booking.storage.BookingRepository;
+import ru.practicum.shareit.server.idempotency.model.IdempotencyRecord;
+import ru.practicum.shareit.server.idempotency.storage.IdempotencyRecordRepository;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.storage.ItemRepository;
+import ru.practicum.shareit.server.outbox.storage.OutboxEventRepository;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.storage.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Записи о ключах идемпотентности фиксируются в отдельных транзакциях, поэтому тест не транзакционный
+ * и удаляет свои данные сам.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class IdempotencyIntegrationTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "idempotency-owner@mail.ru"));
+        booker = userRepository.save(new User(null, "Booker", "idempotency-booker@mail.ru"));
+        item = itemRepository.save(new Item("Дрель", "Простая дрель", true, owner));
+    }
+
+    @AfterEach
+    void tearDown() {
+        recordRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void addBooking_SameKeyTwice_CreatesOneBooking() throws Exception {
+        String body = objectMapper.writeValueAsString(bookingRequest());
+
+        String first = mockMvc.perform(post("/bookings")
+                        .header(USER_ID_HEADER, booker.getId())
+                        .header(IDEMPOTENCY_KEY_HEADER, "booking-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String second = mockMvc.perform(post("/bookings")
+                        .header(USER_ID_HEADER, booker.getId())
+                        .header(IDEMPOTENCY_KEY_HEADER, "booking-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(bookingRepository.count()).isEqualTo(1);
+        assertThat(objectMapper.readTree(second)).isEqualTo(objectMapper.readTree(first));
+    }
+
+    @Test
+    void addItem_SameKeyDifferentBody_ReturnsConflict() throws Exception {
+        ItemDto itemDto = new ItemDto(null, "Пила", "Ручная пила", true, null);
+        mockMvc.perform(post("/items")
+                        .header(USER_ID_HEADER, owner.getId())
+                        .header(IDEMPOTENCY_KEY_HEADER, "item-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemDto)))
+                .andExpect(status().isCreated());
+
+        itemDto.setName("Другая пила");
+        mockMvc.perform(post("/items")
+                        .header(USER_ID_HEADER, owner.getId())
+                        .header(IDEMPOTENCY_KEY_HEADER, "item-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.description").value("Ключ идемпотентности уже использован для другого запроса."));
+
+        assertThat(itemRepository.findByOwnerId(owner.getId())).hasSize(2);
+    }
+
+    @Test
+    void addBooking_FailedRequest_KeyCanBeReused() throws Exception {
+        BookingDtoToPut request = bookingRequest();
+        request.setItemId(item.getId() + 1000);
+        mockMvc.perform(post("/bookings")
+                        .header(USER_ID_HEADER, booker.getId())
+                        .header(IDEMPOTENCY_KEY_HEADER, "booking-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/bookings")
+                        .header(USER_ID_HEADER, booker.getId())
+                        .header(IDEMPOTENCY_KEY_HEADER, "booking-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest())))
+                .andExpect(status().isOk());
+
+        assertThat(bookingRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void addBooking_AbandonedReservation_KeyTakenOver() throws Exception {
+        IdempotencyRecord abandoned = new IdempotencyRecord();
+        abandoned.setUserId(booker.getId());
+        abandoned.setIdempotencyKey("booking-3");
+        abandoned.setRequestHash("abandoned");
+        abandoned.setCreated(LocalDateTime.now().minusMinutes(5));
+        abandoned.setExpires(LocalDateTime.now().plusHours(1));
+        recordRepository.save(abandoned);
+
+        mockMvc.perform(post("/bookings")
+                        .header(USER_ID_HEADER, booker.getId())
+                        .header(IDEMPOTENCY_KEY_HEADER, "booking-3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest())))
+                .andExpect(status().isOk());
+
+        assertThat(bookingRepository.count()).isEqualTo(1);
+        assertThat(recordRepository.findByUserIdAndIdempotencyKey(booker.getId(), "booking-3"))
+                .hasValueSatisfying(record -> assertThat(record.getResponse()).isNotNull());
+    }
+
+    @Test
+    void addBooking_ReservationWithinLease_ReturnsConflict() throws Exception {
+        IdempotencyRecord running = new IdempotencyRecord();
+        running.setUserId(booker.getId());
+        running.setIdempotencyKey("booking-4");
+        running.setRequestHash("running");
+        running.setCreated(LocalDateTime.now());
+        running.setExpires(LocalDateTime.now().plusHours(1));
+        recordRepository.save(running);
+
+        mockMvc.perform(post("/bookings")
+                        .header(USER_ID_HEADER, booker.getId())
+                        .header(IDEMPOTENCY_KEY_HEADER, "booking-4")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest())))
+                .andExpect(status().isConflict());
+
+        assertThat(bookingRepository.count()).isZero();
+    }
+
+    private BookingDtoToPut bookingRequest() {
+        BookingDtoToPut request = new BookingDtoToPut();
+        request.setItemId(item.getId());
+        request.setStart(LocalDateTime.now().plusDays(1).withNano(0));
+        request.setEnd(LocalDateTime.now().plusDays(2).withNano(0));
+        return request;
+    }
+}
@@ -10,13 +10,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.api.dto.ItemPayload;
+import ru.practicum.shareit.server.idempotency.service.IdempotencyService;
 import ru.practicum.shareit.server.item.controller.ItemController;
 import ru.practicum.shareit.server.item.dto.CommentDto;
 import ru.practicum.shareit.server.item.dto.ItemDto;
 import ru.practicum.shareit.server.item.service.ItemService;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -27,6 +33,9 @@ class ItemControllerTest {
     @Mock
     private ItemService itemService;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
     @InjectMocks
     private ItemController itemController;
 
@@ -36,6 +45,8 @@ class ItemControllerTest {
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(itemController).build();
+        lenient().when(idempotencyService.execute(any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(5).get());
         objectMapper = new ObjectMapper();
     }
 
@@ -55,19 +66,42 @@ class ItemControllerTest {
         verify(itemService, times(1)).getAllItemsByUserId(userId);
     }
 
+    @Test
+    void streamAllItemsFromUser_WritesJsonArray() throws Exception {
+        Long userId = 1L;
+        doAnswer(invocation -> {
+            Consumer<ItemDto> action = invocation.getArgument(1);
+            action.accept(new ItemDto(1L, "Item 1", "Description 1", true, null));
+            action.accept(new ItemDto(2L, "Item 2", "Description 2", false, null));
+            return null;
+        }).when(itemService).streamAllItemsByUserId(eq(userId), any());
+
+        MockMvcBuilders.standaloneSetup(new ItemController(itemService, objectMapper, idempotencyService)).build()
+                .perform(get("/items")
+                        .param("stream", "true")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].name").value("Item 2"));
+
+        verify(itemService, never()).getAllItemsByUserId(any());
+    }
+
     @Test
     void getItemById_ReturnsItem() throws Exception {
         Long itemId = 1L;
         ItemDto item = new ItemDto(itemId, "Item 1", "Description 1", true, null);
 
-        when(itemService.getItemById(itemId)).thenReturn(item);
+        when(itemService.getItemById(itemId, 2L)).thenReturn(item);
 
-        mockMvc.perform(get("/items/{itemId}", itemId))
+        mockMvc.perform(get("/items/{itemId}", itemId)
+                        .header("X-Sharer-User-Id", 2L))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.name").value("Item 1"));
 
-        verify(itemService, times(1)).getItemById(itemId);
+        verify(itemService, times(1)).getItemById(itemId, 2L);
     }
 
     @Test
@@ -100,7 +134,8 @@ class ItemControllerTest {
         mockMvc.perform(post("/items")
                         .header("X-Sharer-User-Id", userId)
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(newItemDto)))
+                        .content(objectMapper.writeValueAsString(
+                                new ItemPayload("New Item", "New Description", true))))
                 .andExpect(status().isCreated())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.name").value("New Item"));
@@ -112,20 +147,22 @@ class ItemControllerTest {
     void update_UpdatesItem() throws Exception {
         Long userId = 1L;
         Long itemId = 1L;
+        ItemDto changes = new ItemDto(null, "Updated Item", "Updated Description", true, null);
         ItemDto updatedItemDto = new ItemDto(itemId, "Updated Item", "Updated Description",
                 true, null);
 
-        when(itemService.updateItem(userId, itemId, updatedItemDto)).thenReturn(updatedItemDto);
+        when(itemService.updateItem(userId, itemId, changes)).thenReturn(updatedItemDto);
 
         mockMvc.perform(patch("/items/{itemId}", itemId)
                         .header("X-Sharer-User-Id", userId)
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(updatedItemDto)))
+                        .content(objectMapper.writeValueAsString(
+                                new ItemPayload("Updated Item", "Updated Description", true))))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.name").value("Updated Item"));
 
-        verify(itemService, times(1)).updateItem(userId, itemId, updatedItemDto);
+        verify(itemService, times(1)).updateItem(userId, itemId, changes);
     }
 
     @Test
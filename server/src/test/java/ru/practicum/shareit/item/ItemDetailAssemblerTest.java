@@ -0,0 +1,261 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.server.booking.dto.BookingDtoShort;
+import ru.practicum.shareit.server.booking.service.ItemBookingSummaryService;
+import ru.practicum.shareit.server.config.ReadYourWritesTracker;
+import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.exception.ServiceUnavailableException;
+import ru.practicum.shareit.server.item.dto.CommentDto;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.service.ItemCommentSummaryService;
+import ru.practicum.shareit.server.item.service.ItemDetailAssembler;
+import ru.practicum.shareit.server.item.storage.ItemRepository;
+import ru.practicum.shareit.server.user.model.User;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemDetailAssemblerTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemCommentSummaryService commentSummaryService;
+    @Mock
+    private ItemBookingSummaryService summaryService;
+    @Mock
+    private ObjectProvider<ReadYourWritesTracker> trackerProvider;
+
+    private ItemDetailAssembler assembler;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        item = new Item(1L, "Item1", "Description1", true, new User(1L, "User1", "user1@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (assembler != null) {
+            assembler.destroy();
+        }
+    }
+
+    @Test
+    void assemble_ReadsPartsInParallel_AndMergesThem() throws Exception {
+        assembler = assembler(null, Duration.ofSeconds(5));
+        // обе части ждут друг друга: при последовательном чтении сборка не уложится в срок
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(itemRepository.existsByIdAndOwnerId(1L, 1L)).thenReturn(true);
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(2, TimeUnit.SECONDS));
+            ItemDto part = invocation.getArgument(0);
+            part.setComments(List.of(CommentDto.builder().id(5L).text("Отлично").build()));
+            part.setCommentCount(1L);
+            return null;
+        }).when(commentSummaryService).fillComments(any(ItemDto.class));
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(2, TimeUnit.SECONDS));
+            Collection<ItemDto> parts = invocation.getArgument(0);
+            BookingDtoShort next = new BookingDtoShort();
+            next.setId(7L);
+            parts.iterator().next().setNextBooking(next);
+            return null;
+        }).when(summaryService).fillBookings(anyCollection());
+
+        ItemDto dto = assembler.assemble(1L, 1L);
+
+        assertEquals("Item1", dto.getName());
+        assertEquals(1L, dto.getCommentCount());
+        assertEquals(5L, dto.getComments().getFirst().getId());
+        assertEquals(7L, dto.getNextBooking().getId());
+        assertNull(dto.getLastBooking());
+        assertEquals(2, threads.size());
+    }
+
+    @Test
+    void assemble_SkipsBookings_WhenRequesterIsNotOwner() {
+        assembler = assembler(null, Duration.ofSeconds(1));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(itemRepository.existsByIdAndOwnerId(1L, 2L)).thenReturn(false);
+
+        ItemDto dto = assembler.assemble(1L, 2L);
+
+        assertEquals("Item1", dto.getName());
+        assertNull(dto.getLastBooking());
+        assertNull(dto.getNextBooking());
+        verify(summaryService, never()).fillBookings(anyCollection());
+    }
+
+    @Test
+    void assemble_SkipsBookings_WhenRequesterIsNotOwner_InsideTransaction() {
+        assembler = assembler(null, Duration.ofSeconds(1));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertEquals("Item1", assembler.assemble(1L, 2L).getName());
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        verify(summaryService, never()).fillBookings(anyCollection());
+    }
+
+    @Test
+    void assemble_ThrowsNotFound_WhenItemMissing() {
+        assembler = assembler(null, Duration.ofSeconds(1));
+        when(itemRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> assembler.assemble(1L, 1L));
+    }
+
+    @Test
+    void assemble_ThrowsServiceUnavailable_WhenDeadlineExceeded() {
+        assembler = assembler(null, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(commentSummaryService).fillComments(any(ItemDto.class));
+
+        assertThrows(ServiceUnavailableException.class, () -> assembler.assemble(1L, 1L));
+        release.countDown();
+    }
+
+    @Test
+    void assemble_RethrowsPartFailure() {
+        assembler = assembler(null, Duration.ofSeconds(1));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(itemRepository.existsByIdAndOwnerId(1L, 1L)).thenReturn(true);
+        doThrow(new IllegalStateException("summary")).when(summaryService).fillBookings(anyCollection());
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> assembler.assemble(1L, 1L));
+        assertEquals("summary", e.getMessage());
+    }
+
+    @Test
+    void assemble_KeepsPrimaryPinInWorkers() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5));
+        assembler = assembler(tracker, Duration.ofSeconds(1));
+        Set<Boolean> pinned = ConcurrentHashMap.newKeySet();
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(itemRepository.existsByIdAndOwnerId(1L, 1L)).thenReturn(true);
+        doAnswer(invocation -> pinned.add(tracker.isPinnedToPrimary()))
+                .when(commentSummaryService).fillComments(any(ItemDto.class));
+        doAnswer(invocation -> pinned.add(tracker.isPinnedToPrimary()))
+                .when(summaryService).fillBookings(anyCollection());
+
+        tracker.pinToPrimary();
+        try {
+            assembler.assemble(1L, 1L);
+        } finally {
+            tracker.unpin();
+        }
+
+        assertEquals(Set.of(true), pinned);
+    }
+
+    @Test
+    void assemble_ReadsSerially_InsideTransaction() {
+        assembler = assembler(null, Duration.ofSeconds(1));
+        String caller = Thread.currentThread().getName();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        doAnswer(invocation -> threads.add(Thread.currentThread().getName()))
+                .when(commentSummaryService).fillComments(any(ItemDto.class));
+        doAnswer(invocation -> threads.add(Thread.currentThread().getName()))
+                .when(summaryService).fillBookings(anyCollection());
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertEquals("Item1", assembler.assemble(1L, 1L).getName());
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals(Set.of(caller), threads);
+    }
+
+    @Test
+    void assemble_ReadsSerially_WhenParallelLoadsExhaustPool() throws Exception {
+        // пул из 4 соединений вмещает одну параллельную сборку
+        assembler = assembler(null, 4, Duration.ofSeconds(5));
+        String caller = Thread.currentThread().getName();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        doAnswer(invocation -> {
+            ItemDto part = invocation.getArgument(0);
+            if (part.getName() == null) {
+                firstStarted.countDown();
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } else {
+                threads.add(Thread.currentThread().getName());
+            }
+            return null;
+        }).when(commentSummaryService).fillComments(any(ItemDto.class));
+
+        Thread first = new Thread(() -> assembler.assemble(1L, 1L));
+        first.start();
+        assertTrue(firstStarted.await(2, TimeUnit.SECONDS));
+        try {
+            assertEquals("Item1", assembler.assemble(1L, 1L).getName());
+        } finally {
+            release.countDown();
+            first.join(5_000);
+        }
+
+        assertEquals(Set.of(caller), threads);
+    }
+
+    @Test
+    void assemble_ThrowsServiceUnavailable_WhenItemLoadExceedsDeadline() {
+        assembler = assembler(null, Duration.ofMillis(50));
+        when(itemRepository.findById(1L)).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return Optional.of(item);
+        });
+
+        assertThrows(ServiceUnavailableException.class, () -> assembler.assemble(1L, 1L));
+    }
+
+    private ItemDetailAssembler assembler(ReadYourWritesTracker tracker, Duration deadline) {
+        return assembler(tracker, 10, deadline);
+    }
+
+    private ItemDetailAssembler assembler(ReadYourWritesTracker tracker, int poolSize, Duration deadline) {
+        when(trackerProvider.getIfAvailable()).thenReturn(tracker);
+        return new ItemDetailAssembler(itemRepository, commentSummaryService, summaryService, trackerProvider,
+                4, poolSize, deadline);
+    }
+}
@@ -12,7 +12,9 @@ import ru.practicum.shareit.server.booking.storage.BookingRepository;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.exception.ValidationException;
 import ru.practicum.shareit.server.item.dto.CommentDto;
+import ru.practicum.shareit.server.item.dto.CommentPageDto;
 import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.item.service.ItemServiceImpl;
 import ru.practicum.shareit.server.item.storage.CommentRepository;
@@ -93,7 +95,7 @@ public class ItemServiceIntegrationTest {
         Item item = new Item(null, "Item", "Description", true, user);
         itemRepository.save(item);
 
-        ItemDto foundItem = itemService.getItemById(item.getId());
+        ItemDto foundItem = itemService.getItemById(item.getId(), user.getId());
 
         assertThat(foundItem.getName()).isEqualTo(item.getName());
     }
@@ -150,11 +152,28 @@ public class ItemServiceIntegrationTest {
         assertThat(createdComment.getText()).isEqualTo(commentDto.getText());
     }
 
+    @Test
+    void getItemById_CountsComments_WhenSummaryMissing() {
+        Item item = itemRepository.save(new Item(null, "Item", "Description", true, user));
+        commentRepository.save(Comment.builder()
+                .text("Comment without summary")
+                .item(item)
+                .author(user)
+                .created(LocalDateTime.now())
+                .build());
+
+        ItemDto foundItem = itemService.getItemById(item.getId(), user.getId());
+
+        assertThat(foundItem.getCommentCount()).isEqualTo(1L);
+        assertThat(foundItem.getComments()).extracting(CommentDto::getText)
+                .containsExactly("Comment without summary");
+    }
+
     @Test
     void getItemById_ThrowsNotFoundException_WhenCalledWithInvalidId() {
         Long invalidId = 999L;
 
-        assertThatThrownBy(() -> itemService.getItemById(invalidId))
+        assertThatThrownBy(() -> itemService.getItemById(invalidId, user.getId()))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Вещь с id = " + invalidId + " не найдена!");
     }
@@ -262,4 +281,32 @@ public class ItemServiceIntegrationTest {
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Пользователь не является владельцем вещи!");
     }
-}
\ No newline at end of file
+
+    @Test
+    void createComment_UpdatesSummaryAndPagesByCursor() {
+        Item item = itemRepository.save(new Item(null, "Item", "Description", true, user));
+        User booker = userRepository.save(new User(null, "Booker", "booker-comments@example.com"));
+        bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(3), LocalDateTime.now().minusDays(2),
+                item, booker, Status.APPROVED));
+        for (int i = 0; i < 12; i++) {
+            itemService.createComment(new CommentDto(null, "Comment " + i, null, null), item.getId(), booker.getId());
+        }
+
+        ItemDto found = itemService.getItemById(item.getId(), user.getId());
+        assertThat(found.getCommentCount()).isEqualTo(12L);
+        assertThat(found.getComments()).hasSize(10);
+        assertThat(found.getComments().get(0).getText()).isEqualTo("Comment 11");
+
+        CommentPageDto first = itemService.getCommentPage(item.getId(), null, 5);
+        CommentPageDto second = itemService.getCommentPage(item.getId(), first.getNextCursor(), 5);
+        CommentPageDto third = itemService.getCommentPage(item.getId(), second.getNextCursor(), 5);
+
+        assertThat(first.getComments()).extracting(CommentDto::getText)
+                .containsExactly("Comment 11", "Comment 10", "Comment 9", "Comment 8", "Comment 7");
+        assertThat(second.getComments()).extracting(CommentDto::getText)
+                .containsExactly("Comment 6", "Comment 5", "Comment 4", "Comment 3", "Comment 2");
+        assertThat(third.getComments()).extracting(CommentDto::getText)
+                .containsExactly("Comment 1", "Comment 0");
+        assertThat(third.getNextCursor()).isNull();
+    }
+}
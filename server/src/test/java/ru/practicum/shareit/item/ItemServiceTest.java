@@ -6,21 +6,32 @@ import static org.mockito.Mockito.*;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Sort;
 
+import ru.practicum.shareit.server.booking.dto.BookingDtoShort;
+import ru.practicum.shareit.server.booking.model.Status;
+import ru.practicum.shareit.server.booking.service.ItemBookingSummaryService;
+import ru.practicum.shareit.server.booking.storage.ArchivedBookingRepository;
 import ru.practicum.shareit.server.booking.storage.BookingRepository;
 
 import ru.practicum.shareit.server.exception.ValidationException;
+import ru.practicum.shareit.server.item.catalog.ItemCatalog;
 import ru.practicum.shareit.server.item.dto.CommentDto;
 import ru.practicum.shareit.server.item.dto.ItemDto;
 import ru.practicum.shareit.server.item.mapper.ItemMapper;
+import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.service.CommentEligibilityCache;
+import ru.practicum.shareit.server.item.service.ItemCommentSummaryService;
+import ru.practicum.shareit.server.item.service.ItemDetailAssembler;
 import ru.practicum.shareit.server.item.service.ItemServiceImpl;
 import ru.practicum.shareit.server.item.storage.CommentRepository;
 import ru.practicum.shareit.server.item.storage.ItemRepository;
+import ru.practicum.shareit.server.outbox.service.OutboxService;
 import ru.practicum.shareit.server.request.service.ItemRequestService;
 import ru.practicum.shareit.server.user.dto.UserDto;
 import ru.practicum.shareit.server.user.mapper.UserMapper;
@@ -28,10 +39,12 @@ import ru.practicum.shareit.server.user.model.User;
 import ru.practicum.shareit.server.user.service.UserService;
 import ru.practicum.shareit.server.user.storage.UserRepository;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class ItemServiceTest {
 
@@ -50,6 +63,20 @@ public class ItemServiceTest {
     private BookingRepository bookingRepository;
     @Mock
     private ItemRequestService requestService;
+    @Mock
+    private ItemBookingSummaryService summaryService;
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+    @Mock
+    private CommentEligibilityCache eligibilityCache;
+    @Mock
+    private ItemCommentSummaryService commentSummaryService;
+    @Mock
+    private ItemCatalog itemCatalog;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private ItemDetailAssembler detailAssembler;
 
     private Item item;
     private ItemDto itemDto;
@@ -78,23 +105,43 @@ public class ItemServiceTest {
     @Test
     void getAllItemsByUserId_ReturnsItems() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(itemRepository.findByOwnerId(1L)).thenReturn(List.of(item));
+        when(itemRepository.findDtoByOwnerId(1L)).thenReturn(List.of(ItemMapper.mapToItemDtoWithComments(item)));
 
         List<ItemDto> items = itemService.getAllItemsByUserId(1L);
 
         assertEquals(1, items.size());
         verify(userRepository, times(1)).findById(1L);
-        verify(itemRepository, times(1)).findByOwnerId(1L);
+        verify(itemRepository, times(1)).findDtoByOwnerId(1L);
+    }
+
+    @Test
+    void streamAllItemsByUserId_FillsBookings() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(itemRepository.streamDtoByOwnerId(1L))
+                .thenReturn(Stream.of(ItemMapper.mapToItemDtoWithComments(item)));
+        BookingDtoShort next = new BookingDtoShort();
+        next.setId(7L);
+        doAnswer(invocation -> {
+            Collection<ItemDto> chunk = invocation.getArgument(0);
+            chunk.forEach(dto -> dto.setNextBooking(next));
+            return null;
+        }).when(summaryService).fillBookings(anyCollection());
+
+        List<ItemDto> streamed = new ArrayList<>();
+        itemService.streamAllItemsByUserId(1L, streamed::add);
+
+        assertEquals(1, streamed.size());
+        assertEquals(7L, streamed.getFirst().getNextBooking().getId());
     }
 
     @Test
     void getItemById_ReturnsItem() {
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(detailAssembler.assemble(1L, 1L)).thenReturn(ItemMapper.mapToItemDtoWithComments(item));
 
-        ItemDto foundItem = itemService.getItemById(1L);
+        ItemDto foundItem = itemService.getItemById(1L, 1L);
 
         assertEquals("Item1", foundItem.getName());
-        verify(itemRepository, times(1)).findById(1L);
+        verify(detailAssembler, times(1)).assemble(1L, 1L);
     }
 
     @Test
@@ -156,7 +203,9 @@ public class ItemServiceTest {
 
         itemService.removeAllItemsByOwnerId(1L);
 
-        verify(itemRepository, times(1)).removeItemByOwnerId(1L);
+        InOrder inOrder = inOrder(requestService, itemRepository);
+        inOrder.verify(requestService).removeOwnerItemsFromRequests(1L);
+        inOrder.verify(itemRepository).removeItemByOwnerId(1L);
     }
 
     @Test
@@ -167,6 +216,18 @@ public class ItemServiceTest {
         itemService.removeItemById(1L, 1L);
 
         verify(itemRepository, times(1)).removeItemByIdAndOwnerId(1L, 1L);
+        verify(requestService, never()).removeItemFromRequest(any());
+    }
+
+    @Test
+    void removeItemById_AnswerToRequest_DecrementsAnswerCount() {
+        item.setRequestId(5L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+
+        itemService.removeItemById(1L, 1L);
+
+        verify(requestService, times(1)).removeItemFromRequest(5L);
     }
 
     @Test
@@ -174,7 +235,8 @@ public class ItemServiceTest {
         CommentDto commentDto = new CommentDto(1L, "Nice item!", null, null);
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(bookingRepository.getAllByBookerId(1L)).thenReturn(Collections.emptyList()); // No bookings
+        when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(eq(1L), eq(1L), eq(Status.APPROVED),
+                any())).thenReturn(false); // No bookings
 
         ValidationException exception = assertThrows(ValidationException.class, () -> {
             itemService.createComment(commentDto, 1L, 1L);
@@ -182,6 +244,41 @@ public class ItemServiceTest {
         assertEquals("Бронирование вещи не подверждено, нельзя добавить комментарий.", exception.getMessage());
     }
 
+    @Test
+    void createComment_BookingNotFinished_ThrowsValidationException() {
+        CommentDto commentDto = new CommentDto(1L, "Nice item!", null, null);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(bookingRepository.existsByBookerIdAndItemIdAndStatus(1L, 1L, Status.APPROVED)).thenReturn(true);
+
+        ValidationException exception = assertThrows(ValidationException.class, () -> {
+            itemService.createComment(commentDto, 1L, 1L);
+        });
+        assertEquals("Бронирование вещи еще не завершено.", exception.getMessage());
+    }
+
+    @Test
+    void createComment_EligibilityCached_SkipsBookingQueries() {
+        CommentDto commentDto = new CommentDto(1L, "Nice item!", null, null);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(eligibilityCache.isEligible(1L, 1L)).thenReturn(true);
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CommentDto result = itemService.createComment(commentDto, 1L, 1L);
+
+        assertEquals("Nice item!", result.getText());
+        verifyNoInteractions(bookingRepository, archivedBookingRepository);
+    }
+
+    @Test
+    void getCommentPage_InvalidCursor_ThrowsValidationException() {
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(ValidationException.class, () -> itemService.getCommentPage(1L, "not-a-cursor", 10));
+        verifyNoInteractions(commentRepository);
+    }
+
     @Test
     void getCommentsByItemId_ReturnsComments() {
         when(commentRepository.findAllByItemId(eq(1L), any(Sort.class))).thenReturn(Collections.emptyList());
@@ -206,12 +303,12 @@ public class ItemServiceTest {
     @Test
     void getAllItemsByUserId_ReturnsEmptyList_WhenUserHasNoItems() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(itemRepository.findByOwnerId(1L)).thenReturn(Collections.emptyList());
+        when(itemRepository.findDtoByOwnerId(1L)).thenReturn(Collections.emptyList());
 
         List<ItemDto> items = itemService.getAllItemsByUserId(1L);
 
         assertEquals(0, items.size());
         verify(userRepository, times(1)).findById(1L);
-        verify(itemRepository, times(1)).findByOwnerId(1L);
+        verify(itemRepository, times(1)).findDtoByOwnerId(1L);
     }
 }
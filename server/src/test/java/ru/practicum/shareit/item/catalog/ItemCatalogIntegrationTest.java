@@ -0,0 +1,80 @@
+package ru.practicum.shareit.item.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.item.catalog.ItemCatalog;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.storage.UserRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.item-catalog.enabled=true")
+@Transactional
+public class ItemCatalogIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemCatalog itemCatalog;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "catalog-owner@mail.ru"));
+    }
+
+    @Test
+    void catalogFollowsItemChanges() {
+        assertThat(itemCatalog.isReady()).isTrue();
+
+        ItemDto created = itemService.addItem(owner.getId(),
+                new ItemDto(null, "Каталожная дрель", "Ударная", true, null));
+        itemCatalog.poll();
+
+        assertThat(itemService.searchItemsByText("каталожная")).extracting(ItemDto::getId)
+                .containsExactly(created.getId());
+        assertThat(itemService.getAllItemsByUserId(owner.getId())).extracting(ItemDto::getName)
+                .containsExactly("Каталожная дрель");
+
+        ItemDto update = new ItemDto();
+        update.setName("Каталожный перфоратор");
+        itemService.updateItem(owner.getId(), created.getId(), update);
+        itemCatalog.poll();
+
+        assertThat(itemService.searchItemsByText("каталожная")).isEmpty();
+        assertThat(itemService.searchItemsByText("перфоратор")).extracting(ItemDto::getId)
+                .containsExactly(created.getId());
+
+        itemService.removeItemById(created.getId(), owner.getId());
+        itemCatalog.poll();
+
+        assertThat(itemService.searchItemsByText("перфоратор")).isEmpty();
+        assertThat(itemService.getAll()).noneMatch(item -> item.getId().equals(created.getId()));
+    }
+
+    @Test
+    void getAllItemsByUserId_ReadsRepository_UntilCatalogAppliesOwnerWrite() {
+        ItemDto created = itemService.addItem(owner.getId(),
+                new ItemDto(null, "Непримененная дрель", "Ударная", true, null));
+
+        assertThat(itemCatalog.isReadyFor(owner.getId())).isFalse();
+        assertThat(itemService.getAllItemsByUserId(owner.getId())).extracting(ItemDto::getId)
+                .containsExactly(created.getId());
+
+        itemCatalog.poll();
+
+        assertThat(itemCatalog.isReadyFor(owner.getId())).isTrue();
+        assertThat(itemCatalog.getByOwner(owner.getId())).extracting(ItemDto::getId)
+                .containsExactly(created.getId());
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.catalog;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.server.item.catalog.ItemCatalogSnapshot;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemCatalogSnapshotTest {
+
+    @Test
+    void search_MatchesNameOrDescriptionIgnoringCase_OnlyAvailableItems() {
+        ItemCatalogSnapshot snapshot = new ItemCatalogSnapshot(4);
+        snapshot.put(1L, "Дрель", "Ударная ДРЕЛЬ с кейсом", true, 10L, null);
+        snapshot.put(2L, "Пила", "Дисковая", true, 10L, 7L);
+        snapshot.put(3L, "Дрель-шуруповерт", "Аккумуляторная", false, 11L, null);
+        snapshot.put(4L, "Отвертка", "Набор", null, 11L, null);
+
+        List<ItemDto> found = snapshot.search("дрЕЛь");
+
+        assertThat(found).extracting(ItemDto::getId).containsExactly(1L);
+        assertThat(found.get(0).getName()).isEqualTo("Дрель");
+        assertThat(found.get(0).getDescription()).isEqualTo("Ударная ДРЕЛЬ с кейсом");
+        assertThat(snapshot.search("овая")).extracting(ItemDto::getRequestId).containsExactly(7L);
+        assertThat(snapshot.search("отвертка")).isEmpty();
+        assertThat(snapshot.search("ь\u0000")).isEmpty();
+    }
+
+    @Test
+    void put_ReplacesExistingItem_AndRemoveDropsIt() {
+        ItemCatalogSnapshot snapshot = new ItemCatalogSnapshot(4);
+        snapshot.put(1L, "Дрель", "Простая", true, 10L, null);
+        snapshot.put(2L, "Пила", "Дисковая", true, 10L, null);
+
+        snapshot.put(1L, "Перфоратор", "Мощный", false, 10L, null);
+        snapshot.remove(2L);
+
+        assertThat(snapshot.size()).isEqualTo(1);
+        List<ItemDto> items = new ArrayList<>();
+        snapshot.forEach(items::add);
+        assertThat(items).extracting(ItemDto::getName).containsExactly("Перфоратор");
+        assertThat(items.get(0).getAvailable()).isFalse();
+        assertThat(snapshot.search("дрель")).isEmpty();
+    }
+
+    @Test
+    void findByOwner_ReturnsLiveItemsInInsertionOrder() {
+        ItemCatalogSnapshot snapshot = new ItemCatalogSnapshot(4);
+        snapshot.put(1L, "Дрель", "Простая", true, 10L, null);
+        snapshot.put(2L, "Пила", "Дисковая", true, 20L, null);
+        snapshot.put(3L, "Лестница", "Стремянка", true, 10L, null);
+        snapshot.put(4L, "Молоток", "Слесарный", true, 10L, null);
+        snapshot.remove(3L);
+
+        assertThat(snapshot.findByOwner(10L)).extracting(ItemDto::getId).containsExactly(1L, 4L);
+        assertThat(snapshot.findByOwner(10L)).allMatch(item -> item.getOwner().getId().equals(10L));
+        assertThat(snapshot.findByOwner(30L)).isEmpty();
+    }
+
+    @Test
+    void compact_KeepsOnlyLiveItems_WhenManyItemsChanged() {
+        ItemCatalogSnapshot snapshot = new ItemCatalogSnapshot(16);
+        for (long id = 1; id <= 2000; id++) {
+            snapshot.put(id, "Вещь " + id, "Описание " + id, true, id % 7 + 1, null);
+        }
+        for (long id = 1; id <= 1500; id++) {
+            snapshot.remove(id);
+        }
+        assertThat(snapshot.needsCompaction()).isTrue();
+
+        ItemCatalogSnapshot compacted = snapshot.compact();
+
+        assertThat(compacted.size()).isEqualTo(500);
+        assertThat(compacted.needsCompaction()).isFalse();
+        assertThat(compacted.memoryBytes()).isLessThan(snapshot.memoryBytes());
+        assertThat(compacted.search("вещь 2000")).extracting(ItemDto::getId).containsExactly(2000L);
+        assertThat(compacted.findByOwner(1L)).hasSize(snapshot.findByOwner(1L).size());
+    }
+}
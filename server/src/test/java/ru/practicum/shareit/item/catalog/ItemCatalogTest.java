@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.server.export.storage.ExportRepository;
+import ru.practicum.shareit.server.item.catalog.ItemCatalog;
+import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.storage.ItemRepository;
+import ru.practicum.shareit.server.outbox.dto.OutboxEventDto;
+import ru.practicum.shareit.server.outbox.storage.OutboxEventRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemCatalogTest {
+
+    @Mock
+    private ExportRepository exportRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private ItemCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new ItemCatalog(exportRepository, itemRepository, outboxEventRepository, new ObjectMapper(),
+                new SimpleMeterRegistry(), Duration.ofSeconds(30), true);
+        when(outboxEventRepository.findMaxIdCreatedBefore(any())).thenReturn(10L);
+        catalog.rebuild();
+    }
+
+    @Test
+    void poll_AppliesEventsBehindYoungGap_AndReadsGapOnceCommitted() {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEventDto first = itemEvent(12L, 1L, "Дрель", now);
+        OutboxEventDto late = itemEvent(11L, 2L, "Пила", now);
+        when(outboxEventRepository.findAllAfter(eq(10L), eq(ItemCatalog.ITEM_AGGREGATE), any(Limit.class)))
+                .thenReturn(List.of(first))
+                .thenReturn(List.of(late, first));
+        when(outboxEventRepository.findAllAfter(eq(12L), eq(ItemCatalog.ITEM_AGGREGATE), any(Limit.class)))
+                .thenReturn(List.of());
+        catalog.recordWrite(100L, 12L);
+        catalog.recordWrite(200L, 11L);
+
+        catalog.poll();
+
+        assertThat(catalog.getByOwner(100L)).extracting(ItemDto::getName).containsExactly("Дрель");
+        assertThat(catalog.isReadyFor(100L)).isTrue();
+        assertThat(catalog.isReadyFor(200L)).isFalse();
+
+        catalog.poll();
+        catalog.poll();
+
+        assertThat(catalog.getByOwner(200L)).extracting(ItemDto::getName).containsExactly("Пила");
+        assertThat(catalog.isReadyFor(200L)).isTrue();
+    }
+
+    @Test
+    void poll_SkipsSettledGap() {
+        OutboxEventDto event = itemEvent(15L, 1L, "Дрель", LocalDateTime.now().minusMinutes(1));
+        when(outboxEventRepository.findAllAfter(eq(10L), eq(ItemCatalog.ITEM_AGGREGATE), any(Limit.class)))
+                .thenReturn(List.of(event));
+        when(outboxEventRepository.findAllAfter(eq(15L), eq(ItemCatalog.ITEM_AGGREGATE), any(Limit.class)))
+                .thenReturn(List.of());
+        catalog.recordWrite(200L, 13L);
+
+        catalog.poll();
+        catalog.poll();
+
+        assertThat(catalog.getAll()).extracting(ItemDto::getId).containsExactly(1L);
+        assertThat(catalog.isReadyFor(200L)).isTrue();
+    }
+
+    private OutboxEventDto itemEvent(Long id, Long itemId, String name, LocalDateTime created) {
+        String payload = "{\"id\":" + itemId + ",\"name\":\"" + name + "\",\"description\":\"\",\"available\":true,"
+                + "\"ownerId\":" + (itemId * 100) + ",\"requestId\":null}";
+        return new OutboxEventDto(id, ItemCatalog.ITEM_AGGREGATE, itemId, ItemCatalog.ITEM_CREATED, payload, created);
+    }
+}
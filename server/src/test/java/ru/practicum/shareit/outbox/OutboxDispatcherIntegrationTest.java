@@ -0,0 +1,236 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.booking.dto.BookingDto;
+import ru.practicum.shareit.server.booking.dto.BookingDtoToPut;
+import ru.practicum.shareit.server.booking.service.BookingService;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.storage.ItemRepository;
+import ru.practicum.shareit.server.outbox.dto.OutboxEventDto;
+import ru.practicum.shareit.server.outbox.model.OutboxEvent;
+import ru.practicum.shareit.server.outbox.service.OutboxDispatcher;
+import ru.practicum.shareit.server.outbox.service.OutboxEventSink;
+import ru.practicum.shareit.server.outbox.storage.OutboxEventRepository;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.storage.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@RecordApplicationEvents
+public class OutboxDispatcherIntegrationTest {
+    private static final AtomicBoolean SINK_FAILS = new AtomicBoolean();
+    private static final AtomicReference<Long> FAILING_BOOKING = new AtomicReference<>();
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @TestConfiguration
+    static class FailingSinkConfig {
+        @Bean
+        OutboxEventSink failingSink() {
+            return event -> {
+                if (SINK_FAILS.get() || "Booking".equals(event.getAggregateType())
+                        && event.getAggregateId().equals(FAILING_BOOKING.get())) {
+                    throw new IllegalStateException("Получатель недоступен");
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "outbox-owner@mail.ru"));
+        booker = userRepository.save(new User(null, "Booker", "outbox-booker@mail.ru"));
+        item = itemRepository.save(new Item("Дрель", "Простая дрель", true, owner));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SINK_FAILS.set(false);
+        FAILING_BOOKING.set(null);
+    }
+
+    @Test
+    void dispatch_DeliversBookingEventsInOrderOnce() {
+        BookingDto booking = createBooking();
+        bookingService.update(booking.getId(), owner.getId(), true);
+
+        int delivered = dispatcher.dispatch();
+
+        List<OutboxEventDto> bookingEvents = bookingEvents(booking.getId());
+        assertThat(delivered).isGreaterThanOrEqualTo(2);
+        assertThat(bookingEvents).extracting(OutboxEventDto::getEventType)
+                .containsExactly("BOOKING_CREATED", "BOOKING_APPROVED");
+        assertThat(bookingEvents.get(1).getPayload()).contains("\"status\":\"APPROVED\"");
+        assertThat(dispatcher.dispatch()).isZero();
+        assertThat(outboxEventRepository.countPending()).isZero();
+    }
+
+    @Test
+    void dispatch_SinkFails_EventStaysPendingAndIsRedelivered() {
+        BookingDto booking = createBooking();
+        SINK_FAILS.set(true);
+
+        dispatcher.dispatch();
+
+        assertThat(outboxEventRepository.countPending()).isEqualTo(1);
+
+        SINK_FAILS.set(false);
+        dispatcher.dispatch();
+
+        assertThat(outboxEventRepository.countPending()).isZero();
+        assertThat(bookingEvents(booking.getId())).isNotEmpty()
+                .allMatch(event -> "BOOKING_CREATED".equals(event.getEventType()));
+    }
+
+    @Test
+    void dispatch_SinkKeepsFailing_EventDeadLetteredAndQueueMovesOn() {
+        BookingDto failing = createBooking();
+        SINK_FAILS.set(true);
+
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            dispatcher.dispatch();
+            assertThat(outboxEventRepository.countPending()).isEqualTo(1);
+        }
+        dispatcher.dispatch();
+
+        assertThat(outboxEventRepository.countPending()).isZero();
+        assertThat(outboxEventRepository.countDeadLettered()).isEqualTo(1);
+        OutboxEvent deadLettered = outboxEventRepository.findAll().stream()
+                .filter(event -> failing.getId().equals(event.getAggregateId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(deadLettered.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(deadLettered.getLastError()).isEqualTo("Получатель недоступен");
+        assertThat(deadLettered.getDispatched()).isNull();
+        dispatcher.updateMetrics();
+        assertThat(meterRegistry.get("shareit.outbox.dead-lettered").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("shareit.outbox.pending").gauge().value()).isZero();
+
+        SINK_FAILS.set(false);
+        BookingDto next = createBooking(5);
+
+        assertThat(dispatcher.dispatch()).isEqualTo(1);
+        assertThat(bookingEvents(next.getId())).extracting(OutboxEventDto::getEventType)
+                .containsExactly("BOOKING_CREATED");
+    }
+
+    @Test
+    void dispatch_MarksBatchDispatchedTogether() {
+        BookingDto first = createBooking(1);
+        BookingDto second = createBooking(3);
+        BookingDto third = createBooking(5);
+
+        dispatcher.dispatch();
+
+        LocalDateTime dispatched = outboxEvent(first).getDispatched();
+        assertThat(dispatched).isNotNull();
+        assertThat(outboxEvent(second).getDispatched()).isEqualTo(dispatched);
+        assertThat(outboxEvent(third).getDispatched()).isEqualTo(dispatched);
+    }
+
+    @Test
+    void dispatch_EventInMiddleOfBatchFails_OnlyThisEventCountsAttempts() {
+        BookingDto first = createBooking(1);
+        BookingDto failing = createBooking(3);
+        BookingDto third = createBooking(5);
+        FAILING_BOOKING.set(failing.getId());
+
+        dispatcher.dispatch();
+
+        assertThat(outboxEvent(first).getDispatched()).isNotNull();
+        assertThat(outboxEvent(failing).getDispatched()).isNull();
+        assertThat(outboxEvent(failing).getAttempts()).isEqualTo(1);
+        assertThat(outboxEvent(third).getDispatched()).isNull();
+        assertThat(outboxEvent(third).getAttempts()).isZero();
+
+        for (int attempt = 2; attempt <= MAX_ATTEMPTS; attempt++) {
+            dispatcher.dispatch();
+        }
+
+        assertThat(outboxEvent(failing).getDeadLettered()).isNotNull();
+        assertThat(outboxEvent(failing).getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(outboxEvent(third).getDispatched()).isNotNull();
+        assertThat(outboxEvent(third).getAttempts()).isZero();
+    }
+
+    @Test
+    void dispatch_DeliversEventsOfItemWithLongDescription() {
+        String description = "Очень подробное описание. ".repeat(1000);
+        item = itemRepository.save(new Item("Перфоратор", description, true, owner));
+        BookingDto booking = createBooking();
+
+        dispatcher.dispatch();
+
+        assertThat(outboxEventRepository.countPending()).isZero();
+        assertThat(bookingEvents(booking.getId())).singleElement()
+                .satisfies(event -> assertThat(event.getPayload()).hasSizeGreaterThan(8192).contains(description));
+    }
+
+    private BookingDto createBooking() {
+        return createBooking(1);
+    }
+
+    private BookingDto createBooking(int daysAhead) {
+        BookingDtoToPut bookingDto = new BookingDtoToPut();
+        bookingDto.setItemId(item.getId());
+        bookingDto.setStart(LocalDateTime.now().plusDays(daysAhead));
+        bookingDto.setEnd(LocalDateTime.now().plusDays(daysAhead + 1));
+        return bookingService.create(bookingDto, booker.getId());
+    }
+
+    private OutboxEvent outboxEvent(BookingDto booking) {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> "Booking".equals(event.getAggregateType()))
+                .filter(event -> booking.getId().equals(event.getAggregateId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<OutboxEventDto> bookingEvents(Long bookingId) {
+        return events.stream(OutboxEventDto.class)
+                .filter(event -> "Booking".equals(event.getAggregateType()))
+                .filter(event -> bookingId.equals(event.getAggregateId()))
+                .toList();
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.server.request.controller.ItemRequestController;
 import ru.practicum.shareit.server.request.dto.ItemRequestDto;
 import ru.practicum.shareit.server.request.service.ItemRequestService;
+import ru.practicum.shareit.server.request.service.RequestFeedService;
 
 
 import java.util.ArrayList;
@@ -36,6 +37,9 @@ public class ItemRequestControllerTest {
     @Mock
     private ItemRequestService itemRequestService;
 
+    @Mock
+    private RequestFeedService requestFeedService;
+
     @InjectMocks
     private ItemRequestController itemRequestController;
 
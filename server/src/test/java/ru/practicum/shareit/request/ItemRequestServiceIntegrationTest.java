@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +12,9 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.exception.ValidationException;
 import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.service.ItemService;
+import ru.practicum.shareit.server.item.storage.ItemRepository;
 import ru.practicum.shareit.server.request.dto.ItemRequestDto;
 import ru.practicum.shareit.server.request.model.ItemRequest;
 import ru.practicum.shareit.server.request.service.ItemRequestService;
@@ -39,6 +43,15 @@ public class ItemRequestServiceIntegrationTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @BeforeEach
     public void setUp() {
         itemRequestRepository.deleteAll();
@@ -71,7 +84,7 @@ public class ItemRequestServiceIntegrationTest {
     void addItemRequest_ReturnsAddedRequest_WhenRequestIsValid() {
         User user = new User(null, "User", "user@email.com");
         userRepository.save(user);
-        ItemRequestDto requestDto = new ItemRequestDto(null, "New Request", null, LocalDateTime.now(), null);
+        ItemRequestDto requestDto = new ItemRequestDto(null, "New Request", null, LocalDateTime.now(), null, null);
 
         ItemRequestDto addedRequest = itemRequestService.addItemRequest(user.getId(), requestDto);
 
@@ -83,7 +96,7 @@ public class ItemRequestServiceIntegrationTest {
     void addItemRequest_ThrowsValidationException_WhenDescriptionIsNull() {
         User user = new User(null, "User", "user@email.com");
         userRepository.save(user);
-        ItemRequestDto requestDto = new ItemRequestDto(null, null, null, null, null);
+        ItemRequestDto requestDto = new ItemRequestDto(null, null, null, null, null, null);
 
         assertThrows(ValidationException.class, () -> itemRequestService.addItemRequest(user.getId(), requestDto));
     }
@@ -143,8 +156,56 @@ public class ItemRequestServiceIntegrationTest {
         ItemDto itemDto = new ItemDto(null, "Item", "Description", savedRequest.getId());
 
         itemRequestService.addItemToRequest(itemDto);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(itemRequestRepository.findById(savedRequest.getId()).orElseThrow().getAnswerCount()).isEqualTo(1);
+    }
+
+    @Test
+    void removeItems_DecrementsAnswerCount() {
+        User requester = userRepository.save(new User(null, "Requester", "requester@example.com"));
+        User owner = userRepository.save(new User(null, "Owner", "owner@example.com"));
+        User other = userRepository.save(new User(null, "Other", "other@example.com"));
+        Long requestId = itemRequestRepository.save(new ItemRequest(null, "Request", requester,
+                LocalDateTime.now())).getId();
+        ItemDto first = itemService.addItem(owner.getId(), new ItemDto(null, "Item 1", "Description", true,
+                requestId));
+        itemService.addItem(owner.getId(), new ItemDto(null, "Item 2", "Description", true, requestId));
+        itemService.addItem(owner.getId(), new ItemDto(null, "Item 3", "Description", true, requestId));
+        itemService.addItem(other.getId(), new ItemDto(null, "Item 4", "Description", true, requestId));
+
+        itemService.removeItemById(first.getId(), owner.getId());
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(itemRequestRepository.findById(requestId).orElseThrow().getAnswerCount()).isEqualTo(3);
+
+        itemService.removeAllItemsByOwnerId(owner.getId());
+        entityManager.flush();
+        entityManager.clear();
+        ItemRequestDto found = itemRequestService.getItemRequestById(requestId, requester.getId());
+        assertThat(found.getAnswerCount()).isEqualTo(1);
+        assertThat(found.getItems()).extracting(Item::getName).containsExactly("Item 4");
+    }
+
+    @Test
+    void getItemRequestById_ReturnsAnswers_WhenItemsLinkedToRequest() {
+        User requester = userRepository.save(new User(null, "Requester", "requester@example.com"));
+        User owner = userRepository.save(new User(null, "Owner", "owner@example.com"));
+        ItemRequest savedRequest = itemRequestRepository.save(new ItemRequest(null, "Request", requester,
+                LocalDateTime.now()));
+        Item answer = new Item("Item", "Description", true, owner);
+        answer.setRequestId(savedRequest.getId());
+        itemRepository.save(answer);
+        itemRequestService.addItemToRequest(new ItemDto(null, "Item", "Description", savedRequest.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemRequestDto foundRequest = itemRequestService.getItemRequestById(savedRequest.getId(), requester.getId());
 
-        assertThat(savedRequest.getItems()).hasSize(1);
+        assertThat(foundRequest.getAnswerCount()).isEqualTo(1);
+        assertThat(foundRequest.getItems()).extracting(Item::getName).containsExactly("Item");
+        assertThat(foundRequest.getItems()).extracting(item -> item.getOwner().getId()).containsExactly(owner.getId());
     }
 
     @Test
@@ -155,7 +216,7 @@ public class ItemRequestServiceIntegrationTest {
 
     @Test
     void addItemRequest_ThrowsNotFoundException_WhenUserDoesNotExist() {
-        ItemRequestDto requestDto = new ItemRequestDto(null, "Request", null, LocalDateTime.now(), null);
+        ItemRequestDto requestDto = new ItemRequestDto(null, "Request", null, LocalDateTime.now(), null, null);
         assertThrows(NotFoundException.class, () -> itemRequestService.addItemRequest(999L, requestDto));
     }
 
@@ -163,7 +224,7 @@ public class ItemRequestServiceIntegrationTest {
     void addItemRequest_ThrowsValidationException_WhenDescriptionIsEmpty() {
         User user = new User(null, "User", "user@email.com");
         userRepository.save(user);
-        ItemRequestDto requestDto = new ItemRequestDto(null, "", null, null, null);
+        ItemRequestDto requestDto = new ItemRequestDto(null, "", null, null, null, null);
 
         assertThrows(ValidationException.class, () -> itemRequestService.addItemRequest(user.getId(), requestDto));
     }
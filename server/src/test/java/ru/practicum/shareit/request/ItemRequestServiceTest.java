@@ -12,6 +12,8 @@ import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.exception.ValidationException;
 import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.storage.ItemRepository;
+import ru.practicum.shareit.server.outbox.service.OutboxService;
 import ru.practicum.shareit.server.request.dto.ItemRequestDto;
 import ru.practicum.shareit.server.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.server.request.model.ItemRequest;
@@ -24,7 +26,6 @@ import ru.practicum.shareit.server.user.service.UserService;
 import ru.practicum.shareit.server.user.storage.UserRepository;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -42,6 +43,12 @@ public class ItemRequestServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     ItemRequestServiceImpl itemRequestService;
 
@@ -49,19 +56,19 @@ public class ItemRequestServiceTest {
     void getAllItemRequestsByUserId_ValidUser_ReturnsRequests() {
         Long userId = 1L;
         User user = new User(userId, "TestUserName", "user@email.ru");
-        ItemRequest itemRequest = new ItemRequest(1L, "Need a chair", user, LocalDateTime.now(),
-                new ArrayList<>());
-        List<ItemRequest> requests = List.of(itemRequest);
+        ItemRequest itemRequest = new ItemRequest(1L, "Need a chair", user, LocalDateTime.now(), 0);
+        List<ItemRequestDto> requests = List.of(ItemRequestMapper.mapToItemRequestDto(itemRequest));
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(itemRequestRepository.getAllByRequester_Id(userId)).thenReturn(requests);
+        when(itemRequestRepository.findDtoByRequesterId(userId)).thenReturn(requests);
+        when(itemRepository.findAllWithOwnerByRequestIdIn(List.of(itemRequest.getId()))).thenReturn(List.of());
 
         List<ItemRequestDto> result = itemRequestService.getAllItemRequestsByUserId(userId);
 
         assertEquals(1, result.size());
         assertEquals(itemRequest.getDescription(), result.get(0).getDescription());
         verify(userRepository).findById(userId);
-        verify(itemRequestRepository).getAllByRequester_Id(userId);
+        verify(itemRequestRepository).findDtoByRequesterId(userId);
     }
 
     @Test
@@ -76,7 +83,7 @@ public class ItemRequestServiceTest {
 
         assertEquals("Пользователь с id = " + userId + " не найден", exception.getMessage());
         verify(userRepository).findById(userId);
-        verify(itemRequestRepository, never()).getAllByRequester_Id(any());
+        verify(itemRequestRepository, never()).findDtoByRequesterId(any());
     }
 
     @Test
@@ -151,6 +158,7 @@ public class ItemRequestServiceTest {
 
         when(userService.getUserById(userId)).thenReturn(UserMapper.mapToUserDto(user));
         when(itemRequestRepository.findById(itemRequestId)).thenReturn(Optional.of(itemRequest));
+        when(itemRepository.findAllByRequestId(itemRequestId)).thenReturn(List.of());
 
         ItemRequestDto result = itemRequestService.getItemRequestById(itemRequestId, userId);
 
@@ -160,6 +168,7 @@ public class ItemRequestServiceTest {
         assertEquals(itemRequest.getRequester(), result.getRequester());
         verify(userService).getUserById(userId);
         verify(itemRequestRepository).findById(itemRequestId);
+        verify(itemRepository).findAllByRequestId(itemRequestId);
     }
 
     @Test
@@ -293,24 +302,18 @@ public class ItemRequestServiceTest {
     }
 
     @Test
-    void addItemToRequest_ValidRequestId_AddsItemSuccessfully() {
+    void addItemToRequest_ValidRequestId_IncrementsAnswerCount() {
         Long requestId = 1L;
         ItemDto itemDto = new ItemDto();
         itemDto.setRequestId(requestId);
         itemDto.setName("NewItem");
 
-        ItemRequest itemRequest = new ItemRequest();
-        itemRequest.setId(requestId);
-        itemRequest.setDescription("RequestDescription");
-        itemRequest.setItems(new ArrayList<>());
-
-        when(itemRequestRepository.findById(requestId)).thenReturn(Optional.of(itemRequest));
+        when(itemRequestRepository.incrementAnswerCount(requestId)).thenReturn(1);
 
         itemRequestService.addItemToRequest(itemDto);
 
-        assertEquals(1, itemRequest.getItems().size());
-        assertEquals("NewItem", itemRequest.getItems().iterator().next().getName());
-        verify(itemRequestRepository).findById(requestId);
+        verify(itemRequestRepository).incrementAnswerCount(requestId);
+        verify(itemRequestRepository, never()).findById(requestId);
     }
 
     @Test
@@ -320,10 +323,10 @@ public class ItemRequestServiceTest {
         itemDto.setRequestId(requestId);
         itemDto.setName("NewItem");
 
-        when(itemRequestRepository.findById(requestId)).thenReturn(Optional.empty());
+        when(itemRequestRepository.incrementAnswerCount(requestId)).thenReturn(0);
 
         assertThrows(NotFoundException.class, () -> itemRequestService.addItemToRequest(itemDto));
 
-        verify(itemRequestRepository).findById(requestId);
+        verify(itemRequestRepository).incrementAnswerCount(requestId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.outbox.service.OutboxDispatcher;
+import ru.practicum.shareit.server.request.dto.ItemRequestDto;
+import ru.practicum.shareit.server.request.dto.RequestFeedPageDto;
+import ru.practicum.shareit.server.request.model.RequestFeedReader;
+import ru.practicum.shareit.server.request.service.ItemRequestService;
+import ru.practicum.shareit.server.request.service.RequestFeedService;
+import ru.practicum.shareit.server.request.storage.RequestFeedReaderRepository;
+import ru.practicum.shareit.server.request.storage.RequestFeedRepository;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.storage.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+public class RequestFeedIntegrationTest {
+
+    @Autowired
+    private RequestFeedService requestFeedService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private RequestFeedRepository requestFeedRepository;
+
+    @Autowired
+    private RequestFeedReaderRepository readerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User author;
+    private User neighbour;
+    private User reader;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(new User(null, "Author", "feed-author@mail.ru"));
+        neighbour = userRepository.save(new User(null, "Neighbour", "feed-neighbour@mail.ru"));
+        reader = userRepository.save(new User(null, "Reader", "feed-reader@mail.ru"));
+    }
+
+    @Test
+    void getFeed_BuildsInboxOnFirstReadAndReceivesNewRequests() {
+        ItemRequestDto first = itemRequestService.addItemRequest(author.getId(), request("Нужна дрель"));
+        dispatcher.dispatch();
+
+        RequestFeedPageDto initial = requestFeedService.getFeed(reader.getId(), null, 20);
+        assertThat(initial.getRequests()).extracting(ItemRequestDto::getId).containsExactly(first.getId());
+
+        ItemRequestDto second = itemRequestService.addItemRequest(neighbour.getId(), request("Нужна лестница"));
+        dispatcher.dispatch();
+
+        RequestFeedPageDto firstPage = requestFeedService.getFeed(reader.getId(), null, 1);
+        assertThat(firstPage.getRequests()).extracting(ItemRequestDto::getId).containsExactly(second.getId());
+        assertThat(firstPage.getRequests().get(0).getRequester().getName()).isEqualTo("Neighbour");
+        assertThat(firstPage.getNextCursor()).isNotNull();
+
+        RequestFeedPageDto secondPage = requestFeedService.getFeed(reader.getId(), firstPage.getNextCursor(), 1);
+        assertThat(secondPage.getRequests()).extracting(ItemRequestDto::getId).containsExactly(first.getId());
+
+        RequestFeedPageDto lastPage = requestFeedService.getFeed(reader.getId(), secondPage.getNextCursor(), 1);
+        assertThat(lastPage.getRequests()).isEmpty();
+        assertThat(lastPage.getNextCursor()).isNull();
+
+        RequestFeedPageDto authorFeed = requestFeedService.getFeed(author.getId(), null, 20);
+        assertThat(authorFeed.getRequests()).extracting(ItemRequestDto::getId).containsExactly(second.getId());
+    }
+
+    @Test
+    void trim_ClearsInboxesOfInactiveReaders() {
+        itemRequestService.addItemRequest(author.getId(), request("Нужна дрель"));
+        dispatcher.dispatch();
+        requestFeedService.getFeed(reader.getId(), null, 20);
+        readerRepository.save(new RequestFeedReader(reader.getId(), LocalDateTime.now().minusDays(30)));
+
+        ItemRequestDto missed = itemRequestService.addItemRequest(neighbour.getId(), request("Нужна лестница"));
+        dispatcher.dispatch();
+        requestFeedService.trim();
+
+        assertThat(requestFeedRepository.findAll()).noneMatch(entry -> entry.getUserId().equals(reader.getId()));
+
+        RequestFeedPageDto rebuilt = requestFeedService.getFeed(reader.getId(), null, 20);
+        assertThat(rebuilt.getRequests()).extracting(ItemRequestDto::getId).contains(missed.getId());
+    }
+
+    @Test
+    void rebuildFeed_SkipsEntriesAlreadyFannedOut() {
+        ItemRequestDto first = itemRequestService.addItemRequest(author.getId(), request("Нужна дрель"));
+        readerRepository.save(new RequestFeedReader(reader.getId(), LocalDateTime.now()));
+        dispatcher.dispatch();
+
+        assertThat(requestFeedRepository.rebuildFeed(reader.getId(), 20)).isZero();
+        RequestFeedPageDto feed = requestFeedService.getFeed(reader.getId(), null, 20);
+        assertThat(feed.getRequests()).extracting(ItemRequestDto::getId).containsExactly(first.getId());
+    }
+
+    @Test
+    void getFeed_ThrowsNotFoundException_WhenUserDoesNotExist() {
+        assertThrows(NotFoundException.class, () -> requestFeedService.getFeed(999L, null, 20));
+    }
+
+    private ItemRequestDto request(String description) {
+        ItemRequestDto dto = new ItemRequestDto();
+        dto.setDescription(description);
+        return dto;
+    }
+}
@@ -7,7 +7,6 @@ import ru.practicum.shareit.server.request.model.ItemRequest;
 import ru.practicum.shareit.server.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -33,7 +32,7 @@ public class ItemRequestMapperTest {
         assertThat(itemRequest.getDescription()).isEqualTo(dto.getDescription());
         assertThat(itemRequest.getRequester()).isEqualTo(requester);
         assertThat(itemRequest.getCreated()).isEqualTo(dto.getCreated());
-        assertThat(itemRequest.getItems()).isNotNull().isEmpty();
+        assertThat(itemRequest.getAnswerCount()).isZero();
     }
 
     @Test
@@ -47,7 +46,7 @@ public class ItemRequestMapperTest {
         itemRequest.setDescription("RequestDescription");
         itemRequest.setRequester(requester);
         itemRequest.setCreated(LocalDateTime.now());
-        itemRequest.setItems(new ArrayList<>());
+        itemRequest.setAnswerCount(2);
 
         ItemRequestDto dto = ItemRequestMapper.mapToItemRequestDto(itemRequest);
 
@@ -57,5 +56,6 @@ public class ItemRequestMapperTest {
         assertThat(dto.getRequester()).isEqualTo(requester);
         assertThat(dto.getCreated()).isEqualTo(itemRequest.getCreated());
         assertThat(dto.getItems()).isNotNull().isEmpty();
+        assertThat(dto.getAnswerCount()).isEqualTo(2);
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import ru.practicum.shareit.server.threads.PinnedThreadMonitor;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Класс для тестирования обнаружения закрепления виртуальных потоков.
+ */
+class PinnedThreadMonitorTest {
+    private final Object lock = new Object();
+
+    @Test
+    void start_whenVirtualThreadBlocksInsideSynchronized_thenPinningIsReported() throws InterruptedException {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry));
+        PinnedThreadMonitor monitor = new PinnedThreadMonitor(Duration.ofMillis(1),
+                beanFactory.getBeanProvider(MeterRegistry.class));
+        monitor.start();
+        try {
+            Map<String, Long> sites = Map.of();
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (sites.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.ofVirtual().start(this::blockWhileHoldingMonitor).join();
+                Thread.sleep(200);
+                sites = monitor.topSites(5);
+            }
+
+            assertThat(sites).isNotEmpty();
+            assertThat(sites.keySet().iterator().next()).startsWith(PinnedThreadMonitorTest.class.getName());
+            assertThat(meterRegistry.counter("shareit.virtual-threads.pinned", "source", "other").count())
+                    .isPositive();
+        } finally {
+            monitor.stop();
+        }
+        assertThat(monitor.isRunning()).isFalse();
+    }
+
+    private void blockWhileHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
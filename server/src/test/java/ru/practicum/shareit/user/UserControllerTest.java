@@ -5,6 +5,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.api.dto.UserPayload;
 import ru.practicum.shareit.server.user.controller.UserController;
 import ru.practicum.shareit.server.user.dto.UserDto;
 import ru.practicum.shareit.server.user.mapper.UserMapper;
@@ -59,12 +60,13 @@ class UserControllerTest {
 
     @Test
     void createNewUserThenNewUserDtoReturned() {
-        User userToSave = new User(1L, "UserName", "user@mail.ru");
-        when(userService.addUser(userToSave)).thenReturn(UserMapper.mapToUserDto(userToSave));
+        User userToSave = new User(null, "UserName", "user@mail.ru");
+        User savedUser = new User(1L, "UserName", "user@mail.ru");
+        when(userService.addUser(userToSave)).thenReturn(UserMapper.mapToUserDto(savedUser));
 
-        User actualUser = UserMapper.mapUserDtoToUser(userController.create(userToSave));
+        User actualUser = UserMapper.mapUserDtoToUser(userController.create(new UserPayload("UserName", "user@mail.ru")));
 
-        assertEquals(userToSave, actualUser);
+        assertEquals(savedUser, actualUser);
     }
 
 
@@ -76,7 +78,7 @@ class UserControllerTest {
 
         when(userService.updateUser(3L, newUserDto)).thenReturn(UserMapper.mapToUserDto(userForUpdating));
 
-        UserDto updatedUser = userController.updateUser(3L, newUserDto);
+        UserDto updatedUser = userController.updateUser(3L, new UserPayload("NewName", "newUser@email.ru"));
 
         assertEquals(updatedUser.getName(), userForUpdating.getName());
         assertEquals(updatedUser.getEmail(), userForUpdating.getEmail());
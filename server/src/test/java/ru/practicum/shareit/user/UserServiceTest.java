@@ -2,15 +2,20 @@ package ru.practicum.shareit.user;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.server.exception.ConflictException;
 import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.server.item.catalog.ItemCatalog;
+import ru.practicum.shareit.server.item.storage.ItemRepository;
+import ru.practicum.shareit.server.outbox.service.OutboxService;
 
 import ru.practicum.shareit.server.user.dto.UserDto;
 import ru.practicum.shareit.server.user.mapper.UserMapper;
 import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.server.user.service.UserServiceImpl;
 import ru.practicum.shareit.server.user.storage.UserRepository;
 
@@ -30,6 +35,15 @@ class UserServiceTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    ItemRequestRepository itemRequestRepository;
+
+    @Mock
+    ItemRepository itemRepository;
+
+    @Mock
+    OutboxService outboxService;
+
     @InjectMocks
     UserServiceImpl userService;
 
@@ -191,10 +205,15 @@ class UserServiceTest {
         existingUser.setEmail("userOne@email.com");
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(itemRepository.findIdsByOwnerId(userId)).thenReturn(List.of(10L, 11L));
 
         userService.removeUserById(userId);
 
-        verify(userRepository).deleteById(userId);
+        InOrder inOrder = inOrder(itemRequestRepository, outboxService, userRepository);
+        inOrder.verify(itemRequestRepository).subtractAnswersOfOwner(userId);
+        inOrder.verify(outboxService).publish(ItemCatalog.ITEM_AGGREGATE, 10L, ItemCatalog.ITEM_DELETED, 10L);
+        inOrder.verify(outboxService).publish(ItemCatalog.ITEM_AGGREGATE, 11L, ItemCatalog.ITEM_DELETED, 11L);
+        inOrder.verify(userRepository).deleteById(userId);
     }
 
     @Test